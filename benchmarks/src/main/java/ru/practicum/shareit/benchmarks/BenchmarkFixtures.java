@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Граф как в ответе владельцу: у каждой вещи владелец, часть вещей создана по запросу,
+// есть прошлое и будущее подтверждённые бронирования и несколько комментариев.
+// Данные строятся один раз на запуск и не меняются измеряемым кодом
+final class BenchmarkFixtures {
+
+    static final int COMMENTS_PER_ITEM = 5;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    final User owner;
+    final List<Item> items = new ArrayList<>();
+    final List<Comment> comments = new ArrayList<>();
+    final List<Booking> bookings = new ArrayList<>();
+    final List<BookingView> bookingViews = new ArrayList<>();
+    final ItemRequest request;
+
+    BenchmarkFixtures(int itemCount) {
+        owner = User.builder().id(1L).name("Владелец каталога").email("owner@shareit.ru").build();
+        request = ItemRequest.builder()
+                .id(1L)
+                .description("Нужна дрель с ударным режимом")
+                .requestorId(2L)
+                .createdTime(NOW.minusDays(3))
+                .build();
+
+        long bookingId = 1;
+        long commentId = 1;
+        for (long i = 1; i <= itemCount; i++) {
+            User booker = User.builder().id(100 + i).name("Арендатор " + i).email("booker" + i + "@shareit.ru").build();
+            Item item = Item.builder()
+                    .id(i)
+                    .name("Дрель " + i)
+                    .description("Ударная дрель, кейс и набор свёрл в комплекте")
+                    .available(true)
+                    .owner(owner)
+                    .request(i % 3 == 0 ? request : null)
+                    .version(0L)
+                    .build();
+
+            Booking last = booking(bookingId++, item, booker, NOW.minusDays(10), NOW.minusDays(8));
+            Booking next = booking(bookingId++, item, booker, NOW.plusYears(10), NOW.plusYears(10).plusDays(2));
+            item.setLastBookingId(last.getId());
+            item.setNextBookingId(next.getId());
+            bookings.add(last);
+            bookings.add(next);
+            bookingViews.add(view(last));
+            bookingViews.add(view(next));
+
+            for (int c = 0; c < COMMENTS_PER_ITEM; c++) {
+                comments.add(Comment.builder()
+                        .id(commentId++)
+                        .comment("Всё работает, вернул вовремя, рекомендую владельца")
+                        .item(item)
+                        .author(booker)
+                        .created(NOW.minusDays(7).plusHours(c))
+                        .build());
+            }
+            items.add(item);
+        }
+    }
+
+    private static Booking booking(long id, Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(id)
+                .startTime(start)
+                .endTime(end)
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .version(0L)
+                .build();
+    }
+
+    private static BookingView view(Booking booking) {
+        return BookingView.builder()
+                .id(booking.getId())
+                .startTime(booking.getStartTime())
+                .endTime(booking.getEndTime())
+                .status(booking.getStatus())
+                .bookerId(booking.getBooker().getId())
+                .bookerName(booking.getBooker().getName())
+                .itemId(booking.getItem().getId())
+                .itemName(booking.getItem().getName())
+                .itemOwnerId(booking.getItem().getOwner().getId())
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemServiceInMemoryImpl;
+import ru.practicum.shareit.mappers.BookingMapperImpl;
+import ru.practicum.shareit.mappers.ItemMapperImpl;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Сборка ItemDto тем же кодом, что отвечает на GET /items: группировка комментариев,
+// подстановка бронирований по указателям и маппинг. Репозитории подменены заранее собранными списками,
+// поэтому в замер попадает только работа на стороне приложения
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemDtoAssemblyBenchmark {
+
+    @Param({"1", "20", "200"})
+    private int items;
+
+    private ItemServiceInMemoryImpl itemService;
+    private List<Item> catalogue;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(items);
+        catalogue = fixtures.items;
+        Map<Long, List<Comment>> commentsByItem = fixtures.comments.stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        Map<Long, Booking> bookingsById = fixtures.bookings.stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        CommentRepository commentRepository = stub(CommentRepository.class, "findAllByItemIn",
+                args -> ((Collection<?>) args[0]).stream()
+                        .flatMap(item -> commentsByItem.get(((Item) item).getId()).stream())
+                        .toList());
+        BookingRepository bookingRepository = stub(BookingRepository.class, "findDetailedByIdIn",
+                args -> ((Collection<?>) args[0]).stream().map(bookingsById::get).toList());
+
+        // Остальные зависимости сборке не нужны: следующие бронирования в будущем, указатели не сдвигаются
+        itemService = new ItemServiceInMemoryImpl(null, null, commentRepository, bookingRepository,
+                new ItemMapperImpl(), new BookingMapperImpl(), new CommentMapper(),
+                null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<ItemDto> ownerCatalogue() {
+        return itemService.mapToDtos(catalogue);
+    }
+
+    @Benchmark
+    public ItemDto singleItem() {
+        return itemService.mapToDto(catalogue.get(0));
+    }
+
+    // Репозиторий отвечает только на один метод, прочие вызовы - ошибка в постановке замера
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, String method, Function<Object[], Object> answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, invoked, args) -> {
+            if (invoked.getName().equals(method)) {
+                return answer.apply(args);
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + invoked.getName());
+        });
+    }
+}
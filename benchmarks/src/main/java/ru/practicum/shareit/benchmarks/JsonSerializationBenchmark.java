@@ -0,0 +1,106 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.configuration.JacksonConfig;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.mappers.BookingMapper;
+import ru.practicum.shareit.mappers.BookingMapperImpl;
+import ru.practicum.shareit.mappers.ItemMapper;
+import ru.practicum.shareit.mappers.ItemMapperImpl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Сериализация ответов тем же ObjectMapper, что и в сервере (JacksonConfig): каталог владельца,
+// подробные бронирования с вложенными сущностями и короткие строки списков, плюс разбор каталога обратно
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "20", "200"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader itemListReader;
+    private List<ItemDto> itemDtos;
+    private List<BookingDto> bookingDtos;
+    private List<BookingShortDto> bookingShortDtos;
+    private byte[] itemListJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new JacksonConfig().objectMapper();
+        itemListReader = objectMapper.readerForListOf(ItemDto.class);
+
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(items);
+        ItemMapper itemMapper = new ItemMapperImpl();
+        BookingMapper bookingMapper = new BookingMapperImpl();
+        CommentMapper commentMapper = new CommentMapper();
+        Map<Long, Booking> bookingsById = fixtures.bookings.stream()
+                .collect(Collectors.toMap(Booking::getId, booking -> booking));
+
+        itemDtos = fixtures.items.stream().map(item -> toDto(item, fixtures, itemMapper, bookingMapper, commentMapper,
+                bookingsById)).toList();
+        bookingDtos = fixtures.bookings.stream().map(bookingMapper::mapToDto).toList();
+        bookingShortDtos = fixtures.bookingViews.stream().map(bookingMapper::mapToShortDto).toList();
+        itemListJson = objectMapper.writeValueAsBytes(itemDtos);
+    }
+
+    @Benchmark
+    public byte[] writeItemCatalogue() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemDtos);
+    }
+
+    @Benchmark
+    public byte[] writeBookings() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingDtos);
+    }
+
+    @Benchmark
+    public byte[] writeBookingList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingShortDtos);
+    }
+
+    @Benchmark
+    public List<ItemDto> readItemCatalogue() throws IOException {
+        return itemListReader.readValue(itemListJson);
+    }
+
+    private static ItemDto toDto(Item item, BenchmarkFixtures fixtures, ItemMapper itemMapper,
+                                 BookingMapper bookingMapper, CommentMapper commentMapper,
+                                 Map<Long, Booking> bookingsById) {
+        ItemDto dto = itemMapper.mapToItemDto(item);
+        dto.setComments(fixtures.comments.stream()
+                .filter(comment -> comment.getItem() == item)
+                .map(commentMapper::mapToDto)
+                .toList());
+        dto.setLastBooking(bookingMapper.mapToDto(bookingsById.get(item.getLastBookingId())));
+        dto.setNextBooking(bookingMapper.mapToDto(bookingsById.get(item.getNextBookingId())));
+        return dto;
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.RespondItemRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.mappers.BookingMapper;
+import ru.practicum.shareit.mappers.BookingMapperImpl;
+import ru.practicum.shareit.mappers.ItemMapper;
+import ru.practicum.shareit.mappers.ItemMapperImpl;
+import ru.practicum.shareit.mappers.ItemRequestMapper;
+import ru.practicum.shareit.mappers.ItemRequestMapperImpl;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.concurrent.TimeUnit;
+
+// Отдельные вызовы мапперов на одной сущности: сгенерированный MapStruct код и ручной CommentMapper
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final ItemMapper itemMapper = new ItemMapperImpl();
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+    private final ItemRequestMapper itemRequestMapper = new ItemRequestMapperImpl();
+    private final CommentMapper commentMapper = new CommentMapper();
+
+    private Item item;
+    private Booking booking;
+    private BookingView bookingView;
+    private Comment comment;
+    private ItemRequest request;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(3);
+        // Третья вещь создана по запросу: маппер проходит и по owner, и по request
+        item = fixtures.items.get(2);
+        booking = fixtures.bookings.get(0);
+        bookingView = fixtures.bookingViews.get(0);
+        comment = fixtures.comments.get(0);
+        request = fixtures.request;
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return itemMapper.mapToItemDto(item);
+    }
+
+    @Benchmark
+    public RespondItemRequest itemToRespond() {
+        return itemMapper.mapToRespond(item);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return bookingMapper.mapToDto(booking);
+    }
+
+    @Benchmark
+    public BookingShortDto bookingViewToShortDto() {
+        return bookingMapper.mapToShortDto(bookingView);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return commentMapper.mapToDto(comment);
+    }
+
+    @Benchmark
+    public ItemRequestDto itemRequestToShortDto() {
+        return itemRequestMapper.mapToShortDto(request);
+    }
+}
@@ -4,13 +4,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practirum.shareit.booking.dto.BookingState;
 import ru.practirum.shareit.booking.dto.NewBookingRequest;
 import ru.practirum.shareit.client.BaseClient;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -19,11 +21,12 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
@@ -38,23 +41,36 @@ public class BookingClient extends BaseClient {
 
     }
 
-    public ResponseEntity<Object> getBookings(Long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
-        return get("?state={state}", userId, parameters);
+    public ResponseEntity<Object> getBookings(Long userId, BookingState state, Integer from, Integer size,
+                                              LocalDateTime afterStart, Long afterId) {
+        return get("?" + pageQuery(afterStart), userId, pageParameters(state, from, size, afterStart, afterId));
     }
 
-    public ResponseEntity<Object> getAllOwner(Long ownerId, BookingState state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-
-        );
-
-        return get("/owner?state=", ownerId, parameters);
+    public ResponseEntity<Object> getAllOwner(Long ownerId, BookingState state, Integer from, Integer size,
+                                              LocalDateTime afterStart, Long afterId) {
+        return get("/owner?" + pageQuery(afterStart), ownerId, pageParameters(state, from, size, afterStart, afterId));
     }
 
     public ResponseEntity<Object> getBooking(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
+
+    // Курсор передаётся серверу только если клиент его прислал
+    private String pageQuery(LocalDateTime afterStart) {
+        String query = "state={state}&from={from}&size={size}";
+        return afterStart == null ? query : query + "&afterStart={afterStart}&afterId={afterId}";
+    }
+
+    private Map<String, Object> pageParameters(BookingState state, Integer from, Integer size,
+                                               LocalDateTime afterStart, Long afterId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (afterStart != null) {
+            parameters.put("afterStart", afterStart.toString());
+            parameters.put("afterId", afterId);
+        }
+        return parameters;
+    }
 }
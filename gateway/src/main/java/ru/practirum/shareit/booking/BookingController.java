@@ -2,8 +2,12 @@ package ru.practirum.shareit.booking;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -11,6 +15,8 @@ import org.springframework.web.bind.annotation.*;
 import ru.practirum.shareit.booking.dto.BookingState;
 import ru.practirum.shareit.booking.dto.NewBookingRequest;
 
+import java.time.LocalDateTime;
+
 
 @Controller
 @RequiredArgsConstructor
@@ -42,25 +48,45 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllOwnerBooking(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(value = "state", defaultValue = "ALL") String status) {
+    public ResponseEntity<Object> getAllOwnerBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                     @RequestParam(value = "state", defaultValue = "ALL") String status,
+                                                     @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
+                                                     @Positive @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                                     @RequestParam(value = "afterStart", required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                                     @RequestParam(value = "afterId", required = false) Long afterId) {
+        requireFullCursor(afterStart, afterId);
         try {
             BookingState state = BookingState.valueOf(status);
             log.info("Запрос на получение бронирований,userId: {}",userId);
-            return bookingClient.getAllOwner(userId,state);
+            return bookingClient.getAllOwner(userId, state, from, size, afterStart, afterId);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException(e);
         }
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllBooking(@RequestHeader("X-Sharer-User-Id") Long userIdStr, @RequestParam(value = "state", defaultValue = "ALL") String status) {
+    public ResponseEntity<Object> getAllBooking(@RequestHeader("X-Sharer-User-Id") Long userIdStr,
+                                                @RequestParam(value = "state", defaultValue = "ALL") String status,
+                                                @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
+                                                @Positive @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                                @RequestParam(value = "afterStart", required = false)
+                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                                @RequestParam(value = "afterId", required = false) Long afterId) {
+        requireFullCursor(afterStart, afterId);
         try {
             BookingState state = BookingState.valueOf(status);
             log.info("Запрос на получение бронирований,userId: {}",userIdStr);
-            return bookingClient.getBookings(userIdStr, state);
+            return bookingClient.getBookings(userIdStr, state, from, size, afterStart, afterId);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException(e);
         }
     }
 
+    // Курсор - пара (afterStart, afterId): половина курсора не задаёт позицию, и сервер вернул бы не ту страницу
+    private static void requireFullCursor(LocalDateTime afterStart, Long afterId) {
+        if ((afterStart == null) != (afterId == null)) {
+            throw new ValidationException("Параметры afterStart и afterId передаются только вместе");
+        }
+    }
 }
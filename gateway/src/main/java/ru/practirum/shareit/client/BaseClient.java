@@ -1,18 +1,36 @@
 package ru.practirum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practirum.shareit.exception.UploadTooLargeException;
 
 public class BaseClient {
+
+    // Заголовки соединения и длина тела относятся к конкретному участку сети и не пробрасываются
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", "content-length");
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
@@ -79,20 +97,72 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    // Загрузка пересылается потоком: шлюз не держит тело в памяти, а сервер разбирает его по мере поступления.
+    // Объявленный размер сверх предела отклоняется сразу, необъявленный обрывается на пределе при чтении
+    protected ResponseEntity<Object> postStream(String path, @Nullable Long userId, MediaType contentType,
+                                                InputStream body, long declaredLength, DataSize maxSize) {
+        if (declaredLength > maxSize.toBytes()) {
+            throw new UploadTooLargeException(maxSize);
+        }
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(contentType);
+        InputStreamResource resource = new InputStreamResource(new SizeLimitedInputStream(body, maxSize));
+        return sendRequest(HttpMethod.POST, path, null, new HttpEntity<>(resource, headers));
+    }
+
+    // Обмен с сервером открывается до ответа клиенту: статус и заголовки известны заранее.
+    // Ошибка сервера отдаётся как есть, а тело успешного ответа копируется в поток клиента без буферизации
+    protected ResponseEntity<StreamingResponseBody> stream(String path, @Nullable Long userId) {
+        ClientHttpResponse response;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory()
+                    .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+            request.getHeaders().putAll(defaultHeaders(userId));
+            response = request.execute();
+        } catch (IOException e) {
+            throw new ResourceAccessException("Ошибка обращения к серверу: " + e.getMessage(), e);
+        }
+
+        try {
+            HttpStatusCode status = response.getStatusCode();
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status)
+                    .headers(endToEndHeaders(response.getHeaders()));
+            if (!status.is2xxSuccessful()) {
+                try (response) {
+                    byte[] body = StreamUtils.copyToByteArray(response.getBody());
+                    return body.length > 0 ? responseBuilder.body(out -> out.write(body)) : responseBuilder.build();
+                }
+            }
+            return responseBuilder.body(out -> {
+                try (response) {
+                    StreamUtils.copy(response.getBody(), out);
+                }
+            });
+        } catch (IOException e) {
+            response.close();
+            throw new ResourceAccessException("Ошибка чтения ответа сервера: " + e.getMessage(), e);
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return sendRequest(method, path, parameters, new HttpEntity<>(body, defaultHeaders(userId)));
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    // Ответ сервера отдаётся клиенту как есть: тело - сырыми байтами, заголовки - без hop-by-hop
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                                   HttpEntity<T> requestEntity) {
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,17 +175,26 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatusCode status, @Nullable HttpHeaders serverHeaders,
+                                                                 @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(endToEndHeaders(serverHeaders));
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    private static HttpHeaders endToEndHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.put(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practirum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Параметры общего пула соединений gateway -> server
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ShareItServerHttpProperties {
+
+    private int maxTotal = 200;
+    private int maxPerRoute = 100;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    // Сколько ждать свободное соединение из пула, прежде чем вернуть ошибку
+    private Duration poolAcquireTimeout = Duration.ofSeconds(2);
+    private Duration idleEvictTimeout = Duration.ofSeconds(30);
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
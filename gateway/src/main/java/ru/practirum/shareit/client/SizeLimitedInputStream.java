@@ -0,0 +1,58 @@
+package ru.practirum.shareit.client;
+
+import org.springframework.util.unit.DataSize;
+import ru.practirum.shareit.exception.UploadTooLargeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Считает прочитанные байты и обрывает чтение, как только тело выходит за предел
+class SizeLimitedInputStream extends FilterInputStream {
+
+    private final DataSize maxSize;
+    private long remaining;
+
+    SizeLimitedInputStream(InputStream in, DataSize maxSize) {
+        super(in);
+        this.maxSize = maxSize;
+        this.remaining = maxSize.toBytes();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            consumed(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            consumed(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        consumed(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void consumed(long bytes) {
+        remaining -= bytes;
+        if (remaining < 0) {
+            throw new UploadTooLargeException(maxSize);
+        }
+    }
+}
@@ -35,6 +35,13 @@ public class ErrorHandler {
         return new ErrorResponse("Ошибка валидации данных");
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public ErrorResponse handleUploadTooLarge(UploadTooLargeException e) {
+        log.warn("Слишком большая загрузка " + e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleInvalidValidate(Exception e) {
@@ -0,0 +1,11 @@
+package ru.practirum.shareit.exception;
+
+import org.springframework.util.unit.DataSize;
+
+// Загрузка больше допустимого размера: шлюз прекращает пересылку, клиент получает 413
+public class UploadTooLargeException extends RuntimeException {
+
+    public UploadTooLargeException(DataSize maxSize) {
+        super("Размер загрузки превышает " + maxSize.toMegabytes() + " МБ");
+    }
+}
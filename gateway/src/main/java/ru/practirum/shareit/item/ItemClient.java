@@ -3,15 +3,19 @@ package ru.practirum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practirum.shareit.client.BaseClient;
 import ru.practirum.shareit.item.comment.CommentDto;
 import ru.practirum.shareit.item.dto.ItemDto;
 import ru.practirum.shareit.item.dto.UpdateItem;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Map;
 
@@ -20,20 +24,29 @@ public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
+    private final DataSize importMaxSize;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      @Value("${shareit-server.import.max-size:50MB}") DataSize importMaxSize) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
+        this.importMaxSize = importMaxSize;
     }
 
     public ResponseEntity<Object> create(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<Object> importCatalog(Long userId, MediaType contentType, InputStream body, long contentLength) {
+        return postStream("/import", userId, contentType, body, contentLength, importMaxSize);
+    }
+
     public ResponseEntity<Object> update(Long userId, Long itemId, UpdateItem updateItem) {
         return patch("/" + itemId, userId, updateItem);
     }
@@ -43,6 +56,14 @@ public class ItemClient extends BaseClient {
     }
 
 
+    public ResponseEntity<Object> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from.toString(),
+                "to", to.toString()
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
     public ResponseEntity<Object> findAll(Long userId) {
 
         return get("", userId, null);
@@ -65,6 +86,21 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}", userId, parameters);
     }
 
+    public ResponseEntity<Object> searchFreeItems(Long userId, String text, LocalDateTime start, LocalDateTime end,
+                                                  Integer from, Integer size) {
+        if (text.isBlank()) {
+            return ResponseEntity.ok(Collections.emptyList());
+        }
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start.toString(),
+                "end", end.toString(),
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> createComment(Long userId, CommentDto commentDto, Long itemId) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
@@ -1,8 +1,15 @@
 package ru.practirum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -11,6 +18,9 @@ import ru.practirum.shareit.item.comment.CommentDto;
 import ru.practirum.shareit.item.dto.ItemDto;
 import ru.practirum.shareit.item.dto.UpdateItem;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+
 
 @Controller
 @RequiredArgsConstructor
@@ -33,10 +43,32 @@ public class ItemController {
         return itemClient.findItemById(id,userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable("itemId") Long id,
+                                                  @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало окна должно быть раньше конца");
+        }
+        log.info("Запрос занятости вещи с id: {} c {} по {},пользователем: {}", id, from, to, userId);
+        return itemClient.getAvailability(userId, id, from, to);
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestHeader("X-Sharer-User-Id") Long userId,@RequestParam String text) {
-        log.info("Запрос на поиск вещи по тексту {}", text);
-        return itemClient.searchItems(userId, text);
+    public ResponseEntity<Object> search(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam String text,
+                                         @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                         @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                         @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
+                                         @Positive @RequestParam(value = "size", defaultValue = "10") Integer size) {
+        if (start == null && end == null) {
+            log.info("Запрос на поиск вещи по тексту {}", text);
+            return itemClient.searchItems(userId, text);
+        }
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new ValidationException("Окно поиска задаётся парой start < end");
+        }
+        log.info("Запрос на поиск вещи по тексту {}, свободной c {} по {}", text, start, end);
+        return itemClient.searchFreeItems(userId, text, start, end, from, size);
     }
 
     @PostMapping
@@ -45,6 +77,15 @@ public class ItemController {
         return itemClient.create(userId, itemDto);
     }
 
+    // Строки каталога проверяет сервер и отчитывается по каждой, поэтому тело пересылается потоком без разбора
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<Object> importCatalog(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                HttpServletRequest request) throws IOException {
+        log.info("Запрос на импорт каталога пользователем: {}", userId);
+        return itemClient.importCatalog(userId, contentType, request.getInputStream(), request.getContentLengthLong());
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long userId, @Valid @RequestBody CommentDto commentDto) {
         log.info("Запрос на добавление комментария вещи: {},пользователем с id: {}", itemId, userId);
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practirum.shareit.request.dto.NewItemRequest;
 
 @Controller
@@ -37,7 +38,13 @@ public class ItemRequestController {
                                                  @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
                                                  @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
         log.info("GET запрос на получение списка запросов, созданных другими пользователями.");
-        return requestClient.findAllRequests(userId);
+        return requestClient.findAllRequests(userId, from, size);
+    }
+
+    @GetMapping("/all/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("GET запрос на потоковую выгрузку всех запросов, userId: {}", userId);
+        return requestClient.streamAllRequests(userId);
     }
 
     @GetMapping("/{requestId}")
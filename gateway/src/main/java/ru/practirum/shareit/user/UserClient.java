@@ -3,33 +3,46 @@ package ru.practirum.shareit.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practirum.shareit.client.BaseClient;
 import ru.practirum.shareit.user.dto.NewUserRequest;
 import ru.practirum.shareit.user.dto.UpdateUserRequest;
 
+import java.io.InputStream;
+
 @Service
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
+    private final DataSize importMaxSize;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder restBuilder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder restBuilder,
+                      ClientHttpRequestFactory requestFactory,
+                      @Value("${shareit-server.import.max-size:50MB}") DataSize importMaxSize) {
         super(
                 restBuilder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
+        this.importMaxSize = importMaxSize;
     }
 
     public ResponseEntity<Object> create(NewUserRequest newUserRequest) {
         return post("", newUserRequest);
     }
 
+    public ResponseEntity<Object> importUsers(MediaType contentType, InputStream body, long contentLength) {
+        return postStream("/import", null, contentType, body, contentLength, importMaxSize);
+    }
+
     public ResponseEntity<Object> findById(Long userId) {
         return get("/" + userId);
     }
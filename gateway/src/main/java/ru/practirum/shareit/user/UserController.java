@@ -1,8 +1,11 @@
 package ru.practirum.shareit.user;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -10,6 +13,8 @@ import org.springframework.web.bind.annotation.*;
 import ru.practirum.shareit.user.dto.NewUserRequest;
 import ru.practirum.shareit.user.dto.UpdateUserRequest;
 
+import java.io.IOException;
+
 @Controller
 @RequiredArgsConstructor
 @RequestMapping(path = "/users")
@@ -37,6 +42,13 @@ public class UserController {
         return userClient.create(user);
     }
 
+    // Строки проверяет сервер и отчитывается по каждой, поэтому тело пересылается потоком без разбора
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Object> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              HttpServletRequest request) throws IOException {
+        log.info("Запрос на импорт пользователей");
+        return userClient.importUsers(contentType, request.getInputStream(), request.getContentLengthLong());
+    }
 
     @PatchMapping("/{userId}")
     public ResponseEntity<Object> updateUser(@PathVariable("userId") Long userId, @Valid @RequestBody UpdateUserRequest user) {
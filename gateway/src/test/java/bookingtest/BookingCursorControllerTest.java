@@ -0,0 +1,74 @@
+package bookingtest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+import ru.practirum.shareit.booking.BookingClient;
+import ru.practirum.shareit.booking.BookingController;
+import ru.practirum.shareit.exception.ErrorHandler;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.queryParam;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Курсор списка броней передаётся только целиком: половина курсора отклоняется до обращения к серверу
+class BookingCursorControllerTest {
+
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    private MockRestServiceServer server;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate mockedTransport = new RestTemplate();
+        server = MockRestServiceServer.bindTo(mockedTransport).build();
+        BookingClient bookingClient = new BookingClient(SERVER_URL, new RestTemplateBuilder(),
+                mockedTransport.getRequestFactory());
+        mvc = MockMvcBuilders.standaloneSetup(new BookingController(bookingClient))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+    }
+
+    @Test
+    void getAllBooking_WhenCursorIsComplete_ShouldForwardBothParts() throws Exception {
+        server.expect(requestTo(startsWith(SERVER_URL + "/bookings?")))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(queryParam("afterStart", "2026-01-01T10%3A00"))
+                .andExpect(queryParam("afterId", "5"))
+                .andRespond(withStatus(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON).body("[]"));
+
+        mvc.perform(get("/bookings").header("X-Sharer-User-Id", 1L)
+                        .param("afterStart", "2026-01-01T10:00:00").param("afterId", "5"))
+                .andExpect(status().isOk());
+        server.verify();
+    }
+
+    @Test
+    void getAllBooking_WhenOnlyAfterIdIsSent_ShouldReturnBadRequest() throws Exception {
+        mvc.perform(get("/bookings").header("X-Sharer-User-Id", 1L).param("afterId", "5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+        server.verify();
+    }
+
+    @Test
+    void getAllOwnerBooking_WhenOnlyAfterStartIsSent_ShouldReturnBadRequest() throws Exception {
+        mvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1L).param("afterStart", "2026-01-01T10:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+        server.verify();
+    }
+}
@@ -0,0 +1,176 @@
+package clienttest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import ru.practirum.shareit.client.BaseClient;
+import ru.practirum.shareit.exception.UploadTooLargeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+// Шлюз отдаёт ответ сервера как есть: статус, сырые байты тела и заголовки без hop-by-hop
+class BaseClientTest {
+
+    private MockRestServiceServer server;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplate();
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(rest);
+    }
+
+    @Test
+    void get_ShouldPassStatusBodyAndEndToEndHeaders() {
+        byte[] body = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(MediaType.APPLICATION_JSON);
+        serverHeaders.set("X-Sql-Statements", "2");
+        server.expect(requestTo("/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "7"))
+                .andRespond(withStatus(HttpStatus.OK).headers(serverHeaders).body(body));
+
+        ResponseEntity<Object> response = client.get("/items/1", 7L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(body);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getFirst("X-Sql-Statements")).isEqualTo("2");
+        server.verify();
+    }
+
+    @Test
+    void get_ShouldStripHopByHopHeaders() {
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        serverHeaders.set("Keep-Alive", "timeout=60");
+        serverHeaders.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        serverHeaders.set(HttpHeaders.CONTENT_LENGTH, "2");
+        serverHeaders.set(HttpHeaders.UPGRADE, "h2c");
+        serverHeaders.set(HttpHeaders.ETAG, "\"v1\"");
+        server.expect(requestTo("/users/1"))
+                .andRespond(withStatus(HttpStatus.OK).headers(serverHeaders).body("{}"));
+
+        HttpHeaders headers = client.get("/users/1", 1L).getHeaders();
+
+        assertThat(headers).doesNotContainKeys(HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.CONTENT_LENGTH, HttpHeaders.UPGRADE);
+        assertThat(headers.getETag()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void post_WhenServerRespondsWithError_ShouldPassStatusBodyAndHeaders() {
+        byte[] body = "{\"error\":\"Вещь недоступна\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(MediaType.APPLICATION_JSON);
+        serverHeaders.set(HttpHeaders.CONNECTION, "close");
+        server.expect(requestTo("/bookings"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("{\"itemId\":5}"))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST).headers(serverHeaders).body(body));
+
+        ResponseEntity<Object> response = client.post("/bookings", 3L, Map.of("itemId", 5));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isEqualTo(body);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders()).doesNotContainKey(HttpHeaders.CONNECTION);
+    }
+
+    @Test
+    void delete_WhenServerReturnsNoBody_ShouldReturnEmptyResponse() {
+        server.expect(requestTo("/users/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withStatus(HttpStatus.NO_CONTENT));
+
+        ResponseEntity<Object> response = client.delete("/users/1", 1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(response.hasBody()).isFalse();
+    }
+
+    @Test
+    void postStream_ShouldForwardBodyWithOriginalContentType() {
+        byte[] ndjson = "{\"name\":\"Анна\"}\n{\"name\":\"Иван\"}\n".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo("/users/import"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().bytes(ndjson))
+                .andRespond(withStatus(HttpStatus.OK));
+
+        ResponseEntity<Object> response = client.postStream("/users/import", null, MediaType.APPLICATION_NDJSON,
+                new ByteArrayInputStream(ndjson), ndjson.length, DataSize.ofKilobytes(1));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        server.verify();
+    }
+
+    @Test
+    void postStream_WhenDeclaredLengthExceedsLimit_ShouldRejectWithoutCallingServer() {
+        byte[] body = new byte[2048];
+
+        assertThatThrownBy(() -> client.postStream("/users/import", null, MediaType.APPLICATION_NDJSON,
+                new ByteArrayInputStream(body), body.length, DataSize.ofKilobytes(1)))
+                .isInstanceOf(UploadTooLargeException.class);
+        server.verify();
+    }
+
+    @Test
+    void postStream_WhenUndeclaredBodyExceedsLimit_ShouldStopReading() {
+        byte[] body = new byte[2048];
+        server.expect(requestTo("/users/import")).andRespond(withStatus(HttpStatus.OK));
+
+        assertThatThrownBy(() -> client.postStream("/users/import", null, MediaType.APPLICATION_NDJSON,
+                new ByteArrayInputStream(body), -1, DataSize.ofKilobytes(1)))
+                .isInstanceOf(UploadTooLargeException.class);
+    }
+
+    // Открывает защищённые методы BaseClient для проверки
+    private static class TestClient extends BaseClient {
+
+        TestClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        @Override
+        public ResponseEntity<Object> get(String path, long userId) {
+            return super.get(path, userId);
+        }
+
+        @Override
+        public <T> ResponseEntity<Object> post(String path, long userId, T body) {
+            return super.post(path, userId, body);
+        }
+
+        @Override
+        public ResponseEntity<Object> delete(String path, long userId) {
+            return super.delete(path, userId);
+        }
+
+        @Override
+        public ResponseEntity<Object> postStream(String path, Long userId, MediaType contentType, InputStream body,
+                                                 long declaredLength, DataSize maxSize) {
+            return super.postStream(path, userId, contentType, body, declaredLength, maxSize);
+        }
+    }
+}
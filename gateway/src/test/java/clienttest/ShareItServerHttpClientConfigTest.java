@@ -0,0 +1,75 @@
+package clienttest;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import ru.practirum.shareit.client.ShareItServerHttpClientConfig;
+import ru.practirum.shareit.client.ShareItServerHttpProperties;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Настройки пула gateway -> server из shareit-server.http.* доходят до HttpClient5
+class ShareItServerHttpClientConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ShareItServerHttpClientConfig.class);
+
+    @Test
+    void properties_ShouldBindFromShareItServerHttpPrefix() {
+        contextRunner.withPropertyValues(
+                        "shareit-server.http.max-total=50",
+                        "shareit-server.http.max-per-route=25",
+                        "shareit-server.http.connect-timeout=500ms",
+                        "shareit-server.http.read-timeout=3s",
+                        "shareit-server.http.pool-acquire-timeout=750ms",
+                        "shareit-server.http.idle-evict-timeout=1m",
+                        "shareit-server.http.connection-time-to-live=10m",
+                        "shareit-server.http.validate-after-inactivity=5s")
+                .run(context -> {
+                    ShareItServerHttpProperties properties = context.getBean(ShareItServerHttpProperties.class);
+                    assertThat(properties.getMaxTotal()).isEqualTo(50);
+                    assertThat(properties.getMaxPerRoute()).isEqualTo(25);
+                    assertThat(properties.getConnectTimeout()).isEqualTo(Duration.ofMillis(500));
+                    assertThat(properties.getReadTimeout()).isEqualTo(Duration.ofSeconds(3));
+                    assertThat(properties.getPoolAcquireTimeout()).isEqualTo(Duration.ofMillis(750));
+                    assertThat(properties.getIdleEvictTimeout()).isEqualTo(Duration.ofMinutes(1));
+                    assertThat(properties.getConnectionTimeToLive()).isEqualTo(Duration.ofMinutes(10));
+                    assertThat(properties.getValidateAfterInactivity()).isEqualTo(Duration.ofSeconds(5));
+                });
+    }
+
+    @Test
+    void connectionManager_ShouldApplyPoolLimits() {
+        contextRunner.withPropertyValues(
+                        "shareit-server.http.max-total=50",
+                        "shareit-server.http.max-per-route=25")
+                .run(context -> {
+                    PoolingHttpClientConnectionManager connectionManager =
+                            context.getBean(PoolingHttpClientConnectionManager.class);
+                    assertThat(connectionManager.getMaxTotal()).isEqualTo(50);
+                    assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(25);
+                });
+    }
+
+    @Test
+    void withoutProperties_ShouldUseDefaultsAndPooledRequestFactory() {
+        contextRunner.run(context -> {
+            ShareItServerHttpProperties properties = context.getBean(ShareItServerHttpProperties.class);
+            assertThat(properties.getMaxTotal()).isEqualTo(200);
+            assertThat(properties.getMaxPerRoute()).isEqualTo(100);
+            assertThat(properties.getReadTimeout()).isEqualTo(Duration.ofSeconds(10));
+
+            PoolingHttpClientConnectionManager connectionManager = context.getBean(PoolingHttpClientConnectionManager.class);
+            assertThat(connectionManager.getMaxTotal()).isEqualTo(200);
+            assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(100);
+            assertThat(context).hasSingleBean(CloseableHttpClient.class);
+            assertThat(context.getBean(ClientHttpRequestFactory.class))
+                    .isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+        });
+    }
+}
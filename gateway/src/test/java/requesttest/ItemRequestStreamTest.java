@@ -0,0 +1,80 @@
+package requesttest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+import ru.practirum.shareit.request.ItemRequestController;
+import ru.practirum.shareit.request.RequestClient;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Потоковая выгрузка запросов: статус сервера известен до того, как шлюз начнёт отвечать клиенту
+class ItemRequestStreamTest {
+
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    private MockRestServiceServer server;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate mockedTransport = new RestTemplate();
+        server = MockRestServiceServer.bindTo(mockedTransport).build();
+        RequestClient requestClient = new RequestClient(SERVER_URL, new RestTemplateBuilder(),
+                mockedTransport.getRequestFactory());
+        mvc = MockMvcBuilders.standaloneSetup(new ItemRequestController(requestClient)).build();
+    }
+
+    @Test
+    void streamAllRequests_ShouldCopyServerBodyAfterSuccessfulStatus() throws Exception {
+        String body = "[{\"id\":1,\"description\":\"Хочу дрель\"}]";
+        server.expect(requestTo(SERVER_URL + "/requests/all/stream"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withStatus(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON).body(body));
+
+        MvcResult result = mvc.perform(get("/requests/all/stream").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(body));
+        server.verify();
+    }
+
+    @Test
+    void streamAllRequests_WhenUserIsUnknown_ShouldReturnServerNotFoundAsIs() throws Exception {
+        String error = "{\"error\":\"Пользователь с id:99 не найден\"}";
+        server.expect(requestTo(SERVER_URL + "/requests/all/stream"))
+                .andExpect(header("X-Sharer-User-Id", "99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error));
+
+        MvcResult result = mvc.perform(get("/requests/all/stream").header("X-Sharer-User-Id", 99L))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(error));
+        server.verify();
+    }
+}
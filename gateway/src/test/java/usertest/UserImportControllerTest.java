@@ -0,0 +1,69 @@
+package usertest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import ru.practirum.shareit.exception.ErrorHandler;
+import ru.practirum.shareit.user.UserClient;
+import ru.practirum.shareit.user.UserController;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Импорт пользователей пересылается на сервер потоком и ограничен по размеру
+class UserImportControllerTest {
+
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    private MockRestServiceServer server;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate mockedTransport = new RestTemplate();
+        server = MockRestServiceServer.bindTo(mockedTransport).build();
+        UserClient userClient = new UserClient(SERVER_URL, new RestTemplateBuilder(),
+                mockedTransport.getRequestFactory(), DataSize.ofKilobytes(1));
+        mvc = MockMvcBuilders.standaloneSetup(new UserController(userClient))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+    }
+
+    @Test
+    void importUsers_ShouldForwardBodyAndServerReport() throws Exception {
+        byte[] ndjson = "{\"name\":\"Анна\",\"email\":\"anna@mail.ru\"}\n".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL + "/users/import"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().bytes(ndjson))
+                .andRespond(withStatus(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"imported\":1}"));
+
+        mvc.perform(post("/users/import").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+        server.verify();
+    }
+
+    @Test
+    void importUsers_WhenUploadExceedsLimit_ShouldReturnPayloadTooLarge() throws Exception {
+        mvc.perform(post("/users/import").contentType(MediaType.APPLICATION_NDJSON).content(new byte[4096]))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.error").exists());
+        server.verify();
+    }
+}
@@ -0,0 +1,219 @@
+package ru.practicum.shareit.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Синтетические данные пишутся прямо в БД уже запущенного сервера (схему создаёт его Flyway):
+// через API нельзя создать прошедшие бронирования и, значит, комментарии к ним.
+// Перекос как в живом каталоге: немногие владельцы держат большую часть вещей, немногие вещи собирают
+// большую часть бронирований. Подтверждённые брони одной вещи идут встык без пересечений
+final class DataSeeder {
+
+    static final String[] NOUNS = {"Дрель", "Перфоратор", "Шуруповёрт", "Лестница", "Палатка", "Велосипед", "Самокат",
+        "Пила", "Болгарка", "Рубанок", "Проектор", "Колонка", "Байдарка", "Гамак", "Мангал", "Тележка", "Стремянка",
+        "Пылесос", "Мойка", "Компрессор"};
+    private static final String[] ADJECTIVES = {"ударная", "аккумуляторная", "складная", "туристическая",
+        "профессиональная", "компактная", "мощная", "лёгкая"};
+    private static final int BATCH_SIZE = 1_000;
+
+    private final LoadTestConfig config;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    DataSeeder(LoadTestConfig config) {
+        this.config = config;
+        this.random = new Random(config.seed());
+    }
+
+    SeededData seed() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(config.jdbcUrl(), config.dbUser(), config.dbPassword())) {
+            connection.setAutoCommit(false);
+            long[] userIds = insertUsers(connection);
+            long[] requestIds = insertRequests(connection, userIds);
+
+            // Владелец выбирается по степенному закону над перемешанными пользователями
+            long[] ownerByRank = shuffled(userIds);
+            ZipfSampler owners = new ZipfSampler(ownerByRank.length, config.ownerSkew());
+            long[] itemOwners = new long[config.items()];
+            for (int i = 0; i < itemOwners.length; i++) {
+                itemOwners[i] = ownerByRank[owners.next(random)];
+            }
+            long[] itemIds = insertItems(connection, itemOwners, requestIds);
+
+            List<Booking> bookings = insertBookings(connection, userIds, itemIds, itemOwners);
+            insertComments(connection, bookings);
+            refreshPointers(connection);
+            connection.commit();
+
+            long[] bookers = bookings.stream().mapToLong(Booking::bookerId).toArray();
+            return new SeededData(userIds, itemIds, itemOwners, bookers);
+        }
+    }
+
+    private long[] insertUsers(Connection connection) throws SQLException {
+        String tag = Long.toString(config.seed(), 36) + "-" + Long.toString(System.nanoTime(), 36);
+        return insert(connection, "INSERT INTO users (name, email) VALUES (?, ?)", "user_id", config.users(),
+                (statement, i) -> {
+                    statement.setString(1, "Пользователь " + i);
+                    statement.setString(2, "load-" + tag + "-" + i + "@shareit.test");
+                });
+    }
+
+    private long[] insertRequests(Connection connection, long[] userIds) throws SQLException {
+        return insert(connection, "INSERT INTO requests (text, requestor_id, created_time) VALUES (?, ?, ?)",
+                "request_id", config.requests(), (statement, i) -> {
+                    statement.setString(1, "Нужна " + NOUNS[random.nextInt(NOUNS.length)].toLowerCase() + " на выходные");
+                    statement.setLong(2, userIds[random.nextInt(userIds.length)]);
+                    statement.setObject(3, LocalDate.now().minusDays(random.nextInt(90)));
+                });
+    }
+
+    private long[] insertItems(Connection connection, long[] itemOwners, long[] requestIds) throws SQLException {
+        return insert(connection, "INSERT INTO items (name, description, available, owner_id, request_id) VALUES (?, ?, ?, ?, ?)",
+                "item_id", itemOwners.length, (statement, i) -> {
+                    String noun = NOUNS[random.nextInt(NOUNS.length)];
+                    String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+                    statement.setString(1, noun + " " + (i + 1));
+                    statement.setString(2, noun + ", " + adjective + ", в хорошем состоянии, комплект как на фото");
+                    statement.setBoolean(3, random.nextInt(10) != 0);
+                    statement.setLong(4, itemOwners[i]);
+                    if (random.nextInt(10) == 0) {
+                        statement.setLong(5, requestIds[random.nextInt(requestIds.length)]);
+                    } else {
+                        statement.setNull(5, Types.BIGINT);
+                    }
+                });
+    }
+
+    private List<Booking> insertBookings(Connection connection, long[] userIds, long[] itemIds, long[] itemOwners)
+            throws SQLException {
+        ZipfSampler hotItems = new ZipfSampler(itemIds.length, config.itemSkew());
+        LocalDateTime[] nextFree = new LocalDateTime[itemIds.length];
+        List<Booking> bookings = new ArrayList<>(config.bookings());
+        for (int i = 0; i < config.bookings(); i++) {
+            int item = hotItems.next(random);
+            long booker;
+            do {
+                booker = userIds[random.nextInt(userIds.length)];
+            } while (booker == itemOwners[item] && userIds.length > 1);
+            LocalDateTime start = (nextFree[item] == null ? now.minusDays(180) : nextFree[item])
+                    .plusHours(1 + random.nextInt(72));
+            LocalDateTime end = start.plusDays(1 + random.nextInt(7));
+            nextFree[item] = end;
+            bookings.add(new Booking(itemIds[item], booker, start, end, status(start, end)));
+        }
+
+        insert(connection, "INSERT INTO bookings (start_time, end_time, booker_id, item_id, status) VALUES (?, ?, ?, ?, ?)",
+                "booking_id", bookings.size(), (statement, i) -> {
+                    Booking booking = bookings.get(i);
+                    statement.setTimestamp(1, Timestamp.valueOf(booking.start()));
+                    statement.setTimestamp(2, Timestamp.valueOf(booking.end()));
+                    statement.setLong(3, booking.bookerId());
+                    statement.setLong(4, booking.itemId());
+                    statement.setString(5, booking.status());
+                });
+        return bookings;
+    }
+
+    // Прошлое в основном подтверждено, будущее частично ждёт ответа; ожидающих с наступившим началом нет,
+    // иначе их сразу отменит планировщик жизненного цикла
+    private String status(LocalDateTime start, LocalDateTime end) {
+        int roll = random.nextInt(100);
+        if (end.isBefore(now)) {
+            return roll < 70 ? "APPROVED" : roll < 85 ? "REJECTED" : "CANCELED";
+        }
+        if (!start.isAfter(now)) {
+            return roll < 85 ? "APPROVED" : "REJECTED";
+        }
+        return roll < 50 ? "APPROVED" : roll < 85 ? "WAITING" : "REJECTED";
+    }
+
+    // Отзыв оставляет арендатор завершённой подтверждённой брони
+    private void insertComments(Connection connection, List<Booking> bookings) throws SQLException {
+        List<Booking> finished = bookings.stream()
+                .filter(booking -> booking.status().equals("APPROVED") && booking.end().isBefore(now))
+                .toList();
+        if (finished.isEmpty()) {
+            return;
+        }
+        insert(connection, "INSERT INTO comments (comment, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                "comment_id", config.comments(), (statement, i) -> {
+                    Booking booking = finished.get(random.nextInt(finished.size()));
+                    statement.setString(1, "Всё работает, вернул вовремя, рекомендую владельца");
+                    statement.setLong(2, booking.itemId());
+                    statement.setLong(3, booking.bookerId());
+                    statement.setTimestamp(4, Timestamp.valueOf(booking.end().plusHours(1)));
+                });
+    }
+
+    // Денормализованные указатели вещей считаются так же, как при миграции V2
+    private static void refreshPointers(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE items AS i SET last_booking_id = (" +
+                    "SELECT b.booking_id FROM bookings AS b " +
+                    "WHERE b.item_id = i.item_id AND b.status = 'APPROVED' AND b.start_time <= CURRENT_TIMESTAMP " +
+                    "ORDER BY b.start_time DESC LIMIT 1)");
+            statement.executeUpdate("UPDATE items AS i SET next_booking_id = (" +
+                    "SELECT b.booking_id FROM bookings AS b " +
+                    "WHERE b.item_id = i.item_id AND b.status = 'APPROVED' AND b.start_time > CURRENT_TIMESTAMP " +
+                    "ORDER BY b.start_time ASC LIMIT 1)");
+        }
+    }
+
+    private long[] shuffled(long[] values) {
+        long[] copy = values.clone();
+        for (int i = copy.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = copy[i];
+            copy[i] = copy[j];
+            copy[j] = swap;
+        }
+        return copy;
+    }
+
+    // Пачки по BATCH_SIZE строк; сгенерированные id возвращаются в порядке строк
+    private static long[] insert(Connection connection, String sql, String idColumn, int rows, RowBinder binder)
+            throws SQLException {
+        long[] ids = new long[rows];
+        int written = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{idColumn})) {
+            for (int i = 0; i < rows; i++) {
+                binder.bind(statement, i);
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == rows - 1) {
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids[written++] = keys.getLong(1);
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement statement, int row) throws SQLException;
+    }
+
+    private record Booking(long itemId, long bookerId, LocalDateTime start, LocalDateTime end, String status) {
+    }
+
+    // Идентификаторы для генератора запросов: вещи упорядочены по популярности, владельцы - параллельный массив
+    record SeededData(long[] userIds, long[] itemIds, long[] itemOwners, long[] bookers) {
+    }
+}
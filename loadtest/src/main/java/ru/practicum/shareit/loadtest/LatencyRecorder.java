@@ -0,0 +1,105 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Задержки одного виртуального пользователя: без общих структур на горячем пути, сводятся после прогона
+final class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new TreeMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        Samples endpointSamples = samples.computeIfAbsent(endpoint, key -> new Samples());
+        endpointSamples.add(nanos);
+        if (!ok) {
+            endpointSamples.errors++;
+        }
+    }
+
+    static Report merge(List<LatencyRecorder> recorders, Duration measured) {
+        Map<String, Samples> merged = new TreeMap<>();
+        Samples total = new Samples();
+        for (LatencyRecorder recorder : recorders) {
+            recorder.samples.forEach((endpoint, endpointSamples) -> {
+                merged.computeIfAbsent(endpoint, key -> new Samples()).addAll(endpointSamples);
+                total.addAll(endpointSamples);
+            });
+        }
+        List<Row> rows = new ArrayList<>();
+        merged.forEach((endpoint, endpointSamples) -> rows.add(endpointSamples.toRow(endpoint, measured)));
+        rows.add(total.toRow("TOTAL", measured));
+        return new Report(rows);
+    }
+
+    record Row(String endpoint, int requests, int errors, double throughput, double p50, double p99, double max) {
+    }
+
+    record Report(List<Row> rows) {
+
+        void print(PrintStream out) {
+            out.printf("%-16s %9s %7s %10s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms",
+                    "max ms");
+            for (Row row : rows) {
+                out.printf(Locale.ROOT, "%-16s %9d %7d %10.1f %9.2f %9.2f %9.2f%n", row.endpoint(), row.requests(),
+                        row.errors(), row.throughput(), row.p50(), row.p99(), row.max());
+            }
+        }
+
+        void writeCsv(Path file) throws IOException {
+            List<String> lines = new ArrayList<>();
+            lines.add("endpoint,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms");
+            for (Row row : rows) {
+                lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f", row.endpoint(), row.requests(),
+                        row.errors(), row.throughput(), row.p50(), row.p99(), row.max()));
+            }
+            Files.write(file, lines);
+        }
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+
+        void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.nanos[i]);
+            }
+            errors += other.errors;
+        }
+
+        Row toRow(String endpoint, Duration measured) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            double seconds = measured.toNanos() / 1e9;
+            return new Row(endpoint, size, errors, size / seconds, millis(sorted, 0.50), millis(sorted, 0.99),
+                    size == 0 ? 0 : sorted[size - 1] / 1e6);
+        }
+
+        // Ближайший ранг: p99 - значение, не превышенное 99% запросов
+        private static double millis(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
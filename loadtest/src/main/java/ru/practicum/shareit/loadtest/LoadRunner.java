@@ -0,0 +1,143 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Замкнутая нагрузка: каждый виртуальный пользователь шлёт следующий запрос сразу после ответа на предыдущий.
+// Запросы идут через шлюз, как у живых клиентов; до конца прогрева задержки не учитываются
+final class LoadRunner {
+
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    // Доли запросов в смеси, в сумме 100
+    private enum Endpoint {
+        ITEMS_OWNER(20), ITEM_BY_ID(25), ITEMS_SEARCH(20), BOOKINGS_BOOKER(15), BOOKINGS_OWNER(10), REQUESTS_OWN(5),
+        REQUESTS_ALL(5);
+
+        private final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final LoadTestConfig config;
+    private final DataSeeder.SeededData data;
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    LoadRunner(LoadTestConfig config, DataSeeder.SeededData data) {
+        this.config = config;
+        this.data = data;
+        this.baseUrl = "http://localhost:" + config.gatewayPort();
+    }
+
+    LatencyRecorder.Report run() throws InterruptedException {
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + config.warmup().toNanos();
+        long stopAt = measureFrom + config.duration().toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.threads());
+        List<Future<LatencyRecorder>> futures = new ArrayList<>();
+        for (int i = 0; i < config.threads(); i++) {
+            Random random = new Random(config.seed() + i);
+            futures.add(executor.submit(() -> virtualUser(random, measureFrom, stopAt)));
+        }
+        executor.shutdown();
+
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        for (Future<LatencyRecorder> future : futures) {
+            try {
+                recorders.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Виртуальный пользователь упал", e.getCause());
+            }
+        }
+        return LatencyRecorder.merge(recorders, config.duration());
+    }
+
+    private LatencyRecorder virtualUser(Random random, long measureFrom, long stopAt) {
+        ZipfSampler hotItems = new ZipfSampler(data.itemIds().length, config.itemSkew());
+        LatencyRecorder recorder = new LatencyRecorder();
+        while (System.nanoTime() < stopAt) {
+            Endpoint endpoint = pick(random);
+            HttpRequest request = request(endpoint, random, hotItems);
+            long begin = System.nanoTime();
+            boolean ok;
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                ok = status >= 200 && status < 300;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long end = System.nanoTime();
+            if (begin >= measureFrom && end <= stopAt) {
+                recorder.record(endpoint.name(), end - begin, ok);
+            }
+        }
+        return recorder;
+    }
+
+    private static Endpoint pick(Random random) {
+        int roll = random.nextInt(100);
+        for (Endpoint endpoint : Endpoint.values()) {
+            roll -= endpoint.weight;
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        return Endpoint.ITEM_BY_ID;
+    }
+
+    private HttpRequest request(Endpoint endpoint, Random random, ZipfSampler hotItems) {
+        long randomUser = data.userIds()[random.nextInt(data.userIds().length)];
+        String state = STATES[random.nextInt(STATES.length)];
+        return switch (endpoint) {
+            // Владельцы популярных вещей чаще всего и смотрят свой список
+            case ITEMS_OWNER -> get("/items", data.itemOwners()[hotItems.next(random)]);
+            case ITEM_BY_ID -> get("/items/" + data.itemIds()[hotItems.next(random)], randomUser);
+            case ITEMS_SEARCH -> get("/items/search?text=" + searchText(random), randomUser);
+            case BOOKINGS_BOOKER -> get("/bookings?state=" + state, booker(random, randomUser));
+            case BOOKINGS_OWNER -> get("/bookings/owner?state=" + state, data.itemOwners()[hotItems.next(random)]);
+            case REQUESTS_OWN -> get("/requests", randomUser);
+            case REQUESTS_ALL -> get("/requests/all?from=0&size=10", randomUser);
+        };
+    }
+
+    // Фрагмент названия, как его набирают в строке поиска
+    private static String searchText(Random random) {
+        String noun = DataSeeder.NOUNS[random.nextInt(DataSeeder.NOUNS.length)].toLowerCase();
+        String fragment = noun.substring(0, Math.min(noun.length(), 3 + random.nextInt(3)));
+        return URLEncoder.encode(fragment, StandardCharsets.UTF_8);
+    }
+
+    private long booker(Random random, long fallback) {
+        return data.bookers().length == 0 ? fallback : data.bookers()[random.nextInt(data.bookers().length)];
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("X-Sharer-User-Id", Long.toString(userId))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+}
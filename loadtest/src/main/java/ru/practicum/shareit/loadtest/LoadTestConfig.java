@@ -0,0 +1,92 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Параметры прогона: --ключ=значение, всё необязательно. Одинаковые параметры и seed дают одинаковые данные
+// и одинаковую последовательность запросов каждого виртуального пользователя
+record LoadTestConfig(
+        Database database,
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        int users,
+        int items,
+        int bookings,
+        int comments,
+        int requests,
+        double ownerSkew,
+        double itemSkew,
+        int threads,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        Path serverJar,
+        Path gatewayJar,
+        int serverPort,
+        int gatewayPort,
+        Path workDir) {
+
+    enum Database { H2, POSTGRES }
+
+    private static final Set<String> KEYS = Set.of("db", "jdbc-url", "db-user", "db-password", "users", "items",
+            "bookings", "comments", "requests", "owner-skew", "item-skew", "threads", "warmup", "duration", "seed",
+            "server-jar", "gateway-jar", "server-port", "gateway-port", "work-dir");
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Ожидался параметр вида --ключ=значение: " + arg);
+            }
+            String key = arg.substring(2, separator);
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("Неизвестный параметр --" + key + ", допустимые: " + KEYS);
+            }
+            values.put(key, arg.substring(separator + 1));
+        }
+
+        Database database = Database.valueOf(values.getOrDefault("db", "h2").toUpperCase());
+        Path workDir = Path.of(values.getOrDefault("work-dir", "loadtest/target/run")).toAbsolutePath();
+        // H2 в файле с AUTO_SERVER: сервер и генератор данных работают с одной базой из разных процессов
+        String defaultUrl = database == Database.H2
+                ? "jdbc:h2:file:" + workDir.resolve("db/shareit") + ";AUTO_SERVER=TRUE"
+                : "jdbc:postgresql://localhost:5432/shareit?reWriteBatchedInserts=true";
+        String defaultUser = database == Database.H2 ? "sa" : "shareit";
+        String defaultPassword = database == Database.H2 ? "" : "shareit";
+
+        return new LoadTestConfig(
+                database,
+                values.getOrDefault("jdbc-url", defaultUrl),
+                values.getOrDefault("db-user", defaultUser),
+                values.getOrDefault("db-password", defaultPassword),
+                positive(values, "users", 1_000),
+                positive(values, "items", 5_000),
+                positive(values, "bookings", 20_000),
+                positive(values, "comments", 5_000),
+                positive(values, "requests", 200),
+                Double.parseDouble(values.getOrDefault("owner-skew", "1.1")),
+                Double.parseDouble(values.getOrDefault("item-skew", "1.2")),
+                positive(values, "threads", 16),
+                Duration.parse(values.getOrDefault("warmup", "PT10S")),
+                Duration.parse(values.getOrDefault("duration", "PT60S")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("server-jar", "server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar")),
+                Path.of(values.getOrDefault("gateway-jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar")),
+                positive(values, "server-port", 19090),
+                positive(values, "gateway-port", 18080),
+                workDir);
+    }
+
+    private static int positive(Map<String, String> values, String key, int defaultValue) {
+        int value = values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + key + " должен быть положительным");
+        }
+        return value;
+    }
+}
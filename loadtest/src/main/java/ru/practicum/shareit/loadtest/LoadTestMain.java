@@ -0,0 +1,81 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Сквозной нагрузочный прогон: сервер и шлюз из собранных jar, синтетические данные, смесь запросов через шлюз.
+//
+//   mvn -B package -DskipTests
+//   java -jar loadtest/target/loadtest.jar --db=h2 --users=1000 --items=5000 --bookings=20000 --duration=PT60S
+//
+// С --db=postgres нужна заранее поднятая пустая база (по умолчанию shareit/shareit на localhost:5432),
+// адрес меняется через --jdbc-url, --db-user, --db-password. Отчёт печатается и пишется в <work-dir>/report.csv,
+// логи сервера и шлюза лежат там же
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        prepareWorkDir(config);
+
+        try (AppProcess server = startServer(config)) {
+            System.out.println("Заполнение базы " + config.jdbcUrl());
+            long seedStarted = System.nanoTime();
+            DataSeeder.SeededData data = new DataSeeder(config).seed();
+            System.out.printf("Данные готовы за %d мс: пользователей %d, вещей %d, бронирований %d%n",
+                    (System.nanoTime() - seedStarted) / 1_000_000, config.users(), config.items(), config.bookings());
+
+            try (AppProcess gateway = startGateway(config)) {
+                System.out.printf("Нагрузка: %d потоков, прогрев %s, замер %s%n", config.threads(), config.warmup(),
+                        config.duration());
+                LatencyRecorder.Report report = new LoadRunner(config, data).run();
+                report.print(System.out);
+                Path csv = config.workDir().resolve("report.csv");
+                report.writeCsv(csv);
+                System.out.println("Отчёт: " + csv);
+            }
+        }
+    }
+
+    // H2-база прошлого прогона удаляется, иначе объёмы данных накапливаются
+    private static void prepareWorkDir(LoadTestConfig config) throws IOException {
+        Files.createDirectories(config.workDir());
+        Path db = config.workDir().resolve("db");
+        if (config.database() == LoadTestConfig.Database.H2 && Files.exists(db)) {
+            try (Stream<Path> files = Files.walk(db)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static AppProcess startServer(LoadTestConfig config) throws IOException, InterruptedException {
+        System.out.println("Запуск сервера на порту " + config.serverPort());
+        String driver = config.database() == LoadTestConfig.Database.H2 ? "org.h2.Driver" : "org.postgresql.Driver";
+        Map<String, String> environment = config.database() == LoadTestConfig.Database.POSTGRES
+                ? Map.of("SPRING_PROFILES_ACTIVE", "postgres")
+                : Map.of();
+        return AppProcess.start("server", config.serverJar(), List.of(
+                "--server.port=" + config.serverPort(),
+                "--spring.datasource.driver-class-name=" + driver,
+                "--spring.datasource.url=" + config.jdbcUrl(),
+                "--spring.datasource.username=" + config.dbUser(),
+                "--spring.datasource.password=" + config.dbPassword()),
+                environment, config.workDir(), config.serverPort());
+    }
+
+    private static AppProcess startGateway(LoadTestConfig config) throws IOException, InterruptedException {
+        System.out.println("Запуск шлюза на порту " + config.gatewayPort());
+        return AppProcess.start("gateway", config.gatewayJar(), List.of("--server.port=" + config.gatewayPort()),
+                Map.of("SHAREIT_SERVER_URL", "http://localhost:" + config.serverPort()),
+                config.workDir(), config.gatewayPort());
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Степенное распределение по рангам 1..n: вероятность ранга k пропорциональна 1 / k^skew.
+// Таблица накопленных весов строится один раз, выборка - двоичный поиск
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int size, double skew) {
+        cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            sum += 1.0 / Math.pow(rank, skew);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    // Индекс 0..n-1, нулевой - самый популярный
+    int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Общий ход пакетного импорта: строки читаются потоком, проверяются и копятся в пачку, пачка уходит в Writer.
+// Каждая пачка - одна транзакция и один JDBC batch; записанные пачки не откатываются при ошибках дальше.
+// От сущности нужны только проверка строки и запись пачки - см. Writer
+public class BatchImportRun<T> {
+
+    private final int batchSize;
+    private final Writer<T> writer;
+    private final List<Row<T>> pending;
+    private final List<Rejection<T>> rejections = new ArrayList<>();
+    private int received;
+
+    public BatchImportRun(int batchSize, Writer<T> writer) {
+        this.batchSize = batchSize;
+        this.writer = writer;
+        this.pending = new ArrayList<>(batchSize);
+    }
+
+    // Корневой массив разворачивается, NDJSON читается объект за объектом - в памяти только текущая пачка
+    public BatchImportRun<T> readJson(ObjectReader reader, InputStream body) {
+        try (MappingIterator<T> rows = reader.readValues(body)) {
+            while (true) {
+                T value;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    value = rows.nextValue();
+                } catch (JsonParseException e) {
+                    // Сломана сама разметка: границу следующей строки найти нельзя
+                    reject(received + 1, null, "Некорректный JSON, импорт остановлен: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    reject(++received, null, "Некорректная строка: " + e.getOriginalMessage());
+                    continue;
+                }
+                accept(value);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    // Построчный источник другого формата: строка с RowFormatException отклоняется, чтение продолжается
+    public BatchImportRun<T> read(RowSource<T> source) {
+        try (source) {
+            while (true) {
+                T value;
+                try {
+                    value = source.next();
+                } catch (RowFormatException e) {
+                    reject(++received, null, "Некорректная строка: " + e.getMessage());
+                    continue;
+                }
+                if (value == null) {
+                    break;
+                }
+                accept(value);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    // Writer отклоняет здесь строки, которые не прошли проверку при записи пачки
+    public void reject(int row, @Nullable T value, String reason) {
+        rejections.add(new Rejection<>(row, value, reason));
+    }
+
+    // Дописывает последнюю пачку; отклонённые при записи строки встают по номеру среди прочих
+    public List<Rejection<T>> finish() {
+        flush();
+        rejections.sort(Comparator.comparingInt(Rejection::row));
+        return rejections;
+    }
+
+    public int received() {
+        return received;
+    }
+
+    private void accept(@Nullable T value) {
+        Row<T> row = new Row<>(++received, value);
+        String reason = value == null ? "Пустая строка" : writer.check(row);
+        if (reason != null) {
+            reject(row.number(), value, reason);
+            return;
+        }
+        pending.add(row);
+        if (pending.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Row<T>> batch = List.copyOf(pending);
+        pending.clear();
+        writer.write(batch, this);
+    }
+
+    public interface Writer<T> {
+
+        // Причина отказа или null, если строку можно писать
+        @Nullable
+        String check(Row<T> row);
+
+        void write(List<Row<T>> batch, BatchImportRun<T> run);
+    }
+
+    public interface RowSource<T> extends AutoCloseable {
+
+        // Следующая строка или null в конце данных
+        @Nullable
+        T next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    // Номер строки во входных данных, начиная с 1
+    public record Row<T>(int number, T value) {
+    }
+
+    public record Rejection<T>(int row, @Nullable T value, String reason) {
+    }
+
+    // Ошибка формата одной строки: строка отклоняется, чтение продолжается со следующей
+    public static class RowFormatException extends RuntimeException {
+        public RowFormatException(String message) {
+            super(message);
+        }
+    }
+}
@@ -3,12 +3,16 @@ package ru.practicum.shareit.booking.controllers;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageRequest;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -39,22 +43,34 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getAllBooking(@RequestHeader("X-Sharer-User-Id") Long userIdStr, @RequestParam(value = "state", defaultValue = "ALL") String status) {
+    public List<BookingShortDto> getAllBooking(@RequestHeader("X-Sharer-User-Id") Long userIdStr,
+                                          @RequestParam(value = "state", defaultValue = "ALL") String status,
+                                          @RequestParam(value = "from", defaultValue = "0") Integer from,
+                                          @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                          @RequestParam(value = "afterStart", required = false)
+                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                          @RequestParam(value = "afterId", required = false) Long afterId) {
         try {
             BookingState state = BookingState.valueOf(status);
             log.info("Запрос на получение бронирований,userId: {}",userIdStr);
-            return bookingService.getAllBooking(userIdStr, state);
+            return bookingService.getAllBooking(userIdStr, state, new BookingPageRequest(from, size, afterStart, afterId));
         } catch (IllegalArgumentException e) {
             throw new RuntimeException(e);
         }
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllOwnerBooking(@RequestHeader("X-Sharer-User-Id") Long userIdStr, @RequestParam(value = "state", defaultValue = "ALL") String status) {
+    public List<BookingShortDto> getAllOwnerBooking(@RequestHeader("X-Sharer-User-Id") Long userIdStr,
+                                               @RequestParam(value = "state", defaultValue = "ALL") String status,
+                                               @RequestParam(value = "from", defaultValue = "0") Integer from,
+                                               @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                               @RequestParam(value = "afterStart", required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                               @RequestParam(value = "afterId", required = false) Long afterId) {
         try {
             BookingState state = BookingState.valueOf(status);
             log.info("Запрос на получение бронирований,userId: {}",userIdStr);
-            return bookingService.getAllItemBooking(userIdStr, state);
+            return bookingService.getAllItemBooking(userIdStr, state, new BookingPageRequest(from, size, afterStart, afterId));
         } catch (IllegalArgumentException e) {
             throw new RuntimeException(e);
         }
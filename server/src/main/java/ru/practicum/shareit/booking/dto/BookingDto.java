@@ -5,7 +5,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.enums.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
@@ -20,7 +19,29 @@ public class BookingDto {
     private LocalDateTime start;
     private LocalDateTime end;
     private User booker;
-    private Item item;
+    private BookedItem item;
     private BookingStatus status;
+
+    // Вещь в ответе о бронировании: без служебных полей сущности (указатели броней, версия)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BookedItem {
+        private Long id;
+        private String name;
+        private String description;
+        private boolean available;
+        private User owner;
+        private Request request;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        private Long id;
+        private String description;
+        private Long requestorId;
+    }
 }
 
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageRequest {
+
+    public static final int DEFAULT_SIZE = 10;
+
+    private Integer from;
+    private Integer size;
+    // Курсор: start и id последнего бронирования предыдущей страницы
+    private LocalDateTime afterStart;
+    private Long afterId;
+
+    public static BookingPageRequest firstPage() {
+        return new BookingPageRequest(0, DEFAULT_SIZE, null, null);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// Бронирование в списках: вместо сущностей User и Item только их id и name
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingShortDto {
+
+    private Long id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+    private Ref booker;
+    private Ref item;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Ref {
+        private Long id;
+        private String name;
+    }
+}
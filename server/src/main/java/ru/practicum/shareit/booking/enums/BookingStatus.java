@@ -4,7 +4,7 @@ public enum BookingStatus {
     WAITING("новое бронирование, ожидает одобрения"),
     APPROVED("бронирование подтверждено"),
     REJECTED("бронирование отменено владельцем"),
-    CANCELED("бронирование отменено создателем");
+    CANCELED("бронирование отменено создателем или просрочено без ответа владельца");
 
     private final String description;
 
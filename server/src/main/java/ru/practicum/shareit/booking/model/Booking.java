@@ -16,8 +16,18 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Entity
 @EqualsAndHashCode
+@NamedEntityGraph(name = Booking.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("booker"),
+                @NamedAttributeNode(value = "item", subgraph = "item-details")
+        },
+        subgraphs = @NamedSubgraph(name = "item-details",
+                attributeNodes = {@NamedAttributeNode("owner"), @NamedAttributeNode("request")}))
 public class Booking {
 
+    // Всё, что отдаётся в BookingDto: автор брони, вещь, её владелец и запрос, на который она добавлена
+    public static final String DETAILS_GRAPH = "Booking.details";
+
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,14 +37,22 @@ public class Booking {
     private LocalDateTime startTime;
     @Column(name = "end_time")
     private LocalDateTime endTime;
-    @ManyToOne
+    // Ленивые связи не участвуют в равенстве: иначе hashCode грузит прокси или падает вне сессии
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id", referencedColumnName = "user_id", nullable = false)
+    @EqualsAndHashCode.Exclude
     private User booker;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", referencedColumnName = "item_id", nullable = false)
+    @EqualsAndHashCode.Exclude
     private Item item;
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private BookingStatus status;
+    // Растёт при каждом update: параллельное решение по той же брони получает конфликт
+    @Version
+    @Column(name = "version")
+    @EqualsAndHashCode.Exclude
+    private Long version;
 
 }
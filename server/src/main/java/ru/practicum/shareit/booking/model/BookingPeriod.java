@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+// Интервал подтверждённого бронирования: для проверок пересечения сущность целиком не нужна
+public record BookingPeriod(Long bookingId, LocalDateTime start, LocalDateTime end) {
+
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+}
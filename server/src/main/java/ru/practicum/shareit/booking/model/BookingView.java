@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// Строка представления booking_list_view: бронирование без вложенных сущностей
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "booking_list_view")
+public class BookingView {
+
+    @Id
+    @Column(name = "booking_id")
+    private Long id;
+    @Column(name = "start_time")
+    private LocalDateTime startTime;
+    @Column(name = "end_time")
+    private LocalDateTime endTime;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private BookingStatus status;
+    @Column(name = "booker_id")
+    private Long bookerId;
+    @Column(name = "booker_name")
+    private String bookerName;
+    @Column(name = "item_id")
+    private Long itemId;
+    @Column(name = "item_name")
+    private String itemName;
+    @Column(name = "item_owner_id")
+    private Long itemOwnerId;
+}
@@ -1,46 +1,80 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingPeriod;
 import ru.practicum.shareit.item.model.Item;
 
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findAllByBookerId(Long userId);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Optional<Booking> findDetailedById(Long bookingId);
 
-    List<Booking> findAllByBookerIdAndStartTimeIsBeforeAndEndTimeIsBefore(Long userId, LocalDateTime now, LocalDateTime now2);
-
-    List<Booking> findAllByBookerIdAndEndTimeIsBefore(Long userId, LocalDateTime now);
-
-    List<Booking> findAllByBookerIdAndStartTimeIsAfter(Long userId, LocalDateTime now);
-
-    List<Booking> findAllByBookerIdAndStatus(Long userId, BookingStatus status);
-
-    List<Booking> findAllByItemOwnerId(Long userId);
-
-    List<Booking> findAllByItemOwnerIdAndStartTimeIsBeforeAndEndTimeIsBefore(Long userId, LocalDateTime now, LocalDateTime now2);
-
-    List<Booking> findAllByItemOwnerIdAndEndTimeIsBefore(Long userId, LocalDateTime now);
-
-    List<Booking> findAllByItemOwnerIdAndStartTimeIsAfter(Long userId, LocalDateTime now);
-
-    List<Booking> findAllByItemOwnerIdAndStatus(Long userId, BookingStatus status);
+    // Бронирования, на которые указывают last/next у вещей, вместе с данными для BookingDto
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findDetailedByIdIn(Collection<Long> bookingIds);
 
     @Query("SELECT b FROM Booking b WHERE b.item = :item AND b.startTime < CURRENT_TIMESTAMP AND b.status = 'APPROVED' ORDER BY b.startTime DESC LIMIT 1")
     Optional<Booking> findLastFinishedBookingByItem(@Param("item") Item item);
 
     // Следующее будущее бронирование
-    @Query("SELECT b FROM Booking b WHERE b.item = :item AND b.startTime > CURRENT_TIMESTAMP AND b.status = 'APPROVED' ORDER BY b.startTime ASC")
+    @Query("SELECT b FROM Booking b WHERE b.item = :item AND b.startTime > CURRENT_TIMESTAMP AND b.status = 'APPROVED' ORDER BY b.startTime ASC LIMIT 1")
     Optional<Booking> findNextBookingByItem(@Param("item") Item item);
 
+    // Последние и следующие бронирования сразу для набора вещей
+    @Query("SELECT b FROM Booking b WHERE b.item IN :items AND b.status = 'APPROVED' AND b.startTime = " +
+            "(SELECT MAX(b2.startTime) FROM Booking b2 WHERE b2.item = b.item AND b2.status = 'APPROVED' AND b2.startTime < CURRENT_TIMESTAMP)")
+    List<Booking> findLastFinishedBookingsByItems(@Param("items") Collection<Item> items);
+
+    @Query("SELECT b FROM Booking b WHERE b.item IN :items AND b.status = 'APPROVED' AND b.startTime = " +
+            "(SELECT MIN(b2.startTime) FROM Booking b2 WHERE b2.item = b.item AND b2.status = 'APPROVED' AND b2.startTime > CURRENT_TIMESTAMP)")
+    List<Booking> findNextBookingsByItems(@Param("items") Collection<Item> items);
+
+    // Пересечение полуинтервалов [start, end): конец одной брони может совпадать с началом другой
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.item.id = :itemId AND b.status = 'APPROVED' " +
+            "AND b.startTime < :end AND b.endTime > :start")
+    boolean existsApprovedOverlap(@Param("itemId") Long itemId, @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
+
+    // То же, но без самой подтверждаемой брони: повторное подтверждение не конфликтует само с собой
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.item.id = :itemId AND b.status = 'APPROVED' " +
+            "AND b.startTime < :end AND b.endTime > :start AND b.id <> :bookingId")
+    boolean existsOtherApprovedOverlap(@Param("itemId") Long itemId, @Param("start") LocalDateTime start,
+                                       @Param("end") LocalDateTime end, @Param("bookingId") Long bookingId);
+
+    // Ещё не закончившиеся подтверждённые брони вещи по порядку начала: для индекса интервалов и кэша занятости
+    @Query("SELECT new ru.practicum.shareit.booking.model.BookingPeriod(b.id, b.startTime, b.endTime) FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status = 'APPROVED' AND b.endTime > :now ORDER BY b.startTime")
+    List<BookingPeriod> findApprovedPeriods(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    // Порция ожидающих ответа броней, чьё время уже началось; занятые другим экземпляром строки пропускаются
+    @Query(value = "SELECT booking_id FROM bookings WHERE status = 'WAITING' AND start_time <= :now " +
+            "ORDER BY start_time, booking_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockStaleWaitingIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Массовое обновление минует @Version, поэтому версия поднимается явно
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'CANCELED', b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = 'WAITING'")
+    int cancelWaiting(@Param("ids") Collection<Long> ids);
+
+    // Подтверждённые брони вещи, задевающие окно [from, to), по порядку начала: проход по индексу (item_id, start_time, end_time)
+    @Query("SELECT new ru.practicum.shareit.booking.model.BookingPeriod(b.id, b.startTime, b.endTime) FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status = 'APPROVED' AND b.endTime > :from AND b.startTime < :to " +
+            "ORDER BY b.startTime")
+    List<BookingPeriod> findApprovedPeriodsOrderByStart(@Param("itemId") Long itemId, @Param("from") LocalDateTime from,
+                                                        @Param("to") LocalDateTime to);
+
     @Query(value = "SELECT b.* FROM bookings as b " +
             "JOIN items as i ON i.item_id = b.item_id " +
             "WHERE b.booker_id = ?1 AND i.item_id = ?2 AND b.status = 'APPROVED' AND b.end_time < ?3 ", nativeQuery = true)
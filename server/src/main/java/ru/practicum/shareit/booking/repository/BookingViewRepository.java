@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.Repository;
+import ru.practicum.shareit.booking.model.BookingView;
+
+// Только чтение: списки бронирований строятся по плоскому представлению без загрузки User и Item
+public interface BookingViewRepository extends Repository<BookingView, Long>, JpaSpecificationExecutor<BookingView> {
+
+    // Списки бронирований отдаются окнами: смещение (from) или курсор по (start_time, booking_id).
+    // Условия собираются в BookingViewSpecifications, так что любой список - один запрос с общим порядком
+    default Window<BookingView> findWindow(Specification<BookingView> spec, ScrollPosition position, Limit limit, Sort sort) {
+        return findBy(spec, query -> query.sortBy(sort).limit(limit.max()).scroll(position));
+    }
+}
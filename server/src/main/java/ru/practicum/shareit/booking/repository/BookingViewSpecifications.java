@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+
+import java.time.LocalDateTime;
+
+// Условия выборки списков бронирований: участник (арендатор или владелец) и состояние.
+// Сочетаются через and, поэтому на каждое сочетание не нужен отдельный производный метод репозитория
+public final class BookingViewSpecifications {
+
+    private BookingViewSpecifications() {
+    }
+
+    public static Specification<BookingView> bookedBy(Long bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("bookerId"), bookerId);
+    }
+
+    public static Specification<BookingView> ownedBy(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("itemOwnerId"), ownerId);
+    }
+
+    // Текущее бронирование уже началось и ещё не закончилось; ALL условий не добавляет.
+    // Ветки без default: новое состояние без условия не скомпилируется
+    public static Specification<BookingView> inState(BookingState state, LocalDateTime now) {
+        return switch (state) {
+            case ALL -> (root, query, cb) -> cb.conjunction();
+            case CURRENT -> (root, query, cb) -> cb.and(
+                    cb.lessThanOrEqualTo(root.get("startTime"), now),
+                    cb.greaterThanOrEqualTo(root.get("endTime"), now));
+            case PAST -> (root, query, cb) -> cb.lessThan(root.get("endTime"), now);
+            case FUTURE -> (root, query, cb) -> cb.greaterThan(root.get("startTime"), now);
+            case WAITING -> withStatus(BookingStatus.WAITING);
+            case REJECTED -> withStatus(BookingStatus.REJECTED);
+        };
+    }
+
+    private static Specification<BookingView> withStatus(BookingStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+}
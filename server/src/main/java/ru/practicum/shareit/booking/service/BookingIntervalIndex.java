@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.transaction.TransactionalCaches;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+// Подтверждённые интервалы броней по вещам для быстрой предварительной проверки пересечений.
+// Подтверждённые брони одной вещи не пересекаются, поэтому вместо дерева интервалов хватает TreeMap
+// по началу: с новым интервалом может пересечься только ближайший начавшийся раньше его конца.
+// Интервалы хранятся в ограниченном по размеру и времени жизни кэше и только для ещё не закончившихся броней,
+// так что память не растёт с историей. Индекс может отставать от БД (другой экземпляр сервера, гонка
+// с коммитом, вытеснение из кэша), поэтому решающая проверка всегда выполняется в БД под блокировкой вещи.
+@Component
+public class BookingIntervalIndex {
+
+    public static final String BOOKING_PERIODS = "bookingPeriods";
+
+    private final BookingRepository bookingRepository;
+    private final Cache periodsByItem;
+
+    public BookingIntervalIndex(BookingRepository bookingRepository, CacheManager cacheManager) {
+        this.bookingRepository = bookingRepository;
+        this.periodsByItem = Objects.requireNonNull(cacheManager.getCache(BOOKING_PERIODS),
+                "Не настроен кэш " + BOOKING_PERIODS);
+    }
+
+    // Интервалы вещи подгружаются из БД при первом обращении, закончившиеся отбрасываются по ходу
+    public boolean mightOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime now = LocalDateTime.now();
+        NavigableMap<LocalDateTime, BookingPeriod> periods = load(itemId, now);
+        synchronized (periods) {
+            while (!periods.isEmpty() && !periods.firstEntry().getValue().end().isAfter(now)) {
+                periods.pollFirstEntry();
+            }
+            Map.Entry<LocalDateTime, BookingPeriod> candidate = periods.lowerEntry(end);
+            return candidate != null && candidate.getValue().overlaps(start, end);
+        }
+    }
+
+    // Вещь, которой нет в кэше, не загружается: её интервалы прочитаются из БД при следующей проверке
+    public void onApproved(Long itemId, BookingPeriod period) {
+        TransactionalCaches.afterCommit(() -> {
+            NavigableMap<LocalDateTime, BookingPeriod> periods = cached(itemId);
+            if (periods != null) {
+                synchronized (periods) {
+                    periods.put(period.start(), period);
+                }
+            }
+        });
+    }
+
+    public void onRevoked(Long itemId, BookingPeriod period) {
+        TransactionalCaches.afterCommit(() -> {
+            NavigableMap<LocalDateTime, BookingPeriod> periods = cached(itemId);
+            if (periods != null) {
+                synchronized (periods) {
+                    BookingPeriod stored = periods.get(period.start());
+                    if (stored != null && stored.bookingId().equals(period.bookingId())) {
+                        periods.remove(period.start());
+                    }
+                }
+            }
+        });
+    }
+
+    // Индекс разошёлся с БД: интервалы вещи перечитаются при следующей проверке
+    public void invalidate(Long itemId) {
+        periodsByItem.evict(itemId);
+    }
+
+    private NavigableMap<LocalDateTime, BookingPeriod> load(Long itemId, LocalDateTime now) {
+        return TransactionalCaches.get(periodsByItem, itemId, () -> {
+            NavigableMap<LocalDateTime, BookingPeriod> periods = new TreeMap<>();
+            bookingRepository.findApprovedPeriods(itemId, now).forEach(period -> periods.put(period.start(), period));
+            return periods;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private NavigableMap<LocalDateTime, BookingPeriod> cached(Long itemId) {
+        Cache.ValueWrapper wrapper = periodsByItem.get(itemId);
+        return wrapper == null ? null : (NavigableMap<LocalDateTime, BookingPeriod>) wrapper.get();
+    }
+}
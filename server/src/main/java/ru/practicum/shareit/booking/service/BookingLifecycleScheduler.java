@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.transaction.RetryingTransactionExecutor;
+
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+@Slf4j
+@Component
+public class BookingLifecycleScheduler {
+
+    // Защита от бесконечного цикла, если порции почему-то не убывают: остаток дождётся следующего запуска
+    private static final int MAX_CHUNKS_PER_RUN = 100;
+
+    private final BookingLifecycleService lifecycleService;
+    private final RetryingTransactionExecutor transactionExecutor;
+    private final int chunkSize;
+
+    public BookingLifecycleScheduler(BookingLifecycleService lifecycleService,
+                                     RetryingTransactionExecutor transactionExecutor,
+                                     @Value("${shareit.bookings.lifecycle.chunk-size:500}") int chunkSize) {
+        this.lifecycleService = lifecycleService;
+        this.transactionExecutor = transactionExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    // Каждая порция - отдельная короткая транзакция: блокировки не копятся, сбой теряет только одну порцию
+    @Scheduled(fixedDelayString = "${shareit.bookings.lifecycle.interval:PT1M}",
+            initialDelayString = "${shareit.bookings.lifecycle.initial-delay:PT0S}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = drain(() -> lifecycleService.expireStaleWaiting(now, chunkSize));
+        int rolled = drain(() -> lifecycleService.rollOverPointers(now, chunkSize));
+        if (expired + rolled > 0) {
+            log.info("Жизненный цикл броней: просрочено {}, сдвинуты указатели у {} вещей", expired, rolled);
+        }
+    }
+
+    private int drain(IntSupplier chunk) {
+        int total = 0;
+        for (int i = 0; i < MAX_CHUNKS_PER_RUN; i++) {
+            int processed = transactionExecutor.execute(chunk::getAsInt);
+            total += processed;
+            if (processed < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.service.ItemBookingPointerService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Один шаг жизненного цикла броней над порцией строк. Строки порции блокируются через SKIP LOCKED,
+// поэтому несколько экземпляров сервера разбирают разные порции и не ждут друг друга
+// (на PostgreSQL; H2 с LIMIT блокирует все подходящие строки, но он и работает в одном экземпляре).
+// Каждый метод возвращает размер взятой порции: меньше лимита - работа на этот момент закончена.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingLifecycleService {
+
+    private final BookingRepository bookingRepository;
+    private final ItemBookingPointerService pointerService;
+
+    // Владелец не ответил до начала брони - она отменяется и больше не ждёт решения
+    @Transactional
+    public int expireStaleWaiting(LocalDateTime now, int limit) {
+        List<Long> ids = bookingRepository.lockStaleWaitingIds(now, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int canceled = bookingRepository.cancelWaiting(ids);
+        log.info("Отменено ожидающих бронирований без ответа владельца: {}", canceled);
+        return ids.size();
+    }
+
+    // Начавшееся следующее бронирование становится последним, указатель next - следующим за ним
+    @Transactional
+    public int rollOverPointers(LocalDateTime now, int limit) {
+        return pointerService.rollOverStarted(now, limit);
+    }
+}
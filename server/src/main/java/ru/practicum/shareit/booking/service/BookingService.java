@@ -3,6 +3,8 @@ package ru.practicum.shareit.booking.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageRequest;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.enums.BookingState;
 
@@ -14,10 +16,10 @@ public interface BookingService {
 
     BookingDto getBookingById(Long userId, Long bookingId);
 
-    List<BookingDto> getAllBooking(Long userId, BookingState state);
+    List<BookingShortDto> getAllBooking(Long userId, BookingState state, BookingPageRequest page);
 
     BookingDto respondToBooking(Long userId, Long bookingId, Boolean status) throws JsonProcessingException;
 
-    List<BookingDto> getAllItemBooking(Long userId, BookingState state);
+    List<BookingShortDto> getAllItemBooking(Long userId, BookingState state, BookingPageRequest page);
 
 }
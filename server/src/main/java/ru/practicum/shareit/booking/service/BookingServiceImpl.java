@@ -4,47 +4,78 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageRequest;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.mappers.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.booking.repository.BookingViewSpecifications;
 import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingPointerService;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
+import ru.practicum.shareit.transaction.RetryingTransactionExecutor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class BookingServiceImpl implements BookingService {
 
+    // Порядок совпадает с индексами (booker_id/item_id, start_time, booking_id) и задаёт ключ курсора
+    private static final Sort BOOKING_ORDER = Sort.by(Sort.Direction.DESC, "startTime", "id");
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final BookingViewRepository bookingViewRepository;
     private final BookingMapper mapper;
+    private final ItemBookingPointerService pointerService;
+    private final BookingIntervalIndex intervalIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RetryingTransactionExecutor transactionExecutor;
 
 
     @Transactional
     @Override
     public BookingDto addBooking(NewBookingRequest request) {
         User broker = userRepository.findById(request.getBroker()).orElseThrow(() -> new NotFoundException("Пользователь с id:" + request.getBroker() + " не найден"));
-        Item item = itemRepository.findById(request.getItemId()).orElseThrow(() -> new NotFoundException("Предмет с id:" + request.getItemId() + " не найден"));
+        Item item = itemRepository.findWithOwnerById(request.getItemId()).orElseThrow(() -> new NotFoundException("Предмет с id:" + request.getItemId() + " не найден"));
         if (!item.isAvailable()) {
             throw new AccessException("Данная вещь не доступна для брони");
         }
         if (request.getStart().isAfter(request.getEnd())) {
             throw new ValidationException("Время начала должно быть раньше конца");
         }
+        // Промах по индексу интервалов обходится без запроса; совпадение перепроверяется в БД
+        if (intervalIndex.mightOverlap(item.getId(), request.getStart(), request.getEnd())) {
+            if (bookingRepository.existsApprovedOverlap(item.getId(), request.getStart(), request.getEnd())) {
+                throw new AccessException("Вещь уже забронирована на это время");
+            }
+            intervalIndex.invalidate(item.getId());
+        }
         Booking booking = mapper.mapToBooking(request, item, broker);
         booking.setStatus(BookingStatus.WAITING);
         booking = bookingRepository.save(booking);
@@ -55,7 +86,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public BookingDto getBookingById(Long userId, Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new NotFoundException("Запрос на бронирование с id:" + bookingId + " не найден"));
+        Booking booking = bookingRepository.findDetailedById(bookingId).orElseThrow(() -> new NotFoundException("Запрос на бронирование с id:" + bookingId + " не найден"));
         if (booking.getBooker().getId().equals(userId) || booking.getItem().getOwner().getId().equals(userId)) {
             log.info("Получение бронирования пользователя с id:{}", userId);
             return mapper.mapToDto(booking);
@@ -64,91 +95,97 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getAllBooking(Long userId, BookingState state) {
-        LocalDateTime now = LocalDateTime.now();
+    public List<BookingShortDto> getAllBooking(Long userId, BookingState state, BookingPageRequest page) {
         if (userId == null) {
             throw new ValidationException("id не может быть null");
         }
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь с id:" + userId + " не найден"));
-
-
-        switch (state.toString()) {
-            case "ALL":
-                log.info("Получение всех бронирований пользовател с id: {}", userId);
-                return bookingRepository.findAllByBookerId(userId).stream().map(mapper::mapToDto).toList();
-            case "CURRENT":
-                log.info("Получение текущих бронирований пользовател с id: {}", userId);
-                return bookingRepository.findAllByBookerIdAndStartTimeIsBeforeAndEndTimeIsBefore(userId, now, now).stream().map(mapper::mapToDto).toList();
-            case "PAST":
-                log.info("Получение прошлых бронирований пользовател с id: {}", userId);
-                return bookingRepository.findAllByBookerIdAndEndTimeIsBefore(userId, now).stream().map(mapper::mapToDto).toList();
-            case "FUTURE":
-                log.info("Получение будущих бронирований пользовател с id: {}", userId);
-                return bookingRepository.findAllByBookerIdAndStartTimeIsAfter(userId, now).stream().map(mapper::mapToDto).toList();
-            case "WAITING":
-                log.info("Получение ожидающих бронирований пользовател с id: {}", userId);
-                return bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.WAITING).stream().map(mapper::mapToDto).toList();
-            case "REJECTED":
-                log.info("Получение отклоненных бронирований пользовател с id: {}", userId);
-                return bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.REJECTED).stream().map(mapper::mapToDto).toList();
-            default:
-                log.warn("Unknown state: " + state);
-                throw new IllegalArgumentException("Unknown state: " + state);
-        }
+        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь с id:" + userId + " не найден"));
+        log.info("Получение бронирований пользователя с id: {} в состоянии {}", userId, state);
+        return findBookings(BookingViewSpecifications.bookedBy(userId), state, page);
     }
 
-    @Transactional
     @Override
     public BookingDto respondToBooking(Long userId, Long bookingId, Boolean status) throws JsonProcessingException {
+        return transactionExecutor.execute(() -> decide(userId, bookingId, status));
+    }
+
+    // Одна попытка решения владельца: при конфликте версий исполнитель повторит её с перечитанными данными
+    private BookingDto decide(Long userId, Long bookingId, Boolean status) {
         userRepository.findById(userId).orElseThrow(() -> new ValidationException("Пользователь с id:" + userId + " не найден"));
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new NotFoundException("Запрос на бронирование с id:" + bookingId + " не найден"));
-        Item item = itemRepository.findById(booking.getItem().getId()).orElseThrow(() -> new NotFoundException("Предмет с id:" + booking.getItem().getId() + " не найден"));
+        Booking booking = bookingRepository.findDetailedById(bookingId).orElseThrow(() -> new NotFoundException("Запрос на бронирование с id:" + bookingId + " не найден"));
+        Item item = booking.getItem();
         if (!item.getOwner().getId().equals(userId)) {
             throw new AccessException("Пользователь не являеться владельцем вещи,давать разрешения может только владелец");
         }
+        if (booking.getStatus() == BookingStatus.CANCELED) {
+            throw new ValidationException("Бронирование с id:" + bookingId + " отменено, решение по нему уже не принимается");
+        }
+        BookingPeriod period = new BookingPeriod(booking.getId(), booking.getStartTime(), booking.getEndTime());
         if (status) {
+            // Подтверждения броней одной вещи идут по очереди: следующее видит предыдущее уже записанным
+            itemRepository.findLockedById(item.getId());
+            if (bookingRepository.existsOtherApprovedOverlap(item.getId(), booking.getStartTime(), booking.getEndTime(), booking.getId())) {
+                throw new AccessException("Вещь уже забронирована на это время");
+            }
             booking.setStatus(BookingStatus.APPROVED);
-            bookingRepository.save(booking);
+            saveApproved(booking);
+            intervalIndex.onApproved(item.getId(), period);
             log.info("Разрешения бронирования с id: {},владельца с id: {}", booking.getId(), userId);
-            item.setAvailable(false);
+            pointerService.refresh(item);
+            eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
             return mapper.mapToDto(booking);
         }
 
+        boolean wasApproved = booking.getStatus() == BookingStatus.APPROVED;
         booking.setStatus(BookingStatus.REJECTED);
         bookingRepository.save(booking);
+        if (wasApproved) {
+            intervalIndex.onRevoked(item.getId(), period);
+        }
+        pointerService.refresh(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
         log.info("Отклонения бронирования с id: {},владельца с id: {}", booking.getId(), userId);
         return mapper.mapToDto(booking);
     }
 
-    @Override
-    public List<BookingDto> getAllItemBooking(Long userId, BookingState state) {
-        LocalDateTime now = LocalDateTime.now();
-
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь с id:" + userId + " не найден"));
-
-        switch (state.toString()) {
-            case "ALL":
-                log.info("Получение всех бронирований вещей пользовател с id: {}", userId);
-                return bookingRepository.findAllByItemOwnerId(userId).stream().map(mapper::mapToDto).toList();
-            case "CURRENT":
-                log.info("Получение текущих бронирований вещи с id: {}", userId);
-                return bookingRepository.findAllByItemOwnerIdAndStartTimeIsBeforeAndEndTimeIsBefore(userId, now, now).stream().map(mapper::mapToDto).toList();
-            case "PAST":
-                log.info("Получение прошлых бронирований вещей пользовател с id: {}", userId);
-                return bookingRepository.findAllByItemOwnerIdAndEndTimeIsBefore(userId, now).stream().map(mapper::mapToDto).toList();
-            case "FUTURE":
-                log.info("Получение будущих бронирований вещей пользовател с id: {}", userId);
-                return bookingRepository.findAllByItemOwnerIdAndStartTimeIsAfter(userId, now).stream().map(mapper::mapToDto).toList();
-            case "WAITING":
-                log.info("Получение ожидающих бронирований вещей пользовател с id: {}", userId);
-                return bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.WAITING).stream().map(mapper::mapToDto).toList();
-            case "REJECTED":
-                log.info("Получение отклоненных бронирований вещей пользовател с id: {}", userId);
-                return bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED).stream().map(mapper::mapToDto).toList();
-            default:
-                throw new IllegalArgumentException("Unknown state: " + state);
+    // На PostgreSQL пересечение дополнительно запрещает ограничение-исключение bookings_no_overlap
+    private void saveApproved(Booking booking) {
+        try {
+            bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new AccessException("Вещь уже забронирована на это время");
         }
     }
 
+    @Override
+    public List<BookingShortDto> getAllItemBooking(Long userId, BookingState state, BookingPageRequest page) {
+        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь с id:" + userId + " не найден"));
+        log.info("Получение бронирований вещей пользователя с id: {} в состоянии {}", userId, state);
+        return findBookings(BookingViewSpecifications.ownedBy(userId), state, page);
+    }
+
+    // Любое сочетание участника и состояния - один запрос с общим порядком и лимитом окна
+    private List<BookingShortDto> findBookings(Specification<BookingView> participant, BookingState state, BookingPageRequest page) {
+        ScrollPosition position = toScrollPosition(page);
+        Specification<BookingView> spec = participant.and(BookingViewSpecifications.inState(state, LocalDateTime.now()));
+        return bookingViewRepository.findWindow(spec, position, Limit.of(page.getSize()), BOOKING_ORDER).stream()
+                .map(mapper::mapToShortDto)
+                .toList();
+    }
 
+    private ScrollPosition toScrollPosition(BookingPageRequest page) {
+        if (page.getSize() == null || page.getSize() <= 0) {
+            throw new ValidationException("Размер страницы должен быть положительным");
+        }
+        if (page.getAfterStart() != null || page.getAfterId() != null) {
+            if (page.getAfterStart() == null || page.getAfterId() == null) {
+                throw new ValidationException("Курсор задаётся парой параметров afterStart и afterId");
+            }
+            return ScrollPosition.forward(Map.of("startTime", page.getAfterStart(), "id", page.getAfterId()));
+        }
+        if (page.getFrom() == null || page.getFrom() < 0) {
+            throw new ValidationException("Параметр from не может быть отрицательным");
+        }
+        return page.getFrom() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(page.getFrom() - 1);
+    }
 }
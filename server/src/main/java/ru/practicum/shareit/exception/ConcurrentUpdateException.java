@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -24,6 +25,14 @@ public class ErrorHandler {
         return new ErrorResponse("Дублирование объекта!");
     }
 
+    // Запрос проиграл гонку с параллельным изменением того же объекта и не прошёл после повторов
+    @ExceptionHandler({ConcurrentUpdateException.class, ConcurrencyFailureException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConcurrentUpdateException(RuntimeException e) {
+        log.warn("Конфликт параллельных изменений " + e.getMessage());
+        return new ErrorResponse("Объект изменён параллельным запросом, повторите попытку");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidateException(ValidationException e) {
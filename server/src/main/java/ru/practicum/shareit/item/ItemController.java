@@ -3,14 +3,22 @@ package ru.practicum.shareit.item;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.service.ItemAvailabilityService;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -21,6 +29,12 @@ public class ItemController {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemAvailabilityService itemAvailabilityService;
+
     @GetMapping
     public List<ItemDto> getAllItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Запрос на получение всех вещей с userId: {}", userId);
@@ -33,10 +47,28 @@ public class ItemController {
         return itemService.getItemById(userId, id);
     }
 
+    // Календарь вещи: вместо восстановления занятости по lastBooking/nextBooking
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable("itemId") Long id,
+                                               @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Запрос занятости вещи с id: {} c {} по {}", id, from, to);
+        return itemAvailabilityService.getAvailability(id, from, to);
+    }
+
+    // С окном start/end - только вещи, свободные всё окно, постранично; без окна - прежний поиск
     @GetMapping("/search")
-    public List<ItemDto> search(@RequestParam String text) {
-        log.info("Запрос на поиск вещи по тексту {}", text);
-        return itemService.search(text).stream().toList();
+    public List<ItemDto> search(@RequestParam String text,
+                                @RequestParam(value = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                @RequestParam(value = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                @RequestParam(value = "from", defaultValue = "0") Integer from,
+                                @RequestParam(value = "size", defaultValue = "10") Integer size) {
+        if (start == null && end == null) {
+            log.info("Запрос на поиск вещи по тексту {}", text);
+            return itemService.search(text).stream().toList();
+        }
+        log.info("Запрос на поиск вещи по тексту {}, свободной c {} по {}", text, start, end);
+        return itemService.searchFree(text, start, end, from, size).stream().toList();
     }
 
     @PostMapping
@@ -45,6 +77,19 @@ public class ItemController {
         return itemService.createItem(userId, itemDto);
     }
 
+    // Каталог владельца одним запросом: в ответе только id созданных вещей по номерам строк
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ItemImportResult importJson(@RequestHeader("X-Sharer-User-Id") Long userId, InputStream body) {
+        log.info("Запрос на импорт каталога в JSON пользователем: {}", userId);
+        return itemImportService.importJson(userId, body);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ItemImportResult importCsv(@RequestHeader("X-Sharer-User-Id") Long userId, InputStream body) {
+        log.info("Запрос на импорт каталога в CSV пользователем: {}", userId);
+        return itemImportService.importCsv(userId, body);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long userId, @Valid @RequestBody CommentDto commentDto) {
         log.info("Запрос на добавление комментария вещи: {},пользователем с id: {}", itemId, userId);
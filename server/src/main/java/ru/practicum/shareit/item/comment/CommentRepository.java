@@ -1,12 +1,19 @@
 package ru.practicum.shareit.item.comment;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    // Автор подтягивается сразу: его имя попадает в CommentDto
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItem(Item item);
 
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findAllByItemIn(Collection<Item> items);
+
 }
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Занятость вещи в окне [from, to): интервалы по возрастанию, вместе покрывают окно без зазоров
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAvailabilityDto {
+
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<Interval> busy;
+    private List<Interval> free;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Interval {
+        private LocalDateTime start;
+        private LocalDateTime end;
+    }
+}
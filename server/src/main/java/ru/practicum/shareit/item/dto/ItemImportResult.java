@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Итог импорта каталога: вместо карточек вещей только их id, привязанные к строкам входных данных
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportResult {
+
+    private int received;
+    private List<Created> created;
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Created {
+        // Номер строки во входных данных, начиная с 1 (заголовок CSV не считается)
+        private int row;
+        private Long id;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String reason;
+    }
+}
@@ -28,13 +28,27 @@ public class Item {
     private String description;
     @Column(name = "available")
     private boolean available;
-    @ManyToOne
+    // Ленивые связи не участвуют в равенстве: иначе hashCode грузит прокси или падает вне сессии
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id",nullable = false)
+    @EqualsAndHashCode.Exclude
     private User owner;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     ItemRequest request;
+
+    // Денормализованные указатели на последнее и следующее подтвержденные бронирования
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    // Растёт при каждом update: параллельная запись по старой версии получает конфликт
+    @Version
+    @Column(name = "version")
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
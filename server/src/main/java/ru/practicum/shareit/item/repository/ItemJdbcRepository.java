@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class ItemJdbcRepository {
+
+    private static final String INSERT_ITEM = "INSERT INTO items (name, description, available, owner_id, request_id) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Одна пачка - один JDBC batch; сгенерированные id возвращаются в порядке строк
+    public List<Long> insertAll(Long ownerId, List<ItemDto> items) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_ITEM, new String[]{"item_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        ItemDto item = items.get(i);
+                        statement.setString(1, item.getName());
+                        statement.setString(2, item.getDescription());
+                        statement.setBoolean(3, item.getAvailable());
+                        statement.setLong(4, ownerId);
+                        if (item.getRequestId() != null) {
+                            statement.setLong(5, item.getRequestId());
+                        } else {
+                            statement.setNull(5, Types.BIGINT);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(ItemJdbcRepository::singleKey)
+                .toList();
+    }
+
+    // Имя ключа зависит от СУБД (item_id или ITEM_ID), поэтому берётся единственное значение
+    private static Long singleKey(Map<String, Object> keys) {
+        return ((Number) keys.values().iterator().next()).longValue();
+    }
+}
@@ -1,18 +1,53 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
 
     List<Item> findItemByOwnerId(Long userId);
 
-    List<Item> findByNameContainingIgnoreCaseAndAvailableTrueOrDescriptionContainingIgnoreCaseAndAvailableTrue(String text1, String text2);
+    // Вещь с владельцем и запросом: нужна, когда вещь целиком уходит в BookingDto
+    @EntityGraph(attributePaths = {"owner", "request"})
+    Optional<Item> findWithOwnerById(Long itemId);
 
     List<Item> findAllByRequestId(Long requestId);
 
+    // Блокировка строки вещи: подтверждения броней одной вещи идут строго по очереди
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Item> findLockedById(Long itemId);
+
+    @Query("SELECT i.owner.id FROM Item i WHERE i.id = :itemId")
+    Optional<Long> findOwnerIdById(@Param("itemId") Long itemId);
+
+    // Ответы сразу на набор запросов; владелец и запрос подтягиваются в том же select
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner JOIN FETCH i.request r WHERE r.id IN :requestIds")
+    List<Item> findAllByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
+    // Порция вещей, у которых следующее бронирование уже началось и указатели нужно сдвинуть.
+    // Строки, заблокированные другим экземпляром сервера или подтверждением брони, пропускаются
+    @Query(value = "SELECT i.item_id FROM items AS i WHERE EXISTS (SELECT 1 FROM bookings AS b " +
+            "WHERE b.booking_id = i.next_booking_id AND b.start_time <= :now) " +
+            "ORDER BY i.item_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockIdsWithStartedNextBooking(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Какие из вещей заняты подтверждёнными бронями в окне [start, end)
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.item.id IN :itemIds AND b.status = 'APPROVED' " +
+            "AND b.startTime < :end AND b.endTime > :start")
+    Set<Long> findIdsBookedBetween(@Param("itemIds") Collection<Long> itemIds, @Param("start") LocalDateTime start,
+                                   @Param("end") LocalDateTime end);
+
 
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemSearchRepository {
+
+    // Поиск доступных вещей по названию и описанию, отсортированный по релевантности
+    List<Item> search(String text);
+
+    // Тот же поиск без вещей, занятых подтверждёнными бронями в окне [start, end), одной страницей
+    List<Item> searchFree(String text, LocalDateTime start, LocalDateTime end, int offset, int limit);
+
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+
+    // Postgres: полнотекстовый индекс по search_vector и триграммные индексы для поиска по подстроке
+    private static final String POSTGRES_MATCH = "SELECT i.* FROM items AS i, plainto_tsquery('simple', :text) AS q " +
+            "WHERE i.available = TRUE " +
+            "AND (i.search_vector @@ q OR lower(i.name) LIKE :pattern ESCAPE '\\' OR lower(i.description) LIKE :pattern ESCAPE '\\')";
+    private static final String POSTGRES_ORDER =
+            " ORDER BY ts_rank(i.search_vector, q) DESC, (lower(i.name) LIKE :pattern ESCAPE '\\') DESC, i.item_id";
+
+    // H2 не умеет индексировать поиск по подстроке, поэтому только ранжируем: совпадения в названии выше
+    private static final String DEFAULT_MATCH = "SELECT i.* FROM items AS i " +
+            "WHERE i.available = TRUE " +
+            "AND (lower(i.name) LIKE :pattern ESCAPE '\\' OR lower(i.description) LIKE :pattern ESCAPE '\\')";
+    private static final String DEFAULT_ORDER =
+            " ORDER BY CASE WHEN lower(i.name) LIKE :pattern ESCAPE '\\' THEN 0 ELSE 1 END, i.item_id";
+
+    // Анти-соединение: для каждой найденной вещи - поиск по индексу (item_id, start_time, end_time)
+    // до первой подтверждённой брони, пересекающей окно; вещи без такой брони остаются в выдаче
+    private static final String NOT_BOOKED = " AND NOT EXISTS (SELECT 1 FROM bookings AS b " +
+            "WHERE b.item_id = i.item_id AND b.status = 'APPROVED' AND b.start_time < :end AND b.end_time > :start)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Boolean postgres;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> search(String text) {
+        return textQuery(text, isPostgres() ? POSTGRES_MATCH + POSTGRES_ORDER : DEFAULT_MATCH + DEFAULT_ORDER)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> searchFree(String text, LocalDateTime start, LocalDateTime end, int offset, int limit) {
+        String sql = isPostgres() ? POSTGRES_MATCH + NOT_BOOKED + POSTGRES_ORDER : DEFAULT_MATCH + NOT_BOOKED + DEFAULT_ORDER;
+        return textQuery(text, sql)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private Query textQuery(String text, String sql) {
+        Query query = entityManager.createNativeQuery(sql, Item.class)
+                .setParameter("pattern", "%" + escapeLike(text.toLowerCase(Locale.ROOT)) + "%");
+        if (isPostgres()) {
+            query.setParameter("text", text);
+        }
+        return query;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text) {
+        return itemRepository.search(text);
+    }
+
+    @Override
+    public List<Item> searchFree(String text, LocalDateTime start, LocalDateTime end, int offset, int limit) {
+        return itemRepository.searchFree(text, start, end, offset, limit);
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        // индексы поддерживает сама база данных
+    }
+
+    @Override
+    public void onItemDeleted(Long itemId) {
+        // индексы поддерживает сама база данных
+    }
+}
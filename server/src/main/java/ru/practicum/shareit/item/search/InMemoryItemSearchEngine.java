@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.transaction.TransactionalCaches;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final ItemInvertedIndex index = new ItemInvertedIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        Page<Item> page = itemRepository.findAll(PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id")));
+        page.forEach(this::index);
+        while (page.hasNext()) {
+            page = itemRepository.findAll(page.nextPageable());
+            page.forEach(this::index);
+        }
+        log.info("Поисковый индекс построен, вещей: {}", index.size());
+    }
+
+    @Override
+    public List<Item> search(String text) {
+        long[] ids = index.search(text);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            rank.put(ids[i], i);
+        }
+        return itemRepository.findAllById(Arrays.stream(ids).boxed().toList()).stream()
+                .sorted(Comparator.comparing(item -> rank.get(item.getId())))
+                .toList();
+    }
+
+    // Кандидаты идут из индекса в порядке релевантности; занятость проверяется одним запросом на порцию,
+    // пока не наберётся страница
+    @Override
+    public List<Item> searchFree(String text, LocalDateTime start, LocalDateTime end, int offset, int limit) {
+        long[] ids = index.search(text);
+        List<Long> page = new ArrayList<>(limit);
+        int skipped = 0;
+        for (int from = 0; from < ids.length && page.size() < limit; from += LOAD_PAGE_SIZE) {
+            List<Long> chunk = Arrays.stream(ids, from, Math.min(from + LOAD_PAGE_SIZE, ids.length)).boxed().toList();
+            Set<Long> booked = itemRepository.findIdsBookedBetween(chunk, start, end);
+            for (Long id : chunk) {
+                if (booked.contains(id)) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else if (page.size() < limit) {
+                    page.add(id);
+                }
+            }
+        }
+        if (page.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < page.size(); i++) {
+            rank.put(page.get(i), i);
+        }
+        return itemRepository.findAllById(page).stream()
+                .sorted(Comparator.comparing(item -> rank.get(item.getId())))
+                .toList();
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        long id = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = item.isAvailable();
+        TransactionalCaches.afterCommit(() -> index.put(id, name, description, available));
+    }
+
+    @Override
+    public void onItemDeleted(Long itemId) {
+        TransactionalCaches.afterCommit(() -> index.remove(itemId));
+    }
+
+    private void index(Item item) {
+        index.put(item.getId(), item.getName(), item.getDescription(), item.isAvailable());
+    }
+}
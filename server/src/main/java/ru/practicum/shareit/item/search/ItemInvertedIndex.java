@@ -0,0 +1,209 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Токены индекса - триграммы названия и описания, чтобы сохранить поиск по подстроке.
+// Каждая версия вещи получает новый номер документа, поэтому списки документов только дописываются.
+public class ItemInvertedIndex {
+
+    private static final int GRAM = 3;
+    private static final int MIN_GARBAGE_TO_COMPACT = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> docByItemId = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet available = new BitSet();
+    private long[] itemIds = new long[1024];
+    private String[] names = new String[1024];
+    private String[] descriptions = new String[1024];
+    private int docCount;
+
+    public void put(long itemId, String name, String description, boolean isAvailable) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(itemId);
+            addDoc(itemId, normalize(name), normalize(description), isAvailable);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(itemId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByItemId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Идентификаторы доступных вещей: сначала совпадения в названии, затем в описании
+    public long[] search(String text) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            BitSet candidates = candidates(query);
+            candidates.and(live);
+            candidates.and(available);
+
+            long[] nameHits = new long[candidates.cardinality()];
+            long[] descriptionHits = new long[nameHits.length];
+            int nameCount = 0;
+            int descriptionCount = 0;
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                if (names[doc].contains(query)) {
+                    nameHits[nameCount++] = itemIds[doc];
+                } else if (descriptions[doc].contains(query)) {
+                    descriptionHits[descriptionCount++] = itemIds[doc];
+                }
+            }
+            Arrays.sort(nameHits, 0, nameCount);
+            Arrays.sort(descriptionHits, 0, descriptionCount);
+            long[] result = Arrays.copyOf(nameHits, nameCount + descriptionCount);
+            System.arraycopy(descriptionHits, 0, result, nameCount, descriptionCount);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet candidates(String query) {
+        if (query.length() < GRAM) {
+            BitSet all = new BitSet(docCount);
+            all.set(0, docCount);
+            return all;
+        }
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            PostingList list = postings.get(gram(query, i));
+            if (list == null) {
+                return new BitSet();
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        BitSet result = lists.get(0).toBitSet();
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.and(lists.get(i).toBitSet());
+        }
+        return result;
+    }
+
+    private void addDoc(long itemId, String name, String description, boolean isAvailable) {
+        int doc = docCount++;
+        ensureCapacity(docCount);
+        itemIds[doc] = itemId;
+        names[doc] = name;
+        descriptions[doc] = description;
+        live.set(doc);
+        available.set(doc, isAvailable);
+        docByItemId.put(itemId, doc);
+        indexText(doc, name);
+        indexText(doc, description);
+    }
+
+    private void removeDoc(long itemId) {
+        Integer doc = docByItemId.remove(itemId);
+        if (doc != null) {
+            live.clear(doc);
+            available.clear(doc);
+            names[doc] = "";
+            descriptions[doc] = "";
+        }
+    }
+
+    private void indexText(int doc, String text) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            postings.computeIfAbsent(gram(text, i), key -> new PostingList()).add(doc);
+        }
+    }
+
+    // Удаленные документы остаются в списках до перестроения индекса
+    private void compactIfNeeded() {
+        int garbage = docCount - docByItemId.size();
+        if (garbage < MIN_GARBAGE_TO_COMPACT || garbage < docByItemId.size()) {
+            return;
+        }
+        long[] oldIds = itemIds;
+        String[] oldNames = names;
+        String[] oldDescriptions = descriptions;
+        BitSet oldLive = (BitSet) live.clone();
+        BitSet oldAvailable = (BitSet) available.clone();
+
+        docByItemId.clear();
+        postings.clear();
+        live.clear();
+        available.clear();
+        docCount = 0;
+        itemIds = new long[Math.max(1024, oldLive.cardinality() * 2)];
+        names = new String[itemIds.length];
+        descriptions = new String[itemIds.length];
+        for (int doc = oldLive.nextSetBit(0); doc >= 0; doc = oldLive.nextSetBit(doc + 1)) {
+            addDoc(oldIds[doc], oldNames[doc], oldDescriptions[doc], oldAvailable.get(doc));
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > itemIds.length) {
+            int newLength = Math.max(capacity, itemIds.length * 2);
+            itemIds = Arrays.copyOf(itemIds, newLength);
+            names = Arrays.copyOf(names, newLength);
+            descriptions = Arrays.copyOf(descriptions, newLength);
+        }
+    }
+
+    private static long gram(String text, int from) {
+        return ((long) text.charAt(from) << 32) | ((long) text.charAt(from + 1) << 16) | text.charAt(from + 2);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        BitSet toBitSet() {
+            BitSet bits = new BitSet();
+            for (int i = 0; i < size; i++) {
+                bits.set(docs[i]);
+            }
+            return bits;
+        }
+    }
+}
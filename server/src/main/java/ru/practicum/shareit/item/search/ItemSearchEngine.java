@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    // Доступные вещи, в названии или описании которых встречается текст, в порядке релевантности
+    List<Item> search(String text);
+
+    // Страница тех же результатов без вещей, занятых подтверждёнными бронями в окне [start, end)
+    List<Item> searchFree(String text, LocalDateTime start, LocalDateTime end, int offset, int limit);
+
+    void onItemSaved(Item item);
+
+    void onItemDeleted(Long itemId);
+
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.transaction.TransactionalCaches;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// Занятость считается по подтверждённым броням: ожидающие и отклонённые время не занимают.
+// Брони склеиваются в непересекающиеся отрезки; в кэше до следующего изменения вещи лежит только будущее -
+// брони, которые ещё не закончились. Окно, начинающееся в прошлом, читается из базы в своих границах
+// и не кэшируется. Ответ на окно - бинарный поиск и линейный проход по отрезкам.
+@Slf4j
+@Service
+public class ItemAvailabilityServiceImpl implements ItemAvailabilityService {
+
+    public static final String ITEM_AVAILABILITY = "itemAvailability";
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final Cache timelines;
+
+    public ItemAvailabilityServiceImpl(ItemRepository itemRepository, BookingRepository bookingRepository,
+                                       CacheManager cacheManager) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.timelines = Objects.requireNonNull(cacheManager.getCache(ITEM_AVAILABILITY),
+                "Не настроен кэш " + ITEM_AVAILABILITY);
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new ValidationException("Начало окна должно быть раньше конца: from=" + from + ", to=" + to);
+        }
+        List<Span> timeline = from.isBefore(LocalDateTime.now()) ? window(itemId, from, to) : timeline(itemId);
+
+        List<ItemAvailabilityDto.Interval> busy = new ArrayList<>();
+        List<ItemAvailabilityDto.Interval> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (int i = firstEndingAfter(timeline, from); i < timeline.size() && timeline.get(i).start().isBefore(to); i++) {
+            Span span = timeline.get(i);
+            LocalDateTime busyStart = span.start().isAfter(from) ? span.start() : from;
+            LocalDateTime busyEnd = span.end().isBefore(to) ? span.end() : to;
+            if (cursor.isBefore(busyStart)) {
+                free.add(new ItemAvailabilityDto.Interval(cursor, busyStart));
+            }
+            busy.add(new ItemAvailabilityDto.Interval(busyStart, busyEnd));
+            cursor = busyEnd;
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new ItemAvailabilityDto.Interval(cursor, to));
+        }
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busy)
+                .free(free)
+                .build();
+    }
+
+    // Сбрасываем после коммита, как и карточку: подтверждение или отмена брони публикуют это событие
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        timelines.evict(event.itemId());
+        log.debug("Занятость вещи с id: {} удалена из кэша", event.itemId());
+    }
+
+    private List<Span> timeline(Long itemId) {
+        return TransactionalCaches.get(timelines, itemId, () -> {
+            requireItem(itemId);
+            return merge(bookingRepository.findApprovedPeriods(itemId, LocalDateTime.now()));
+        });
+    }
+
+    private List<Span> window(Long itemId, LocalDateTime from, LocalDateTime to) {
+        requireItem(itemId);
+        return merge(bookingRepository.findApprovedPeriodsOrderByStart(itemId, from, to));
+    }
+
+    private void requireItem(Long itemId) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Сущность с id:" + itemId + " не найдена");
+        }
+    }
+
+    // Подтверждённые брони одной вещи не пересекаются, но старые данные могли - склейка их сливает,
+    // заодно объединяя брони встык в один занятый отрезок. Периоды приходят по порядку начала
+    private static List<Span> merge(List<BookingPeriod> periods) {
+        List<Span> merged = new ArrayList<>();
+        for (BookingPeriod period : periods) {
+            Span last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && !period.start().isAfter(last.end())) {
+                if (period.end().isAfter(last.end())) {
+                    merged.set(merged.size() - 1, new Span(last.start(), period.end()));
+                }
+            } else {
+                merged.add(new Span(period.start(), period.end()));
+            }
+        }
+        return List.copyOf(merged);
+    }
+
+    // Отрезки не пересекаются, поэтому их концы тоже отсортированы
+    private static int firstEndingAfter(List<Span> timeline, LocalDateTime moment) {
+        int low = 0;
+        int high = timeline.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeline.get(mid).end().isAfter(moment)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    record Span(LocalDateTime start, LocalDateTime end) {
+    }
+}
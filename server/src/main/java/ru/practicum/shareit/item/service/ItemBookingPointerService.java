@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBookingPointerService {
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Пересчет указателей после изменения статуса бронирования вещи
+    @Transactional
+    public void refresh(Item item) {
+        item.setLastBookingId(bookingRepository.findLastFinishedBookingByItem(item).map(Booking::getId).orElse(null));
+        item.setNextBookingId(bookingRepository.findNextBookingByItem(item).map(Booking::getId).orElse(null));
+        itemRepository.save(item);
+    }
+
+    // Пересчет указателей сразу для набора вещей фиксированным числом запросов
+    @Transactional
+    public void refresh(Collection<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> lastBookings = bookingIdsByItemId(bookingRepository.findLastFinishedBookingsByItems(items));
+        Map<Long, Long> nextBookings = bookingIdsByItemId(bookingRepository.findNextBookingsByItems(items));
+        for (Item item : items) {
+            item.setLastBookingId(lastBookings.get(item.getId()));
+            item.setNextBookingId(nextBookings.get(item.getId()));
+        }
+        itemRepository.saveAll(items);
+    }
+
+    // Сдвиг указателей у порции вещей, чье следующее бронирование уже началось; возвращает размер порции
+    @Transactional
+    public int rollOverStarted(LocalDateTime now, int limit) {
+        List<Long> ids = itemRepository.lockIdsWithStartedNextBooking(now, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Item> items = itemRepository.findAllById(ids);
+        refresh(items);
+        items.forEach(item -> eventPublisher.publishEvent(new ItemChangedEvent(item.getId())));
+        log.info("Обновлены указатели бронирований у {} вещей", items.size());
+        return ids.size();
+    }
+
+    private static Map<Long, Long> bookingIdsByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Booking::getId, Math::min));
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.item.service;
+
+// Изменилось то, что показывается в карточке вещи: поля, комментарии или бронирования
+public record ItemChangedEvent(Long itemId) {
+}
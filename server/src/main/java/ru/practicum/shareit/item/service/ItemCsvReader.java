@@ -0,0 +1,149 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.batch.BatchImportRun;
+import ru.practicum.shareit.batch.BatchImportRun.RowFormatException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Построчное чтение каталога в CSV: первая строка - заголовок, порядок колонок произвольный.
+// Поддерживаются значения в кавычках с запятыми и удвоенными кавычками, перевод строки внутри значения - нет.
+class ItemCsvReader implements BatchImportRun.RowSource<ItemDto> {
+
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String AVAILABLE = "available";
+    private static final String REQUEST_ID = "requestid";
+
+    private final BufferedReader reader;
+    private final int columns;
+    private final int nameColumn;
+    private final int descriptionColumn;
+    private final int availableColumn;
+    private final int requestIdColumn;
+
+    ItemCsvReader(InputStream body) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new ValidationException("CSV не содержит заголовка");
+        }
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        List<String> header;
+        try {
+            header = parseLine(headerLine).stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+        } catch (RowFormatException e) {
+            throw new ValidationException("Некорректный заголовок CSV: " + e.getMessage());
+        }
+        this.columns = header.size();
+        this.nameColumn = requiredColumn(header, NAME);
+        this.descriptionColumn = requiredColumn(header, DESCRIPTION);
+        this.availableColumn = requiredColumn(header, AVAILABLE);
+        this.requestIdColumn = header.indexOf(REQUEST_ID);
+    }
+
+    // Следующая непустая строка данных или null в конце файла
+    @Override
+    public ItemDto next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        List<String> values = parseLine(line);
+        if (values.size() != columns) {
+            throw new RowFormatException("ожидалось колонок: " + columns + ", получено: " + values.size());
+        }
+        return ItemDto.builder()
+                .name(values.get(nameColumn))
+                .description(values.get(descriptionColumn))
+                .available(parseAvailable(values.get(availableColumn)))
+                .requestId(requestIdColumn < 0 ? null : parseRequestId(values.get(requestIdColumn)))
+                .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int requiredColumn(List<String> header, String column) {
+        int index = header.indexOf(column);
+        if (index < 0) {
+            throw new ValidationException("В заголовке CSV нет колонки " + column);
+        }
+        return index;
+    }
+
+    private static Boolean parseAvailable(String value) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        if (trimmed.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (trimmed.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new RowFormatException("available должно быть true или false");
+    }
+
+    private static Long parseRequestId(String value) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(trimmed);
+        } catch (NumberFormatException e) {
+            throw new RowFormatException("requestId должен быть числом");
+        }
+    }
+
+    private static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new RowFormatException("незакрытая кавычка");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.transaction.TransactionalCaches;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class ItemDetailsCache {
+
+    public static final String ITEM_DETAILS = "itemDetails";
+    public static final String ITEM_OWNERS = "itemOwners";
+
+    private final Cache details;
+    private final Cache owners;
+
+    public ItemDetailsCache(CacheManager cacheManager) {
+        this.details = Objects.requireNonNull(cacheManager.getCache(ITEM_DETAILS), "Не настроен кэш " + ITEM_DETAILS);
+        this.owners = Objects.requireNonNull(cacheManager.getCache(ITEM_OWNERS), "Не настроен кэш " + ITEM_OWNERS);
+    }
+
+    // Владелец вещи не меняется, поэтому хранится отдельно и позволяет выбрать вид карточки без запроса
+    public Long getOwnerId(Long itemId, Supplier<Long> loader) {
+        Long ownerId = owners.get(itemId, Long.class);
+        if (ownerId == null) {
+            ownerId = loader.get();
+            owners.put(itemId, ownerId);
+        }
+        return ownerId;
+    }
+
+    // Карточка собирается один раз на ключ, параллельные промахи ждут ту же загрузку
+    public ItemDto get(Long itemId, boolean ownerView, Callable<ItemDto> loader) {
+        return TransactionalCaches.get(details, new Key(itemId, ownerView), loader);
+    }
+
+    // Сбрасываем после коммита, чтобы параллельное чтение не закэшировало старое состояние
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        details.evict(new Key(event.itemId(), true));
+        details.evict(new Key(event.itemId(), false));
+        owners.evict(event.itemId());
+        log.debug("Карточка вещи с id: {} удалена из кэша", event.itemId());
+    }
+
+    record Key(Long itemId, boolean ownerView) {
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import java.io.InputStream;
+
+public interface ItemImportService {
+
+    // JSON-массив объектов ItemDto
+    ItemImportResult importJson(Long userId, InputStream body);
+
+    // CSV с заголовком: name,description,available[,requestId]
+    ItemImportResult importCsv(Long userId, InputStream body);
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.batch.BatchImportRun;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJdbcRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+// Каталог владельца из JSON, NDJSON или CSV. Владелец проверяется один раз на весь импорт,
+// ссылки на запросы - одним запросом на пачку. Ход импорта общий - BatchImportRun
+@Slf4j
+@Service
+public class ItemImportServiceImpl implements ItemImportService {
+
+    private static final int NAME_MAX_LENGTH = 255;
+    private static final int DESCRIPTION_MAX_LENGTH = 2000;
+
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemJdbcRepository itemJdbcRepository;
+    private final ItemSearchEngine searchEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ItemImportServiceImpl(ObjectMapper objectMapper, UserRepository userRepository,
+                                 ItemRequestRepository itemRequestRepository, ItemJdbcRepository itemJdbcRepository,
+                                 ItemSearchEngine searchEngine, TransactionTemplate transactionTemplate,
+                                 @Value("${shareit.items.import.batch-size:1000}") int batchSize) {
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemJdbcRepository = itemJdbcRepository;
+        this.searchEngine = searchEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ItemImportResult importJson(Long userId, InputStream body) {
+        ItemWriter writer = new ItemWriter(userId);
+        return writer.finish(new BatchImportRun<>(batchSize, writer)
+                .readJson(objectMapper.readerFor(ItemDto.class), body));
+    }
+
+    @Override
+    public ItemImportResult importCsv(Long userId, InputStream body) {
+        ItemWriter writer = new ItemWriter(userId);
+        BatchImportRun<ItemDto> run = new BatchImportRun<>(batchSize, writer);
+        try {
+            run.read(new ItemCsvReader(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.finish(run);
+    }
+
+    private class ItemWriter implements BatchImportRun.Writer<ItemDto> {
+
+        private final Long ownerId;
+        private final List<ItemImportResult.Created> created = new ArrayList<>();
+
+        ItemWriter(Long ownerId) {
+            if (!userRepository.existsById(ownerId)) {
+                throw new NotFoundException("Пользователь с id:" + ownerId + " не найден");
+            }
+            this.ownerId = ownerId;
+        }
+
+        @Override
+        public String check(BatchImportRun.Row<ItemDto> row) {
+            return validate(row.value());
+        }
+
+        @Override
+        public void write(List<BatchImportRun.Row<ItemDto>> batch, BatchImportRun<ItemDto> run) {
+            List<BatchImportRun.Row<ItemDto>> resolved = dropUnknownRequests(batch, run);
+            if (resolved.isEmpty()) {
+                return;
+            }
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> inserted = itemJdbcRepository.insertAll(ownerId,
+                        resolved.stream().map(BatchImportRun.Row::value).toList());
+                for (int i = 0; i < resolved.size(); i++) {
+                    searchEngine.onItemSaved(toItem(inserted.get(i), resolved.get(i).value()));
+                }
+                return inserted;
+            });
+            for (int i = 0; i < resolved.size(); i++) {
+                created.add(new ItemImportResult.Created(resolved.get(i).number(), ids.get(i)));
+            }
+        }
+
+        ItemImportResult finish(BatchImportRun<ItemDto> run) {
+            List<ItemImportResult.RowError> errors = run.finish().stream()
+                    .map(rejection -> new ItemImportResult.RowError(rejection.row(), rejection.reason()))
+                    .toList();
+            log.info("Импорт вещей владельца {}: прочитано {}, добавлено {}, отклонено {}",
+                    ownerId, run.received(), created.size(), errors.size());
+            return ItemImportResult.builder()
+                    .received(run.received())
+                    .created(created)
+                    .errors(errors)
+                    .build();
+        }
+
+        // Все запросы пачки проверяются одним обращением к БД
+        private List<BatchImportRun.Row<ItemDto>> dropUnknownRequests(List<BatchImportRun.Row<ItemDto>> rows,
+                                                                     BatchImportRun<ItemDto> run) {
+            Set<Long> requestIds = new HashSet<>();
+            rows.stream().map(row -> row.value().getRequestId()).filter(Objects::nonNull).forEach(requestIds::add);
+            Set<Long> existing = requestIds.isEmpty()
+                    ? Set.of() : new HashSet<>(itemRequestRepository.findExistingIds(requestIds));
+            List<BatchImportRun.Row<ItemDto>> resolved = new ArrayList<>(rows.size());
+            for (BatchImportRun.Row<ItemDto> row : rows) {
+                Long requestId = row.value().getRequestId();
+                if (requestId != null && !existing.contains(requestId)) {
+                    run.reject(row.number(), row.value(), "Запроса с id:" + requestId + " не существует");
+                } else {
+                    resolved.add(row);
+                }
+            }
+            return resolved;
+        }
+    }
+
+    private static String validate(ItemDto item) {
+        if (item.getName() == null || item.getName().isBlank()) {
+            return "имя не может быть пустым";
+        }
+        if (item.getName().length() > NAME_MAX_LENGTH) {
+            return "имя длиннее " + NAME_MAX_LENGTH + " символов";
+        }
+        if (item.getDescription() == null) {
+            return "описание не может быть пустым";
+        }
+        if (item.getDescription().length() > DESCRIPTION_MAX_LENGTH) {
+            return "описание длиннее " + DESCRIPTION_MAX_LENGTH + " символов";
+        }
+        if (item.getAvailable() == null) {
+            return "доступность должна быть указана";
+        }
+        return null;
+    }
+
+    // Поисковому индексу нужны только id, тексты и доступность
+    private static Item toItem(Long id, ItemDto item) {
+        return Item.builder()
+                .id(id)
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .build();
+    }
+}
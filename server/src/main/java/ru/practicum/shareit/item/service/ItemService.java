@@ -7,8 +7,10 @@ import ru.practicum.shareit.item.dto.RespondItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public interface ItemService {
@@ -25,8 +27,13 @@ public interface ItemService {
 
     Collection<ItemDto> search(String text);
 
+    // Поиск вещей, свободных всё окно [start, end): from - смещение, size - размер страницы
+    Collection<ItemDto> searchFree(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
     CommentDto addComment(Long userId, CommentDto commentDto);
 
     List<RespondItemRequest> getByRequestId(Long requestId);
 
+    Map<Long, List<RespondItemRequest>> getByRequestIds(Collection<Long> requestIds);
+
 }
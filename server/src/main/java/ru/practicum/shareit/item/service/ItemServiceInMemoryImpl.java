@@ -5,6 +5,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.item.dto.RespondItemRequest;
 import ru.practicum.shareit.mappers.BookingMapper;
@@ -21,15 +22,24 @@ import ru.practicum.shareit.item.dto.UpdateItemRequest;
 import ru.practicum.shareit.mappers.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.transaction.RetryingTransactionExecutor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -44,6 +54,10 @@ public class ItemServiceInMemoryImpl implements ItemService {
     private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine searchEngine;
+    private final ItemDetailsCache detailsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RetryingTransactionExecutor transactionExecutor;
 
 
     @Transactional
@@ -59,43 +73,63 @@ public class ItemServiceInMemoryImpl implements ItemService {
                     .orElseThrow(() -> new EntityNotFoundException("Запроса на данный предмет не существует"));
         }
 
-        item = itemRepository.save(item);
         item.setRequest(itemRequest);
+        item = itemRepository.save(item);
+        searchEngine.onItemSaved(item);
         log.info("Создание вещи с id: {}", item.getId());
-        return mapToDto(item);
+        // У новой вещи ещё нет ни комментариев, ни бронирований - запрашивать их незачем
+        ItemDto created = mapper.mapToItemDto(item);
+        created.setComments(List.of());
+        return created;
     }
 
     @Transactional
     @Override
     public void deleteItem(Long itemId) {
         itemRepository.deleteById(itemId);
+        searchEngine.onItemDeleted(itemId);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
     }
 
-    @Transactional
     @Override
     public ItemDto updateItem(Long itemId, Long userId, UpdateItemRequest updatedItem) {
+        // Указатели бронирований пишутся в ту же строку: правка поверх устаревшей версии повторяется
+        return transactionExecutor.execute(() -> applyUpdate(itemId, userId, updatedItem));
+    }
+
+    private ItemDto applyUpdate(Long itemId, Long userId, UpdateItemRequest updatedItem) {
         userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь с id:" + userId + " не найден"));
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Сущность с id:" + itemId + " не найдена"));
         item = updateItemFields(item, updatedItem);
         item = itemRepository.save(item);
+        searchEngine.onItemSaved(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
         log.info("Обновление вещи с id: {}", itemId);
         return mapToDto(item);
     }
 
     @Override
     public Collection<ItemDto> getAllItems(Long userId) {
-        return itemRepository.findItemByOwnerId(userId).stream().map(this::mapToDto).toList();
+        return mapToDtos(itemRepository.findItemByOwnerId(userId));
     }
 
     @Override
     public ItemDto getItemById(Long userId, Long itemId) {
-        Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Сущность с id:" + itemId + " не найдена"));
+        Long ownerId = detailsCache.getOwnerId(itemId, () -> itemRepository.findOwnerIdById(itemId)
+                .orElseThrow(() -> new NotFoundException("Сущность с id:" + itemId + " не найдена")));
         userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь с id:" + userId + " не найден"));
+        boolean ownerView = ownerId.equals(userId);
+        return detailsCache.get(itemId, ownerView, () -> loadItemDetails(itemId, ownerView));
+    }
+
+    // Сборка карточки при промахе кэша: владельцу с бронированиями, остальным только с комментариями
+    private ItemDto loadItemDetails(Long itemId, boolean ownerView) {
+        Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Сущность с id:" + itemId + " не найдена"));
+        if (ownerView) {
+            return mapToDto(item);
+        }
         ItemDto itemDto = mapper.mapToItemDto(item);
         itemDto.setComments(commentRepository.findAllByItem(item).stream().map(commentMapper::mapToDto).toList());
-        if (item.getOwner().getId().equals(userId)) {
-            itemDto = mapToDto(item);
-        }
         return itemDto;
     }
 
@@ -104,9 +138,21 @@ public class ItemServiceInMemoryImpl implements ItemService {
         if (text == null || text.isBlank()) {
             return List.of();
         }
-        return itemRepository.findByNameContainingIgnoreCaseAndAvailableTrueOrDescriptionContainingIgnoreCaseAndAvailableTrue(text, text).stream()
-                .map(this::mapToDto)
-                .toList();
+        return mapToDtos(searchEngine.search(text));
+    }
+
+    @Override
+    public Collection<ItemDto> searchFree(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new ValidationException("Начало окна должно быть раньше конца: start=" + start + ", end=" + end);
+        }
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Некорректная страница: from=" + from + ", size=" + size);
+        }
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return mapToDtos(searchEngine.searchFree(text, start, end, from, size));
     }
 
     @Transactional
@@ -126,26 +172,100 @@ public class ItemServiceInMemoryImpl implements ItemService {
         commentDto = commentMapper.mapToDto(comment);
         commentDto.setItemId(comment.getItem().getId());
         commentDto.setAuthorName(comment.getAuthor().getName());
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
         log.info("Добавление комментария с id: {}", commentDto.getId());
         return commentDto;
     }
 
     @Override
     public List<RespondItemRequest> getByRequestId(Long requestId) {
-        System.out.println(itemRepository.findAllByRequestId(requestId));
         return itemRepository.findAllByRequestId(requestId).stream().map(mapper::mapToRespond).toList();
     }
 
+    @Override
+    public Map<Long, List<RespondItemRequest>> getByRequestIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Map.of();
+        }
+        return itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(mapper::mapToRespond, Collectors.toList())));
+    }
+
     public ItemDto mapToDto(Item item) {
-        ItemDto itemDto = mapper.mapToItemDto(item);
-        itemDto.setComments(commentRepository.findAllByItem(item).stream().map(commentMapper::mapToDto).toList());
-        Optional<Booking> lastBooking = bookingRepository.findLastFinishedBookingByItem(item);
-        Optional<Booking> nextBooking = bookingRepository.findNextBookingByItem(item);
+        return mapToDtos(List.of(item)).get(0);
+    }
 
-        lastBooking.ifPresent(b -> itemDto.setLastBooking(bookingMapper.mapToDto(b)));
-        nextBooking.ifPresent(b -> itemDto.setNextBooking(bookingMapper.mapToDto(b)));
+    // Комментарии загружаются одним запросом на весь набор, бронирования - по денормализованным указателям
+    public List<ItemDto> mapToDtos(List<Item> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIn(items).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::mapToDto, Collectors.toList())));
+        Map<Long, Booking> bookings = findBookings(items.stream()
+                .flatMap(item -> Stream.of(item.getLastBookingId(), item.getNextBookingId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
 
-        return itemDto;
+        Map<Long, Long> lastBookingIds = new HashMap<>();
+        Map<Long, Long> nextBookingIds = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        List<Item> staleItems = new ArrayList<>();
+        for (Item item : items) {
+            lastBookingIds.put(item.getId(), item.getLastBookingId());
+            nextBookingIds.put(item.getId(), item.getNextBookingId());
+            if (hasStarted(bookings.get(item.getNextBookingId()), now)) {
+                staleItems.add(item);
+            }
+        }
+        if (!staleItems.isEmpty()) {
+            // Сдвигает и сохраняет указатели только планировщик (rollOverStarted): чтение лишь вычисляет
+            // актуальные брони и ничего не пишет, поэтому не конфликтует с ним и с правками вещи
+            Map<Long, Long> actualLast = bookingIdsByItemId(bookingRepository.findLastFinishedBookingsByItems(staleItems));
+            Map<Long, Long> actualNext = bookingIdsByItemId(bookingRepository.findNextBookingsByItems(staleItems));
+            for (Item item : staleItems) {
+                lastBookingIds.put(item.getId(), actualLast.get(item.getId()));
+                nextBookingIds.put(item.getId(), actualNext.get(item.getId()));
+            }
+            Set<Long> missing = Stream.concat(actualLast.values().stream(), actualNext.values().stream())
+                    .filter(id -> !bookings.containsKey(id))
+                    .collect(Collectors.toSet());
+            bookings.putAll(findBookings(missing));
+        }
+
+        return items.stream().map(item -> {
+            ItemDto itemDto = mapper.mapToItemDto(item);
+            itemDto.setComments(comments.getOrDefault(item.getId(), List.of()));
+            Booking lastBooking = bookings.get(lastBookingIds.get(item.getId()));
+            Booking nextBooking = bookings.get(nextBookingIds.get(item.getId()));
+            if (lastBooking != null) {
+                itemDto.setLastBooking(bookingMapper.mapToDto(lastBooking));
+            }
+            if (nextBooking != null) {
+                itemDto.setNextBooking(bookingMapper.mapToDto(nextBooking));
+            }
+            return itemDto;
+        }).toList();
+    }
+
+    private Map<Long, Booking> findBookings(Set<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return bookingRepository.findDetailedByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+    }
+
+    private static Map<Long, Long> bookingIdsByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Booking::getId, Math::min));
+    }
+
+    // Следующее бронирование уже началось, а указатели еще не сдвинуты планировщиком
+    private static boolean hasStarted(Booking nextBooking, LocalDateTime now) {
+        return nextBooking != null && !nextBooking.getStartTime().isAfter(now);
     }
 
     public static Item updateItemFields(Item item, UpdateItemRequest updateItemRequest) {
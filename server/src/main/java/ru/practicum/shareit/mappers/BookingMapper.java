@@ -5,8 +5,10 @@ import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
@@ -17,6 +19,14 @@ public interface BookingMapper {
     @Mapping(target = "end", source = "endTime")
     BookingDto mapToDto(Booking booking);
 
+    @Mapping(target = "start", source = "startTime")
+    @Mapping(target = "end", source = "endTime")
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    BookingShortDto mapToShortDto(BookingView booking);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "startTime", source = "request.start")
     @Mapping(target = "endTime", source = "request.end")
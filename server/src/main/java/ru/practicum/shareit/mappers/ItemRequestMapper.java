@@ -16,5 +16,10 @@ public interface ItemRequestMapper {
     @Mapping(target = "created",source = "createdTime")
     ItemRequestDto mapToDto(ItemRequest itemRequest);
 
+    // Без обхода ленивой коллекции items: ответы подставляются отдельным запросом
+    @Mapping(target = "created", source = "createdTime")
+    @Mapping(target = "items", ignore = true)
+    ItemRequestDto mapToShortDto(ItemRequest itemRequest);
+
 
 }
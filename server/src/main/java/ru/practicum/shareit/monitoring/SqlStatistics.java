@@ -0,0 +1,50 @@
+package ru.practicum.shareit.monitoring;
+
+// Счётчики SQL текущего HTTP-запроса. Живут в потоке запроса между open() и close();
+// запросы к базе вне этого окна (планировщик, миграции) не учитываются
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long jdbcNanos;
+
+    private SqlStatistics() {
+    }
+
+    static SqlStatistics open() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Оборачивает пул соединений в datasource-proxy, чтобы считать и JPA, и JdbcTemplate-запросы.
+// StatementInspector Hibernate видел бы только JPA и не знал бы ни времени, ни числа строк
+@Component
+public class SqlStatisticsDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            SqlStatisticsListener listener = new SqlStatisticsListener();
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(listener)
+                    .methodListener(listener)
+                    .proxyResultSet()
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Стоимость каждого HTTP-запроса в SQL: операторы, строки и время в JDBC.
+// Метрики shareit.sql.* размечены методом и шаблоном пути (/items/{itemId}), а не самим путём,
+// чтобы число рядов не росло с числом вещей. Запрос дороже порогов пишется в лог предупреждением
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final long warnStatements;
+    private final long warnRows;
+    private final Duration warnJdbcTime;
+
+    // Без реестра метрик (срезы @WebMvcTest) счётчики попадают только в заголовки и лог
+    public SqlStatisticsFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                               @Value("${shareit.sql.warn.statements:20}") long warnStatements,
+                               @Value("${shareit.sql.warn.rows:5000}") long warnRows,
+                               @Value("${shareit.sql.warn.jdbc-time:PT0.5S}") Duration warnJdbcTime) {
+        this.meterRegistry = meterRegistry.getIfAvailable();
+        this.warnStatements = warnStatements;
+        this.warnRows = warnRows;
+        this.warnJdbcTime = warnJdbcTime;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatistics.close();
+            record(request, response, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        if (meterRegistry != null) {
+            Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+            Timer.builder("shareit.sql.time")
+                    .description("Время в JDBC за HTTP-запрос")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(statistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("shareit.sql.statements")
+                    .description("SQL-операторов за HTTP-запрос")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(statistics.getStatements());
+            DistributionSummary.builder("shareit.sql.rows")
+                    .description("Прочитанных строк за HTTP-запрос")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(statistics.getRows());
+        }
+
+        if (statistics.getStatements() > warnStatements || statistics.getRows() > warnRows
+                || statistics.getJdbcNanos() > warnJdbcTime.toNanos()) {
+            log.warn("Дорогой по SQL запрос: method={} uri={} path={} status={} statements={} rows={} jdbcTimeMs={}",
+                    request.getMethod(), uri, request.getRequestURI(), response.getStatus(), statistics.getStatements(),
+                    statistics.getRows(), TimeUnit.NANOSECONDS.toMillis(statistics.getJdbcNanos()));
+        }
+    }
+}
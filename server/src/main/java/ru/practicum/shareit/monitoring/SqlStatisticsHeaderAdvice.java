@@ -0,0 +1,43 @@
+package ru.practicum.shareit.monitoring;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+// Вне prod счётчики SQL видны прямо в ответе: лишние запросы (N+1) заметны в любом клиенте.
+// Заголовки ставятся перед записью тела, когда обработчик уже отработал, а ответ ещё не отправлен
+@Profile("!prod")
+@RestControllerAdvice
+public class SqlStatisticsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            HttpHeaders headers = response.getHeaders();
+            headers.set(STATEMENTS_HEADER, Long.toString(statistics.getStatements()));
+            headers.set(ROWS_HEADER, Long.toString(statistics.getRows()));
+            headers.set(TIME_HEADER, String.format(Locale.ROOT, "%.3f", statistics.getJdbcNanos() / 1e6));
+        }
+        return body;
+    }
+}
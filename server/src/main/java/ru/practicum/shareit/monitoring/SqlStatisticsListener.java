@@ -0,0 +1,49 @@
+package ru.practicum.shareit.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+// Слушатель datasource-proxy: одно выполнение (в том числе пачка batch) - один оператор,
+// строка - каждый успешный ResultSet.next(), время - от вызова execute до возврата из драйвера
+class SqlStatisticsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String STARTED_AT = SqlStatisticsListener.class.getName() + ".startedAt";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatistics.current() != null) {
+            execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatistics.current();
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        if (statistics != null && startedAt != null) {
+            statistics.statementExecuted(System.nanoTime() - startedAt);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics != null) {
+                statistics.rowFetched();
+            }
+        }
+    }
+}
@@ -2,7 +2,10 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -32,9 +35,20 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public List<ItemRequestDto> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                               @RequestParam(name = "size", defaultValue = "10") Integer size) {
         log.info("GET запрос на получение списка запросов, созданных другими пользователями.");
-        return itemRequestService.getAllRequests();
+        return itemRequestService.getAllRequests(from, size);
+    }
+
+    // Вся таблица запросов одним JSON-массивом: строки пишутся в ответ по мере чтения курсора
+    @GetMapping("/all/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("GET запрос на потоковую выгрузку всех запросов, userId: {}", userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(itemRequestService::streamAllRequests);
     }
 
     @GetMapping
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.request.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.RespondItemRequest;
+import ru.practicum.shareit.request.ItemRequest;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+@Repository
+@RequiredArgsConstructor
+public class ItemRequestJdbcRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    // Ответы идут подряд за своим запросом: request_id замыкает сортировку
+    private static final String SELECT_ALL_WITH_ITEMS = "SELECT r.request_id, r.text, r.requestor_id, r.created_time, " +
+            "i.item_id, i.name, i.owner_id FROM requests AS r " +
+            "LEFT JOIN items AS i ON i.request_id = r.request_id " +
+            "ORDER BY r.created_time DESC, r.request_id DESC, i.item_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Читает запросы курсором и отдаёт их по одному вместе с ответами, не накапливая всю таблицу в памяти.
+    // Курсор на PostgreSQL работает только внутри транзакции, её открывает вызывающий сервис.
+    public void streamAllWithItems(BiConsumer<ItemRequest, List<RespondItemRequest>> action) {
+        GroupingHandler handler = new GroupingHandler(action);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ALL_WITH_ITEMS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, handler);
+        handler.flush();
+    }
+
+    private static class GroupingHandler implements RowCallbackHandler {
+
+        private final BiConsumer<ItemRequest, List<RespondItemRequest>> action;
+        private ItemRequest current;
+        private List<RespondItemRequest> items;
+
+        GroupingHandler(BiConsumer<ItemRequest, List<RespondItemRequest>> action) {
+            this.action = action;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long requestId = rs.getLong("request_id");
+            if (current == null || current.getId() != requestId) {
+                flush();
+                current = ItemRequest.builder()
+                        .id(requestId)
+                        .description(rs.getString("text"))
+                        .requestorId(rs.getObject("requestor_id", Long.class))
+                        .createdTime(rs.getTimestamp("created_time").toLocalDateTime())
+                        .build();
+                items = new ArrayList<>();
+            }
+            Long itemId = rs.getObject("item_id", Long.class);
+            if (itemId != null) {
+                RespondItemRequest item = new RespondItemRequest();
+                item.setId(itemId);
+                item.setName(rs.getString("name"));
+                item.setOwnerId(rs.getObject("owner_id", Long.class));
+                items.add(item);
+            }
+        }
+
+        void flush() {
+            if (current != null) {
+                action.accept(current, items);
+                current = null;
+            }
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest,Long> {
 
     List<ItemRequest> findAllByRequestorId(Long requestorId);
 
+    Window<ItemRequest> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
 }
@@ -3,13 +3,17 @@ package ru.practicum.shareit.request.service;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ItemRequestService {
 
     ItemRequestDto addNewRequest(Long userId, NewItemRequestDto itemRequestDto);
 
-    List<ItemRequestDto> getAllRequests();
+    List<ItemRequestDto> getAllRequests(Integer from, Integer size);
+
+    void streamAllRequests(OutputStream out) throws IOException;
 
     ItemRequestDto getById(Long requestId);
 
@@ -1,29 +1,46 @@
 package ru.practicum.shareit.request.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.RespondItemRequest;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.mappers.ItemRequestMapper;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
+import ru.practicum.shareit.request.repository.ItemRequestJdbcRepository;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 
 @Service
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdTime", "id");
+
     private final UserRepository userRepository;
     private final ItemRequestMapper mapper;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemService itemService;
+    private final ItemRequestJdbcRepository itemRequestJdbcRepository;
+    private final ObjectMapper objectMapper;
 
     @Override
     public ItemRequestDto addNewRequest(Long userId, NewItemRequestDto itemRequestDto) {
@@ -35,22 +52,57 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDto> getAllRequests() {
-        return itemRequestRepository.findAll().stream().map(mapper::mapToDto).toList();
+    public List<ItemRequestDto> getAllRequests(Integer from, Integer size) {
+        if (from == null || from < 0 || size == null || size <= 0) {
+            throw new ValidationException("Параметр from не может быть отрицательным, size должен быть положительным");
+        }
+        ScrollPosition position = from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+        List<ItemRequestDto> requests = itemRequestRepository.findAllBy(position, Limit.of(size), NEWEST_FIRST).stream()
+                .map(mapper::mapToShortDto)
+                .toList();
+        return withItems(requests);
+    }
+
+    @Transactional
+    @Override
+    public void streamAllRequests(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            itemRequestJdbcRepository.streamAllWithItems((request, items) -> {
+                ItemRequestDto dto = mapper.mapToShortDto(request);
+                dto.setItems(items);
+                try {
+                    objectMapper.writeValue(generator, dto);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
     @Override
     public ItemRequestDto getById(Long requestId) {
-        ItemRequestDto itemRequestDto = mapper.mapToDto(itemRequestRepository.findById(requestId).orElseThrow(() -> new NotFoundException(("Запрос с id:" + requestId + " не найден"))));
+        ItemRequestDto itemRequestDto = mapper.mapToShortDto(itemRequestRepository.findById(requestId).orElseThrow(() -> new NotFoundException(("Запрос с id:" + requestId + " не найден"))));
         itemRequestDto.setItems(itemService.getByRequestId(requestId));
         return itemRequestDto;
     }
 
     @Override
     public List<ItemRequestDto> getByRequestorId(Long requestorId) {
-        List<ItemRequestDto> requests = itemRequestRepository.findAllByRequestorId(requestorId).stream().map(mapper::mapToDto).toList();
+        List<ItemRequestDto> requests = itemRequestRepository.findAllByRequestorId(requestorId).stream().map(mapper::mapToShortDto).toList();
+        return withItems(requests);
+    }
+
+    // Ответы на весь набор запросов загружаются одним запросом и раскладываются по request_id
+    private List<ItemRequestDto> withItems(List<ItemRequestDto> requests) {
+        Map<Long, List<RespondItemRequest>> itemsByRequest = itemService.getByRequestIds(
+                requests.stream().map(ItemRequestDto::getId).toList());
         requests.forEach(request ->
-                request.setItems(itemService.getByRequestId(request.getId()))
+                request.setItems(itemsByRequest.getOrDefault(request.getId(), List.of()))
         );
         return requests;
     }
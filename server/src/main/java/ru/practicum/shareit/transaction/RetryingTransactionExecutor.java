@@ -0,0 +1,75 @@
+package ru.practicum.shareit.transaction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ConcurrentUpdateException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Выполняет действие в отдельной транзакции и повторяет его целиком, если транзакция проиграла гонку:
+// устаревшая версия строки (@Version), таймаут блокировки или взаимоблокировка.
+// Каждая попытка перечитывает данные заново, поэтому повтор видит результат победившей транзакции.
+// Исчерпав попытки, бросает ConcurrentUpdateException - клиент получает 409 и может повторить запрос сам.
+@Slf4j
+@Component
+public class RetryingTransactionExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public RetryingTransactionExecutor(PlatformTransactionManager transactionManager,
+                                       @Value("${shareit.transactions.retry.max-attempts:3}") int maxAttempts,
+                                       @Value("${shareit.transactions.retry.backoff:PT0.05S}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        // Внутри чужой транзакции повторять нельзя: откатится вся внешняя, повтор - дело её владельца
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Конфликт параллельных транзакций не разрешился за {} попыток: {}", attempt, e.getMessage());
+                    throw new ConcurrentUpdateException("Объект изменён параллельным запросом", e);
+                }
+                log.info("Конфликт параллельных транзакций, попытка {} из {}: {}", attempt, maxAttempts, e.getMessage());
+                pause(attempt);
+            }
+        }
+    }
+
+    public void run(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Экспоненциальная пауза со случайным разбросом, чтобы проигравшие не сталкивались снова одновременно
+    private void pause(int attempt) {
+        long limit = backoff.toMillis() << (attempt - 1);
+        if (limit <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(limit / 2, limit + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Повтор транзакции прерван", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.transaction;
+
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Callable;
+
+// Общие приёмы для состояния в памяти, которое повторяет данные БД: кэшей, индексов и фильтров.
+public final class TransactionalCaches {
+
+    private TransactionalCaches() {
+    }
+
+    // Откаченная транзакция не должна менять состояние в памяти, поэтому действие выполняется после коммита.
+    // Вне транзакции откатывать нечего - действие выполняется сразу.
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Загрузка значения в кэш с исходным исключением загрузчика: NotFoundException и другие
+    // доходят до ErrorHandler как есть, а не завёрнутыми в Cache.ValueRetrievalException
+    public static <T> T get(Cache cache, Object key, Callable<T> loader) {
+        try {
+            return cache.get(key, loader);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
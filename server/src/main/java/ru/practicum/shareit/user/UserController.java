@@ -3,12 +3,16 @@ package ru.practicum.shareit.user;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdatedUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResult;
+import ru.practicum.shareit.user.service.UserImportService;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.InputStream;
 import java.util.List;
 
 
@@ -17,11 +21,13 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserImportService userImportService) {
         this.userService = userService;
+        this.userImportService = userImportService;
     }
 
 
@@ -43,6 +49,14 @@ public class UserController {
         return userService.createUser(user);
     }
 
+    // Тело читается потоком: NDJSON не нужно целиком держать в памяти
+    @PostMapping(value = "/users/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public UserImportResult importUsers(InputStream body) {
+        log.info("Запрос на импорт пользователей");
+        return userImportService.importUsers(body);
+    }
+
     @PatchMapping("/users/{userId}")
     public UserDto updateUser(@PathVariable("userId") Long userId, @Valid @RequestBody UpdatedUserRequest user) {
         log.info("Запрос на обновление пользователя с id: {}", userId);
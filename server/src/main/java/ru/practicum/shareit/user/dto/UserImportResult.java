@@ -0,0 +1,30 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Итог импорта: сколько строк прочитано, сколько пользователей добавлено и почему отклонены остальные
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResult {
+
+    private int received;
+    private int imported;
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // Номер строки во входных данных, начиная с 1
+        private int row;
+        private String email;
+        private String reason;
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.user.email;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Фильтр Блума со счётчиками вместо битов: поддерживает удаление.
+// Отрицательный ответ точный, положительный - "возможно есть" с заданной долей ложных срабатываний.
+public class CountingBloomFilter {
+
+    private static final int SATURATED = 0xFF;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final byte[] counters;
+    private final int hashes;
+
+    public CountingBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions должно быть положительным");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate должно быть в интервале (0, 1)");
+        }
+        long size = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.counters = new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(64, size))];
+        this.hashes = Math.max(1, (int) Math.round((double) counters.length / expectedInsertions * Math.log(2)));
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < hashes; i++) {
+                int slot = slot(hash, i);
+                int count = counters[slot] & 0xFF;
+                if (count < SATURATED) {
+                    counters[slot] = (byte) (count + 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Насыщенный счётчик больше не уменьшается: точное число вставок в нём потеряно
+    public void remove(String value) {
+        long hash = hash(value);
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < hashes; i++) {
+                int slot = slot(hash, i);
+                int count = counters[slot] & 0xFF;
+                if (count > 0 && count < SATURATED) {
+                    counters[slot] = (byte) (count - 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < hashes; i++) {
+                if (counters[slot(hash, i)] == 0) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(counters, (byte) 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Двойное хеширование: i-я позиция = h1 + i * h2 от одного 64-битного хеша
+    private int slot(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return ((h1 + i * h2) & Integer.MAX_VALUE) % counters.length;
+    }
+
+    // FNV-1a по символам строки с финальным перемешиванием из MurmurHash3
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.user.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.transaction.TransactionalCaches;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+// Занятые email в памяти: "точно свободен" отвечается без запроса к БД.
+// Источник истины - уникальное ограничение users.email, фильтр только срезает лишние проверки.
+@Slf4j
+@Component
+public class EmailFilter {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final CountingBloomFilter filter;
+
+    public EmailFilter(UserRepository userRepository,
+                       @Value("${shareit.users.email-filter.expected-insertions:100000}") int expectedInsertions,
+                       @Value("${shareit.users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.filter = new CountingBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        filter.clear();
+        long count = 0;
+        Slice<String> page = userRepository.findAllEmails(PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id")));
+        page.forEach(filter::add);
+        count += page.getNumberOfElements();
+        while (page.hasNext()) {
+            page = userRepository.findAllEmails(page.nextPageable());
+            page.forEach(filter::add);
+            count += page.getNumberOfElements();
+        }
+        log.info("Фильтр email построен, адресов: {}", count);
+    }
+
+    public boolean mightBeTaken(String email) {
+        return email != null && filter.mightContain(email);
+    }
+
+    public void onEmailTaken(String email) {
+        TransactionalCaches.afterCommit(() -> filter.add(email));
+    }
+
+    public void onEmailReleased(String email) {
+        TransactionalCaches.afterCommit(() -> filter.remove(email));
+    }
+}
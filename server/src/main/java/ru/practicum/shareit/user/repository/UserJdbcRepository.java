@@ -0,0 +1,29 @@
+package ru.practicum.shareit.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class UserJdbcRepository {
+
+    private static final String INSERT_USER = "INSERT INTO users (name, email) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // IDENTITY отключает пакетную вставку в Hibernate, поэтому пачка уходит через JDBC batch
+    public void insertAll(List<User> users) {
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (statement, user) -> {
+            statement.setString(1, user.getName());
+            statement.setString(2, user.getEmail());
+        });
+    }
+
+    public void insert(User user) {
+        jdbcTemplate.update(INSERT_USER, user.getName(), user.getEmail());
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.user.service;
+
+import ru.practicum.shareit.user.dto.UserImportResult;
+
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    // Принимает JSON-массив или NDJSON-поток объектов NewUserRequest
+    UserImportResult importUsers(InputStream body);
+}
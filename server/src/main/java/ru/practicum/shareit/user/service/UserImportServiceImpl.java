@@ -0,0 +1,163 @@
+package ru.practicum.shareit.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.batch.BatchImportRun;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.NewUserRequest;
+import ru.practicum.shareit.user.dto.UserImportResult;
+import ru.practicum.shareit.user.email.EmailFilter;
+import ru.practicum.shareit.user.repository.UserJdbcRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Пользователи одной пачки вставляются одним JDBC batch. Занятые адреса отсеивает фильтр email,
+// а в БД проверяются только его возможные совпадения. Ход импорта общий - BatchImportRun
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+    private static final int NAME_MAX_LENGTH = 255;
+    private static final int EMAIL_MAX_LENGTH = 512;
+
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final UserJdbcRepository userJdbcRepository;
+    private final EmailFilter emailFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UserImportServiceImpl(ObjectMapper objectMapper, UserRepository userRepository,
+                                 UserJdbcRepository userJdbcRepository, EmailFilter emailFilter,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${shareit.users.import.batch-size:1000}") int batchSize) {
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.userJdbcRepository = userJdbcRepository;
+        this.emailFilter = emailFilter;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public UserImportResult importUsers(InputStream body) {
+        UserWriter writer = new UserWriter();
+        BatchImportRun<NewUserRequest> run = new BatchImportRun<>(batchSize, writer)
+                .readJson(objectMapper.readerFor(NewUserRequest.class), body);
+        List<UserImportResult.RowError> errors = run.finish().stream()
+                .map(rejection -> new UserImportResult.RowError(rejection.row(),
+                        rejection.value() == null ? null : rejection.value().getEmail(), rejection.reason()))
+                .toList();
+
+        log.info("Импорт пользователей: прочитано {}, добавлено {}, отклонено {}",
+                run.received(), writer.imported, errors.size());
+        return UserImportResult.builder()
+                .received(run.received())
+                .imported(writer.imported)
+                .errors(errors)
+                .build();
+    }
+
+    private class UserWriter implements BatchImportRun.Writer<NewUserRequest> {
+
+        private final Map<String, Integer> seenEmails = new HashMap<>();
+        private int imported;
+
+        @Override
+        public String check(BatchImportRun.Row<NewUserRequest> row) {
+            String reason = validate(row.value());
+            if (reason != null) {
+                return reason;
+            }
+            Integer firstRow = seenEmails.putIfAbsent(row.value().getEmail(), row.number());
+            return firstRow == null ? null : "email уже встречался в строке " + firstRow;
+        }
+
+        @Override
+        public void write(List<BatchImportRun.Row<NewUserRequest>> batch, BatchImportRun<NewUserRequest> run) {
+            List<BatchImportRun.Row<NewUserRequest>> fresh = dropRegistered(batch, run);
+            if (fresh.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userJdbcRepository.insertAll(fresh.stream().map(row -> toUser(row.value())).toList());
+                    fresh.forEach(row -> emailFilter.onEmailTaken(row.value().getEmail()));
+                });
+                imported += fresh.size();
+            } catch (DataIntegrityViolationException e) {
+                // Email заняли параллельно между проверкой и вставкой: пачка откатилась, повторяем построчно
+                log.warn("Пачка импорта отклонена БД, вставка по одной строке: {}", e.getMostSpecificCause().getMessage());
+                fresh.forEach(row -> insertSingle(row, run));
+            }
+        }
+
+        // В БД спрашиваем только про адреса, которые фильтр не исключил наверняка
+        private List<BatchImportRun.Row<NewUserRequest>> dropRegistered(List<BatchImportRun.Row<NewUserRequest>> rows,
+                                                                        BatchImportRun<NewUserRequest> run) {
+            List<String> candidates = rows.stream()
+                    .map(row -> row.value().getEmail())
+                    .filter(emailFilter::mightBeTaken)
+                    .toList();
+            Set<String> registered = candidates.isEmpty()
+                    ? Set.of() : new HashSet<>(userRepository.findExistingEmails(candidates));
+            List<BatchImportRun.Row<NewUserRequest>> fresh = new ArrayList<>(rows.size());
+            for (BatchImportRun.Row<NewUserRequest> row : rows) {
+                if (registered.contains(row.value().getEmail())) {
+                    run.reject(row.number(), row.value(), "Пользователь с таким email уже зарегистрирован");
+                } else {
+                    fresh.add(row);
+                }
+            }
+            return fresh;
+        }
+
+        private void insertSingle(BatchImportRun.Row<NewUserRequest> row, BatchImportRun<NewUserRequest> run) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userJdbcRepository.insert(toUser(row.value()));
+                    emailFilter.onEmailTaken(row.value().getEmail());
+                });
+                imported++;
+            } catch (DuplicateKeyException e) {
+                run.reject(row.number(), row.value(), "Пользователь с таким email уже зарегистрирован");
+            } catch (DataIntegrityViolationException e) {
+                run.reject(row.number(), row.value(), "Строка нарушает ограничения БД");
+            }
+        }
+    }
+
+    private static String validate(NewUserRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            return "имя не может быть пустым";
+        }
+        if (request.getName().length() > NAME_MAX_LENGTH) {
+            return "имя длиннее " + NAME_MAX_LENGTH + " символов";
+        }
+        if (request.getEmail() == null || request.getEmail().isBlank()) {
+            return "email не может быть пустым";
+        }
+        if (request.getEmail().length() > EMAIL_MAX_LENGTH || !EMAIL_PATTERN.matcher(request.getEmail()).matches()) {
+            return "Неверный тип email'la";
+        }
+        return null;
+    }
+
+    private static User toUser(NewUserRequest request) {
+        return User.builder().name(request.getName()).email(request.getEmail()).build();
+    }
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.user.service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.DuplicatedException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -11,6 +13,7 @@ import ru.practicum.shareit.mappers.UserMapper;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdatedUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.email.EmailFilter;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.Collection;
@@ -22,6 +25,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper mapper;
+    private final EmailFilter emailFilter;
 
 
     @Override
@@ -38,10 +42,11 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDto createUser(NewUserRequest user) {
         User newUser = mapper.mapToUser(user);
-        if (userRepository.existsByEmail(user.getEmail())) {
+        if (isEmailTaken(user.getEmail())) {
             throw new DuplicatedException("Пользователь: " + user + " уже зарегистрирован");
         }
-        newUser = userRepository.save(newUser);
+        newUser = saveUnique(newUser);
+        emailFilter.onEmailTaken(user.getEmail());
         log.info("Добавление пользователя с id: {}", newUser.getId());
         return mapper.mapToDto(newUser);
     }
@@ -50,14 +55,20 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDto updateUser(Long userId, UpdatedUserRequest updatedUser) {
         User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь с id:" + userId + " не найден"));
-        if (!user.getEmail().equals(updatedUser.getEmail())) {
-            if (userRepository.existsByEmail(updatedUser.getEmail()) && !updatedUser.getEmail().equals(user.getEmail())) {
+        String oldEmail = user.getEmail();
+        if (!oldEmail.equals(updatedUser.getEmail())) {
+            if (isEmailTaken(updatedUser.getEmail())) {
                 throw new DuplicatedException("Пользователь с email: " + updatedUser.getEmail() + " уже зарегистрирован");
             }
         }
 
         user = updateUserFields(user, updatedUser);
-        user = userRepository.save(user);
+        String newEmail = user.getEmail();
+        user = saveUnique(user);
+        if (!oldEmail.equals(newEmail)) {
+            emailFilter.onEmailReleased(oldEmail);
+            emailFilter.onEmailTaken(newEmail);
+        }
         log.info("Обновелние пользователя с id:{}", userId);
         return mapper.mapToDto(user);
     }
@@ -65,9 +76,28 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public void deleteUser(Long userId) {
+        userRepository.findById(userId).map(User::getEmail).ifPresent(emailFilter::onEmailReleased);
         userRepository.deleteById(userId);
     }
 
+    // В БД идём только если фильтр не исключил email наверняка
+    private boolean isEmailTaken(String email) {
+        return emailFilter.mightBeTaken(email) && userRepository.existsByEmail(email);
+    }
+
+    // Гонку между проверкой и вставкой решает уникальное ограничение users.email
+    private User saveUnique(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException cause
+                    && cause.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                throw new DuplicatedException("Пользователь с email: " + user.getEmail() + " уже зарегистрирован");
+            }
+            throw e;
+        }
+    }
+
     private static User updateUserFields(User user, UpdatedUserRequest updateUserRequest) {
         if (updateUserRequest.hasEmail()) {
             user.setEmail(updateUserRequest.getEmail());
@@ -0,0 +1,2 @@
+-- Планировщик жизненного цикла: ожидающие брони, чьё время уже началось, выбираются по порядку начала
+CREATE INDEX IF NOT EXISTS bookings_status_start_idx ON bookings (status, start_time, booking_id);
@@ -0,0 +1,7 @@
+-- Раньше подтверждение брони выставляло вещи available = false, и флаг больше никто не возвращал.
+-- Теперь доступность меняет только владелец, а подтверждённые брони проверяются по датам,
+-- поэтому вещи с подтверждёнными бронями снова становятся доступными.
+-- Отличить такой флаг от выключенного владельцем вручную по данным нельзя: владелец может выключить вещь заново.
+UPDATE items AS i SET available = TRUE, version = i.version + 1
+WHERE i.available = FALSE
+  AND EXISTS (SELECT 1 FROM bookings AS b WHERE b.item_id = i.item_id AND b.status = 'APPROVED');
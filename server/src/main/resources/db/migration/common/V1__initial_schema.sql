@@ -30,9 +30,6 @@ CREATE TABLE IF NOT EXISTS bookings (
     status VARCHAR(15) NOT NULL CHECK (status IN ('WAITING', 'CANCELED', 'REJECTED', 'APPROVED'))
 );
 
-
-
-
 CREATE TABLE IF NOT EXISTS comments (
      comment_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
      comment VARCHAR(2000) NOT NULL,
@@ -40,6 +37,3 @@ CREATE TABLE IF NOT EXISTS comments (
      author_id BIGINT REFERENCES users(user_id),
      created TIMESTAMP NOT NULL
 );
-
-ALTER TABLE items ADD COLUMN IF NOT EXISTS next_booking_id BIGINT REFERENCES bookings(booking_id);
-ALTER TABLE items ADD COLUMN IF NOT EXISTS last_booking_id BIGINT REFERENCES bookings(booking_id);
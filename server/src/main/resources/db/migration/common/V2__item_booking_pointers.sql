@@ -0,0 +1,14 @@
+ALTER TABLE items ADD COLUMN IF NOT EXISTS next_booking_id BIGINT REFERENCES bookings(booking_id);
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_booking_id BIGINT REFERENCES bookings(booking_id);
+
+UPDATE items AS i SET last_booking_id = (
+    SELECT b.booking_id FROM bookings AS b
+    WHERE b.item_id = i.item_id AND b.status = 'APPROVED' AND b.start_time < CURRENT_TIMESTAMP
+    ORDER BY b.start_time DESC LIMIT 1)
+WHERE i.last_booking_id IS NULL;
+
+UPDATE items AS i SET next_booking_id = (
+    SELECT b.booking_id FROM bookings AS b
+    WHERE b.item_id = i.item_id AND b.status = 'APPROVED' AND b.start_time > CURRENT_TIMESTAMP
+    ORDER BY b.start_time ASC LIMIT 1)
+WHERE i.next_booking_id IS NULL;
@@ -0,0 +1,13 @@
+-- Постраничная выдача бронирований: фильтр + порядок (start_time, booking_id)
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_time DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS bookings_booker_status_start_idx ON bookings (booker_id, status, start_time DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_time DESC, booking_id DESC);
+
+-- Последнее/следующее подтверждённое бронирование вещи и проверка права на отзыв
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, start_time);
+
+-- Поиск по внешним ключам: вещи владельца и запроса, комментарии вещи, запросы автора
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id);
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+CREATE INDEX IF NOT EXISTS comments_item_idx ON comments (item_id);
+CREATE INDEX IF NOT EXISTS requests_requestor_idx ON requests (requestor_id);
@@ -0,0 +1,2 @@
+-- Лента запросов: новые сначала, request_id замыкает порядок
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created_time DESC, request_id DESC);
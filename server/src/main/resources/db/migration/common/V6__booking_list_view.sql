@@ -0,0 +1,14 @@
+-- Плоское представление для списков бронирований: только то, что уходит в ответ
+CREATE VIEW booking_list_view AS
+SELECT b.booking_id,
+       b.start_time,
+       b.end_time,
+       b.status,
+       b.booker_id,
+       u.name  AS booker_name,
+       b.item_id,
+       i.name  AS item_name,
+       i.owner_id AS item_owner_id
+FROM bookings b
+JOIN users u ON u.user_id = b.booker_id
+JOIN items i ON i.item_id = b.item_id;
@@ -0,0 +1,2 @@
+-- Проверка пересечения броней вещи: b.item_id = ? AND b.start_time < ? AND b.end_time > ?
+CREATE INDEX IF NOT EXISTS bookings_item_period_idx ON bookings (item_id, start_time, end_time);
@@ -0,0 +1,3 @@
+-- Версии строк для оптимистической блокировки: запись по устаревшему снимку отклоняется
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,21 @@
+-- Подтверждённые брони одной вещи не пересекаются: гарантия на уровне БД поверх проверки в сервисе.
+-- Время хранится без часового пояса, поэтому интервал - tsrange; границы [start, end).
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Ограничение-исключение нельзя создать NOT VALID: если в старых данных уже есть пересечения,
+-- миграция не падает, а оставляет их на разбор, и защиту обеспечивает только проверка в сервисе.
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1 FROM bookings AS a
+        JOIN bookings AS b ON b.item_id = a.item_id AND b.booking_id > a.booking_id
+        WHERE a.status = 'APPROVED' AND b.status = 'APPROVED'
+          AND a.start_time < b.end_time AND b.start_time < a.end_time
+    ) THEN
+        RAISE WARNING 'bookings_no_overlap не создано: найдены пересекающиеся подтверждённые бронирования';
+    ELSE
+        ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+            WHERE (status = 'APPROVED');
+    END IF;
+END $$;
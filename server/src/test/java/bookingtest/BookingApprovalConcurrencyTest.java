@@ -0,0 +1,158 @@
+package bookingtest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingLifecycleScheduler;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.AccessException;
+import ru.practicum.shareit.exception.ConcurrentUpdateException;
+import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Подтверждения идут из нескольких потоков одновременно, без тестовой транзакции:
+// каждый вызов сервиса - настоящая транзакция со своими блокировками и версиями
+@SpringBootTest
+@ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
+class BookingApprovalConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Планировщик жизненного цикла броней не должен вмешиваться в подсчёт исходов
+    @MockBean
+    private BookingLifecycleScheduler lifecycleScheduler;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email(UUID.randomUUID() + "@owner.ru").build());
+        booker = userRepository.save(User.builder().name("Booker").email(UUID.randomUUID() + "@booker.ru").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE items SET last_booking_id = NULL, next_booking_id = NULL WHERE owner_id = ?", owner.getId());
+        jdbcTemplate.update("DELETE FROM bookings WHERE booker_id = ?", booker.getId());
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id = ?", owner.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE user_id IN (?, ?)", owner.getId(), booker.getId());
+    }
+
+    @Test
+    void respondToBooking_WhenOverlappingBookingsAreApprovedConcurrently_ShouldApproveExactlyOne() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Item item = itemRepository.save(Item.builder().name("Дрель " + round).description("Ударная")
+                        .available(true).owner(owner).build());
+                LocalDateTime start = LocalDateTime.now().plusDays(1);
+                List<Long> bookingIds = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    // Все интервалы накрывают общий час - подтвердить можно только один
+                    bookingIds.add(bookingRepository.save(Booking.builder().item(item).booker(booker)
+                            .startTime(start.plusMinutes(i)).endTime(start.plusHours(1).plusMinutes(i))
+                            .status(BookingStatus.WAITING).build()).getId());
+                }
+
+                CountDownLatch ready = new CountDownLatch(THREADS);
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<Outcome>> outcomes = new ArrayList<>();
+                for (Long bookingId : bookingIds) {
+                    outcomes.add(pool.submit(() -> {
+                        ready.countDown();
+                        go.await();
+                        try {
+                            bookingService.respondToBooking(owner.getId(), bookingId, true);
+                            return Outcome.APPROVED;
+                        } catch (AccessException e) {
+                            return Outcome.OVERLAP;
+                        } catch (ConcurrentUpdateException e) {
+                            return Outcome.CONFLICT;
+                        }
+                    }));
+                }
+                assertThat(ready.await(10, TimeUnit.SECONDS)).isTrue();
+                go.countDown();
+
+                List<Outcome> results = new ArrayList<>();
+                for (Future<Outcome> outcome : outcomes) {
+                    results.add(outcome.get(60, TimeUnit.SECONDS));
+                }
+
+                assertThat(results).filteredOn(outcome -> outcome == Outcome.APPROVED).hasSize(1);
+                assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM bookings WHERE item_id = ? AND status = 'APPROVED'", Long.class, item.getId()))
+                        .isEqualTo(1L);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void save_WhenItemVersionIsStale_ShouldRejectLostUpdate() {
+        Item item = itemRepository.save(Item.builder().name("Пила").description("Цепная")
+                .available(true).owner(owner).build());
+        Item stale = itemRepository.findById(item.getId()).orElseThrow();
+
+        itemService.updateItem(item.getId(), owner.getId(), new UpdateItemRequest("Пила", "Ручная", null, null));
+        stale.setAvailable(false);
+
+        assertThatThrownBy(() -> itemRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        Item stored = itemRepository.findById(item.getId()).orElseThrow();
+        assertThat(stored.getDescription()).isEqualTo("Ручная");
+        assertThat(stored.isAvailable()).isTrue();
+        assertThat(stored.getVersion()).isEqualTo(stale.getVersion() + 1);
+    }
+
+    private enum Outcome {
+        APPROVED, OVERLAP, CONFLICT
+    }
+}
@@ -12,9 +12,12 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controllers.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.BookingPageRequest;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ConcurrentUpdateException;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -41,6 +44,7 @@ public class BookingControllerTest {
 
 
     private BookingDto bookingDto;
+    private BookingShortDto bookingShortDto;
     private NewBookingRequest newBookingRequest;
 
     @BeforeEach
@@ -52,6 +56,14 @@ public class BookingControllerTest {
                 .end(LocalDateTime.of(2000, 2, 20, 11, 11))
                 .build();
 
+        bookingShortDto = BookingShortDto.builder()
+                .id(1L)
+                .start(LocalDateTime.of(2000, 1, 20, 11, 11))
+                .end(LocalDateTime.of(2000, 2, 20, 11, 11))
+                .booker(new BookingShortDto.Ref(2L, "Booker"))
+                .item(new BookingShortDto.Ref(3L, "Drill"))
+                .build();
+
         newBookingRequest = NewBookingRequest.builder()
                 .start(LocalDateTime.of(2000, 1, 20, 11, 11))
                 .end(LocalDateTime.of(2000, 2, 20, 11, 11))
@@ -93,20 +105,37 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).respondToBooking(eq(1L), eq(1L), eq(true));
     }
 
+    @Test
+    void respondToBooking_whenRaceIsLost_shouldReturnConflict() throws Exception {
+        when(bookingService.respondToBooking(anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(new ConcurrentUpdateException("Объект изменён параллельным запросом", null));
+
+        mvc.perform(patch("/bookings/1")
+                        .param("approved", "true")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Объект изменён параллельным запросом, повторите попытку"));
+    }
+
     @Test
     void getAllBookings_shouldReturnListOfBookings() throws Exception {
-        when(bookingService.getAllBooking(anyLong(), any())).thenReturn(List.of(bookingDto));
+        when(bookingService.getAllBooking(anyLong(), any(), any())).thenReturn(List.of(bookingShortDto));
 
         mvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", "1")
                         .param("state", "ALL"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()").value(1))
-                .andExpect(jsonPath("$[0].id").value(bookingDto.getId()))
+                .andExpect(jsonPath("$[0].id").value(bookingShortDto.getId()))
                 .andExpect(jsonPath("$[0].start").value("2000-01-20T11:11:00"))
-                .andExpect(jsonPath("$[0].end").value("2000-02-20T11:11:00"));
-
-        verify(bookingService, times(1)).getAllBooking(eq(1L), eq(BookingState.ALL));
+                .andExpect(jsonPath("$[0].end").value("2000-02-20T11:11:00"))
+                .andExpect(jsonPath("$[0].booker.id").value(2))
+                .andExpect(jsonPath("$[0].booker.name").value("Booker"))
+                .andExpect(jsonPath("$[0].booker.email").doesNotExist())
+                .andExpect(jsonPath("$[0].item.name").value("Drill"))
+                .andExpect(jsonPath("$[0].item.owner").doesNotExist());
+
+        verify(bookingService, times(1)).getAllBooking(eq(1L), eq(BookingState.ALL), eq(BookingPageRequest.firstPage()));
     }
 
     @Test
@@ -135,7 +164,7 @@ public class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(0)); // или больше, если подмокаете данные
 
-        verify(bookingService).getAllBooking(userId, BookingState.valueOf(status));
+        verify(bookingService).getAllBooking(userId, BookingState.valueOf(status), BookingPageRequest.firstPage());
     }
 
     @Test
@@ -150,7 +179,7 @@ public class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(bookingService).getAllItemBooking(ownerId, BookingState.valueOf(status));
+        verify(bookingService).getAllItemBooking(ownerId, BookingState.valueOf(status), BookingPageRequest.firstPage());
     }
 
     @Test
@@ -162,7 +191,7 @@ public class BookingControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        verify(bookingService).getAllBooking(userId, BookingState.ALL);
+        verify(bookingService).getAllBooking(userId, BookingState.ALL, BookingPageRequest.firstPage());
     }
 
     @Test
@@ -186,8 +215,22 @@ public class BookingControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        verify(bookingService).getAllItemBooking(ownerId, BookingState.ALL);
+        verify(bookingService).getAllItemBooking(ownerId, BookingState.ALL, BookingPageRequest.firstPage());
     }
 
+    @Test
+    void getAllOwnerBooking_shouldPassPagingParameters() throws Exception {
+        Long ownerId = 1L;
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .param("state", "ALL")
+                        .param("size", "5")
+                        .param("afterStart", "2030-01-01T12:00:00")
+                        .param("afterId", "7"))
+                .andExpect(status().isOk());
 
+        verify(bookingService).getAllItemBooking(ownerId, BookingState.ALL,
+                new BookingPageRequest(0, 5, LocalDateTime.of(2030, 1, 1, 12, 0), 7L));
+    }
 }
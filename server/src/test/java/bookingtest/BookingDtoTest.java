@@ -5,16 +5,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.json.JsonTest;
 import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.boot.test.json.JsonContent;
 import org.springframework.test.context.ContextConfiguration;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enums.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @JsonTest
@@ -39,7 +40,8 @@ public class BookingDtoTest {
                 .end(LocalDateTime.of(2020, 12, 2, 12, 20))
                 .status(BookingStatus.WAITING)
                 .booker(user)
-                .item(new Item(1L, "Drill", "Powerful drill", true, user, itemRequest))
+                .item(new BookingDto.BookedItem(1L, "Drill", "Powerful drill", true, user,
+                        new BookingDto.Request(itemRequest.getId(), null, null)))
                 .build();
     }
 
@@ -65,6 +67,17 @@ public class BookingDtoTest {
         assertEquals(dto, deserializedBooking);
     }
 
+    @Test
+    void testSerializeBookingDto_ItemHasNoEntityServiceFields() throws IOException {
+        JsonContent<BookingDto> content = json.write(dto);
+
+        assertThat(content).extractingJsonPathStringValue("$.item.name").isEqualTo("Drill");
+        assertThat(content).extractingJsonPathNumberValue("$.item.request.id").isEqualTo(2);
+        assertThat(content).doesNotHaveJsonPath("$.item.lastBookingId");
+        assertThat(content).doesNotHaveJsonPath("$.item.nextBookingId");
+        assertThat(content).doesNotHaveJsonPath("$.item.version");
+    }
+
     @Test
     void testDeserializeBookingDtoWithNullValues() throws IOException {
 
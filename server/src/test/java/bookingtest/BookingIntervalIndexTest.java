@@ -0,0 +1,72 @@
+package bookingtest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex index;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        index = new BookingIntervalIndex(bookingRepository,
+                new ConcurrentMapCacheManager(BookingIntervalIndex.BOOKING_PERIODS));
+    }
+
+    @Test
+    void mightOverlap_LoadsOnlyUnfinishedPeriodsOncePerItem() {
+        when(bookingRepository.findApprovedPeriods(eq(1L), any()))
+                .thenReturn(List.of(new BookingPeriod(10L, now.plusDays(1), now.plusDays(3))));
+
+        assertThat(index.mightOverlap(1L, now.plusDays(2), now.plusDays(4))).isTrue();
+        assertThat(index.mightOverlap(1L, now.plusDays(3), now.plusDays(4))).isFalse();
+
+        // Закончившиеся брони отсекает сам запрос: в индекс попадает только то, что кончается после now
+        verify(bookingRepository, times(1)).findApprovedPeriods(eq(1L), any());
+    }
+
+    @Test
+    void onApproved_UpdatesCachedItemWithoutReload() {
+        when(bookingRepository.findApprovedPeriods(eq(1L), any())).thenReturn(List.of());
+        assertThat(index.mightOverlap(1L, now.plusDays(1), now.plusDays(2))).isFalse();
+
+        index.onApproved(1L, new BookingPeriod(11L, now.plusDays(1), now.plusDays(2)));
+
+        assertThat(index.mightOverlap(1L, now.plusDays(1), now.plusDays(2))).isTrue();
+        verify(bookingRepository, times(1)).findApprovedPeriods(eq(1L), any());
+    }
+
+    @Test
+    void invalidate_ReloadsPeriodsOnNextCheck() {
+        when(bookingRepository.findApprovedPeriods(eq(1L), any())).thenReturn(List.of());
+        index.mightOverlap(1L, now.plusDays(1), now.plusDays(2));
+
+        index.invalidate(1L);
+        index.mightOverlap(1L, now.plusDays(1), now.plusDays(2));
+
+        verify(bookingRepository, times(2)).findApprovedPeriods(eq(1L), any());
+    }
+}
@@ -0,0 +1,162 @@
+package bookingtest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingLifecycleScheduler;
+import ru.practicum.shareit.booking.service.BookingLifecycleService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Порция из двух строк: один запуск планировщика проходит через несколько транзакций.
+// Тестовой транзакции нет - блокировки SKIP LOCKED проверяются между настоящими транзакциями.
+// Запуск по расписанию отложен, иначе первый прогон при старте контекста гонится с тестом
+@SpringBootTest(properties = {
+        "shareit.bookings.lifecycle.chunk-size=2",
+        "shareit.bookings.lifecycle.interval=PT1H",
+        "shareit.bookings.lifecycle.initial-delay=PT1H"
+})
+@ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
+class BookingLifecycleIntegrationTest {
+
+    @Autowired
+    private BookingLifecycleScheduler lifecycleScheduler;
+
+    @Autowired
+    private BookingLifecycleService lifecycleService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        // H2 хранит время с точностью до микросекунд
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        owner = userRepository.save(User.builder().name("Owner").email(UUID.randomUUID() + "@owner.ru").build());
+        booker = userRepository.save(User.builder().name("Booker").email(UUID.randomUUID() + "@booker.ru").build());
+        item = itemRepository.save(Item.builder().name("Дрель").description("Ударная").available(true).owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE items SET last_booking_id = NULL, next_booking_id = NULL WHERE owner_id = ?", owner.getId());
+        jdbcTemplate.update("DELETE FROM bookings WHERE booker_id = ?", booker.getId());
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id = ?", owner.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE user_id IN (?, ?)", owner.getId(), booker.getId());
+    }
+
+    @Test
+    void run_ShouldCancelAllStaleWaitingBookingsChunkByChunk() {
+        List<Booking> stale = List.of(
+                save(now.minusHours(3), now.plusDays(1), BookingStatus.WAITING),
+                save(now.minusHours(2), now.plusDays(1), BookingStatus.WAITING),
+                save(now.minusHours(1), now.plusDays(1), BookingStatus.WAITING),
+                save(now.minusMinutes(1), now.plusDays(1), BookingStatus.WAITING),
+                save(now.minusMinutes(2), now.minusMinutes(1), BookingStatus.WAITING));
+        Booking future = save(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        Booking approved = save(now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+
+        lifecycleScheduler.run();
+
+        for (Booking booking : stale) {
+            Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+            assertThat(stored.getStatus()).isEqualTo(BookingStatus.CANCELED);
+            assertThat(stored.getVersion()).isEqualTo(booking.getVersion() + 1);
+        }
+        assertThat(bookingRepository.findById(future.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.WAITING);
+        assertThat(bookingRepository.findById(approved.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.APPROVED);
+    }
+
+    @Test
+    void run_ShouldMoveStartedNextBookingToLast() {
+        Booking started = save(now.minusMinutes(5), now.plusDays(1), BookingStatus.APPROVED);
+        Booking upcoming = save(now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+        item.setNextBookingId(started.getId());
+        item = itemRepository.save(item);
+
+        lifecycleScheduler.run();
+
+        Item stored = itemRepository.findById(item.getId()).orElseThrow();
+        assertThat(stored.getLastBookingId()).isEqualTo(started.getId());
+        assertThat(stored.getNextBookingId()).isEqualTo(upcoming.getId());
+    }
+
+    @Test
+    void expireStaleWaiting_ShouldSkipRowsLockedByAnotherInstance() throws Exception {
+        Booking locked = save(now.minusHours(2), now.plusDays(1), BookingStatus.WAITING);
+        Booking free = save(now.minusHours(1), now.plusDays(1), BookingStatus.WAITING);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch lockTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Другой экземпляр держит первую по порядку бронь и ещё не закончил с ней. Блокируем строку по id:
+        // H2, в отличие от PostgreSQL, с LIMIT блокирует все подходящие под WHERE строки, а не только порцию
+        CompletableFuture<List<Long>> otherInstance = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<Long> ids = jdbcTemplate.queryForList(
+                            "SELECT booking_id FROM bookings WHERE booking_id = ? FOR UPDATE", Long.class, locked.getId());
+                    lockTaken.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ids;
+                }));
+        try {
+            assertThat(lockTaken.await(10, TimeUnit.SECONDS)).isTrue();
+
+            int processed = transactionTemplate.execute(status -> lifecycleService.expireStaleWaiting(now, 10));
+
+            assertThat(processed).isEqualTo(1);
+            assertThat(bookingRepository.findById(free.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.CANCELED);
+        } finally {
+            release.countDown();
+        }
+        assertThat(otherInstance.get(10, TimeUnit.SECONDS)).containsExactly(locked.getId());
+        assertThat(bookingRepository.findById(locked.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    private Booking save(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .startTime(start).endTime(end).status(status).build());
+    }
+}
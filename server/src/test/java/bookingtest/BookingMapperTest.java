@@ -2,9 +2,11 @@ package bookingtest;
 
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.mappers.BookingMapper;
 import ru.practicum.shareit.mappers.BookingMapperImpl;
@@ -59,7 +61,7 @@ public class BookingMapperTest {
                 .id(1L)
                 .start(LocalDateTime.of(2000, 1, 20, 11, 11))
                 .end(LocalDateTime.of(2000, 1, 21, 11, 11))
-                .item(item)
+                .item(new BookingDto.BookedItem(1L, "itemName", null, true, booker, null))
                 .status(BookingStatus.WAITING)
                 .build();
 
@@ -299,5 +301,27 @@ public class BookingMapperTest {
         assertEquals(user, booking.getBooker());
     }
 
+    @Test
+    void mapToShortDto_ShouldNestOnlyIdsAndNames() {
+        BookingView view = BookingView.builder()
+                .id(5L)
+                .startTime(now.plusDays(1))
+                .endTime(now.plusDays(2))
+                .status(BookingStatus.APPROVED)
+                .bookerId(1L)
+                .bookerName("Booker")
+                .itemId(100L)
+                .itemName("Drill")
+                .itemOwnerId(2L)
+                .build();
+
+        BookingShortDto dto = bookingMapper.mapToShortDto(view);
 
+        assertEquals(5L, dto.getId());
+        assertEquals(view.getStartTime(), dto.getStart());
+        assertEquals(view.getEndTime(), dto.getEnd());
+        assertEquals(BookingStatus.APPROVED, dto.getStatus());
+        assertEquals(new BookingShortDto.Ref(1L, "Booker"), dto.getBooker());
+        assertEquals(new BookingShortDto.Ref(100L, "Drill"), dto.getItem());
+    }
 }
@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ContextConfiguration;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPeriod;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
@@ -63,244 +64,138 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByBookerId_ReturnsAllBookingsForUser() {
-        // Given
-        Booking booking1 = createBooking(booker, item, now.plusDays(1), now.plusDays(2));
-        Booking booking2 = createBooking(booker, item, now.plusDays(3), now.plusDays(4));
-        entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        entityManager.flush();
-
-        // When
-        List<Booking> bookings = bookingRepository.findAllByBookerId(booker.getId());
-
-        // Then
-        assertThat(bookings).hasSize(2)
-                .contains(booking1, booking2);
-    }
-
-    @Test
-    void findAllByBookerIdAndStartTimeIsBeforeAndEndTimeIsBefore_ReturnsPastBookings() {
-        // Given
-        Booking pastBooking = createBooking(booker, item, now.minusDays(2), now.minusDays(1));
-        Booking futureBooking = createBooking(booker, item, now.plusDays(1), now.plusDays(2));
-        entityManager.persist(pastBooking);
-        entityManager.persist(futureBooking);
-        entityManager.flush();
-
-        // When
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartTimeIsBeforeAndEndTimeIsBefore(
-                booker.getId(), now, now);
-
-        // Then
-        assertThat(bookings).hasSize(1)
-                .contains(pastBooking);
-    }
-
-    @Test
-    void findAllByBookerIdAndEndTimeIsBefore_ReturnsFinishedBookings() {
-        // Given
-        Booking finished = createBooking(booker, item, now.minusDays(2), now.minusDays(1));
-        Booking ongoing = createBooking(booker, item, now.minusDays(1), now.plusDays(1));
-        entityManager.persist(finished);
-        entityManager.persist(ongoing);
-        entityManager.flush();
-
-        // When
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndEndTimeIsBefore(booker.getId(), now);
-
-        // Then
-        assertThat(bookings).hasSize(1)
-                .contains(finished);
-    }
-
-    @Test
-    void findAllByBookerIdAndStartTimeIsAfter_ReturnsFutureBookings() {
+    void findLastFinishedBookingByItem_ReturnsLastFinishedBooking() {
         // Given
-        Booking future = createBooking(booker, item, now.plusDays(1), now.plusDays(2));
-        Booking past = createBooking(booker, item, now.minusDays(2), now.minusDays(1));
-        entityManager.persist(future);
-        entityManager.persist(past);
+        Booking b1 = createBooking(owner, item, now.minusDays(5), now.minusDays(3));
+        b1.setStatus(BookingStatus.APPROVED);
+        Booking b2 = createBooking(owner, item, now.minusDays(2), now.minusDays(1));
+        b2.setStatus(BookingStatus.APPROVED);
+        entityManager.persist(b1);
+        entityManager.persist(b2);
         entityManager.flush();
 
         // When
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartTimeIsAfter(booker.getId(), now);
+        Optional<Booking> lastBooking = bookingRepository.findLastFinishedBookingByItem(item);
 
         // Then
-        assertThat(bookings).hasSize(1)
-                .contains(future);
+        assertTrue(lastBooking.isPresent());
+        assertThat(lastBooking.get()).isEqualTo(b2);
     }
 
     @Test
-    void findAllByBookerIdAndStatus_ReturnsFilteredBookings() {
+    void findNextBookingByItem_ReturnsFirstUpcomingBooking() {
         // Given
-        Booking waiting = createBooking(booker, item, now.plusDays(1), now.plusDays(2));
-        waiting.setStatus(BookingStatus.WAITING);
-        Booking approved = createBooking(booker, item, now.plusDays(3), now.plusDays(4));
-        approved.setStatus(BookingStatus.APPROVED);
-        entityManager.persist(waiting);
-        entityManager.persist(approved);
+        Booking b1 = createBooking(owner, item, now.plusDays(1), now.plusDays(2));
+        b1.setStatus(BookingStatus.APPROVED);
+        entityManager.persist(b1);
         entityManager.flush();
 
         // When
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStatus(booker.getId(), BookingStatus.APPROVED);
+        Optional<Booking> nextBooking = bookingRepository.findNextBookingByItem(item);
 
         // Then
-        assertThat(bookings).hasSize(1)
-                .contains(approved);
+        assertTrue(nextBooking.isPresent());
+        assertThat(nextBooking.get()).isEqualTo(b1);
     }
 
     @Test
-    void findAllByItemOwnerId_ReturnsAllBookingsForOwnerItems() {
+    void findLastAndNextBookingsByItems_ReturnOneBookingPerItem() {
         // Given
         Item anotherItem = Item.builder()
                 .name("Saw")
                 .description("Hand saw")
                 .available(true)
-                .owner(booker)
+                .owner(owner)
                 .build();
         entityManager.persist(anotherItem);
 
-        Booking bookingForMyItem = createBooking(owner, item, now.plusDays(1), now.plusDays(2));
-        Booking bookingForOtherItem = createBooking(owner, anotherItem, now.plusDays(3), now.plusDays(4));
-        entityManager.persist(bookingForMyItem);
-        entityManager.persist(bookingForOtherItem);
-        entityManager.flush();
-
-        // When
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerId(owner.getId());
-
-        // Then
-        assertThat(bookings).hasSize(1)
-                .contains(bookingForMyItem);
-    }
-
-    @Test
-    void findAllByItemOwnerIdAndStartTimeIsBeforeAndEndTimeIsBefore_ReturnsPastBookingsForOwner() {
-        // Given
-        Booking past = createBooking(owner, item, now.minusDays(2), now.minusDays(1));
-        Booking future = createBooking(owner, item, now.plusDays(1), now.plusDays(2));
-        entityManager.persist(past);
-        entityManager.persist(future);
-        entityManager.flush();
-
-        // When
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStartTimeIsBeforeAndEndTimeIsBefore(
-                owner.getId(), now, now);
-
-        // Then
-        assertThat(bookings).hasSize(1)
-                .contains(past);
-    }
-
-    @Test
-    void findAllByItemOwnerIdAndEndTimeIsBefore_ReturnsFinishedBookingsForOwner() {
-        // Given
-        Booking finished = createBooking(owner, item, now.minusDays(2), now.minusDays(1));
-        Booking ongoing = createBooking(owner, item, now.minusDays(1), now.plusDays(1));
-        entityManager.persist(finished);
-        entityManager.persist(ongoing);
-        entityManager.flush();
-
-        // When
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndEndTimeIsBefore(owner.getId(), now);
-
-        // Then
-        assertThat(bookings).hasSize(1)
-                .contains(finished);
-    }
-
-    @Test
-    void findAllByItemOwnerIdAndStartTimeIsAfter_ReturnsFutureBookingsForOwner() {
-        // Given
-        Booking future = createBooking(owner, item, now.plusDays(1), now.plusDays(2));
-        Booking past = createBooking(owner, item, now.minusDays(2), now.minusDays(1));
-        entityManager.persist(future);
-        entityManager.persist(past);
-        entityManager.flush();
-
-        // When
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStartTimeIsAfter(owner.getId(), now);
-
-        // Then
-        assertThat(bookings).hasSize(1)
-                .contains(future);
-    }
-
-    @Test
-    void findAllByItemOwnerIdAndStatus_ReturnsFilteredBookingsForOwner() {
-        // Given
-        Booking approved = createBooking(owner, item, now.plusDays(1), now.plusDays(2));
-        approved.setStatus(BookingStatus.APPROVED);
-        Booking waiting = createBooking(owner, item, now.plusDays(3), now.plusDays(4));
-        waiting.setStatus(BookingStatus.WAITING);
-        entityManager.persist(approved);
-        entityManager.persist(waiting);
+        Booking oldPast = createBooking(booker, item, now.minusDays(5), now.minusDays(4));
+        oldPast.setStatus(BookingStatus.APPROVED);
+        Booking recentPast = createBooking(booker, item, now.minusDays(2), now.minusDays(1));
+        recentPast.setStatus(BookingStatus.APPROVED);
+        Booking rejectedPast = createBooking(booker, item, now.minusHours(5), now.minusHours(4));
+        rejectedPast.setStatus(BookingStatus.REJECTED);
+        Booking nearFuture = createBooking(booker, anotherItem, now.plusDays(1), now.plusDays(2));
+        nearFuture.setStatus(BookingStatus.APPROVED);
+        Booking farFuture = createBooking(booker, anotherItem, now.plusDays(5), now.plusDays(6));
+        farFuture.setStatus(BookingStatus.APPROVED);
+        List.of(oldPast, recentPast, rejectedPast, nearFuture, farFuture).forEach(entityManager::persist);
         entityManager.flush();
 
         // When
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStatus(owner.getId(), BookingStatus.APPROVED);
+        List<Booking> last = bookingRepository.findLastFinishedBookingsByItems(List.of(item, anotherItem));
+        List<Booking> next = bookingRepository.findNextBookingsByItems(List.of(item, anotherItem));
 
         // Then
-        assertThat(bookings).hasSize(1)
-                .contains(approved);
+        assertThat(last).containsExactly(recentPast);
+        assertThat(next).containsExactly(nearFuture);
     }
 
     @Test
-    void findLastFinishedBookingByItem_ReturnsLastFinishedBooking() {
+    void findAllByUserBookings_ReturnsApprovedBookingsBeforeNow() {
         // Given
-        Booking b1 = createBooking(owner, item, now.minusDays(5), now.minusDays(3));
+        Booking b1 = createBooking(booker, item, now.minusDays(2), now.minusDays(1));
         b1.setStatus(BookingStatus.APPROVED);
-        Booking b2 = createBooking(owner, item, now.minusDays(2), now.minusDays(1));
+        Booking b2 = createBooking(booker, item, now.minusDays(4), now.minusDays(3));
         b2.setStatus(BookingStatus.APPROVED);
         entityManager.persist(b1);
         entityManager.persist(b2);
         entityManager.flush();
 
         // When
-        Optional<Booking> lastBooking = bookingRepository.findLastFinishedBookingByItem(item);
+        List<Booking> bookings = bookingRepository.findAllByUserBookings(booker.getId(), item.getId(), now);
 
         // Then
-        assertTrue(lastBooking.isPresent());
-        assertThat(lastBooking.get()).isEqualTo(b2);
+        assertThat(bookings).hasSize(2)
+                .contains(b1, b2);
     }
 
+    // Вспомогательный метод
     @Test
-    void findNextBookingByItem_ReturnsFirstUpcomingBooking() {
+    void findApprovedPeriodsOrderByStart_ReturnsOnlyApprovedInsideWindowInStartOrder() {
         // Given
-        Booking b1 = createBooking(owner, item, now.plusDays(1), now.plusDays(2));
-        b1.setStatus(BookingStatus.APPROVED);
-        entityManager.persist(b1);
+        Booking later = createBooking(booker, item, now.plusDays(5), now.plusDays(6));
+        later.setStatus(BookingStatus.APPROVED);
+        Booking earlier = createBooking(booker, item, now.minusDays(3), now.minusDays(2));
+        earlier.setStatus(BookingStatus.APPROVED);
+        Booking outside = createBooking(booker, item, now.minusDays(10), now.minusDays(9));
+        outside.setStatus(BookingStatus.APPROVED);
+        Booking waiting = createBooking(booker, item, now.plusDays(1), now.plusDays(2));
+        entityManager.persist(later);
+        entityManager.persist(earlier);
+        entityManager.persist(outside);
+        entityManager.persist(waiting);
         entityManager.flush();
 
         // When
-        Optional<Booking> nextBooking = bookingRepository.findNextBookingByItem(item);
+        List<BookingPeriod> periods = bookingRepository.findApprovedPeriodsOrderByStart(item.getId(),
+                now.minusDays(5), now.plusDays(10));
 
         // Then
-        assertTrue(nextBooking.isPresent());
-        assertThat(nextBooking.get()).isEqualTo(b1);
+        assertThat(periods).extracting(BookingPeriod::bookingId).containsExactly(earlier.getId(), later.getId());
     }
 
     @Test
-    void findAllByUserBookings_ReturnsApprovedBookingsBeforeNow() {
+    void findApprovedPeriods_ReturnsOnlyUnfinishedApprovedInStartOrder() {
         // Given
-        Booking b1 = createBooking(booker, item, now.minusDays(2), now.minusDays(1));
-        b1.setStatus(BookingStatus.APPROVED);
-        Booking b2 = createBooking(booker, item, now.minusDays(4), now.minusDays(3));
-        b2.setStatus(BookingStatus.APPROVED);
-        entityManager.persist(b1);
-        entityManager.persist(b2);
+        Booking later = createBooking(booker, item, now.plusDays(5), now.plusDays(6));
+        later.setStatus(BookingStatus.APPROVED);
+        Booking current = createBooking(booker, item, now.minusDays(1), now.plusDays(1));
+        current.setStatus(BookingStatus.APPROVED);
+        Booking finished = createBooking(booker, item, now.minusDays(3), now.minusDays(2));
+        finished.setStatus(BookingStatus.APPROVED);
+        entityManager.persist(later);
+        entityManager.persist(current);
+        entityManager.persist(finished);
         entityManager.flush();
 
         // When
-        List<Booking> bookings = bookingRepository.findAllByUserBookings(booker.getId(), item.getId(), now);
+        List<BookingPeriod> periods = bookingRepository.findApprovedPeriods(item.getId(), now);
 
         // Then
-        assertThat(bookings).hasSize(2)
-                .contains(b1, b2);
+        assertThat(periods).extracting(BookingPeriod::bookingId).containsExactly(current.getId(), later.getId());
     }
 
-    // Вспомогательный метод
     private Booking createBooking(User user, Item item, LocalDateTime start, LocalDateTime end) {
         return Booking.builder()
                 .booker(user)
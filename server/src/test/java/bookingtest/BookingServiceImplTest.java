@@ -4,30 +4,46 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import ru.practicum.shareit.transaction.RetryingTransactionExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ContextConfiguration;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageRequest;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingPointerService;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
 import ru.practicum.shareit.mappers.BookingMapper;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -47,22 +63,40 @@ public class BookingServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private BookingViewRepository bookingViewRepository;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private ItemBookingPointerService pointerService;
+
+    @Mock
+    private BookingIntervalIndex intervalIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RetryingTransactionExecutor transactionExecutor;
+
     private NewBookingRequest newBookingRequest;
     private BookingDto bookingDto;
     private User booker;
     private Item item;
     private Booking booking;
+    private BookingView bookingView;
     private User owner;
     private LocalDateTime now;
 
     @BeforeEach
     void setUp() {
+        // Исполнитель транзакций в модульных тестах просто выполняет действие один раз
+        lenient().when(transactionExecutor.execute(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
         now = LocalDateTime.now();
 
         owner = new User();
@@ -95,7 +129,7 @@ public class BookingServiceImplTest {
                 .id(1L)
                 .start(LocalDateTime.of(2000, 1, 20, 11, 11))
                 .end(LocalDateTime.of(2000, 1, 21, 11, 11))
-                .item(item)
+                .item(new BookingDto.BookedItem(1L, "itemName", null, true, booker, null))
                 .status(BookingStatus.WAITING)
                 .build();
 
@@ -107,13 +141,22 @@ public class BookingServiceImplTest {
                 .booker(booker)
                 .build();
 
+        bookingView = BookingView.builder()
+                .id(1L)
+                .startTime(booking.getStartTime())
+                .endTime(booking.getEndTime())
+                .bookerId(booker.getId())
+                .bookerName(booker.getName())
+                .itemId(item.getId())
+                .itemName(item.getName())
+                .build();
     }
 
     @Test
     void createBooking_shouldReturnBookingDto_whenDataIsValid() {
 
         when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findWithOwnerById(Mockito.anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.save(Mockito.any())).thenReturn(booking);
         when(bookingMapper.mapToBooking(any(NewBookingRequest.class), any(Item.class), any(User.class))).thenReturn(booking);
         when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(bookingDto);
@@ -129,26 +172,11 @@ public class BookingServiceImplTest {
 
     }
 
-    @Test
-    void getAllItemBooking_withUnknownState_shouldThrowException() {
-        // Given
-        BookingState unknownState = mock(BookingState.class);
-        when(unknownState.toString()).thenReturn("UNKNOWN");
-        when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
-
-        // When & Then
-        assertThatThrownBy(() -> bookingService.getAllItemBooking(1L, unknownState))
-                .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageContaining("Unknown state")
-                .hasMessageContaining("UNKNOWN");
-    }
-
-
     @Test
     void createBooking_shouldReturnBookingDto_whenItemNotFound() {
 
         when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.empty());
+        when(itemRepository.findWithOwnerById(Mockito.anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () ->
                 bookingService.addBooking(newBookingRequest));
@@ -174,7 +202,7 @@ public class BookingServiceImplTest {
 
         newBookingRequest.setStart(newBookingRequest.getEnd().plusDays(10));
         when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findWithOwnerById(Mockito.anyLong())).thenReturn(Optional.of(item));
 
         ValidationException exception = assertThrows(ValidationException.class, () ->
                 bookingService.addBooking(newBookingRequest));
@@ -188,7 +216,7 @@ public class BookingServiceImplTest {
     void createBooking_shouldReturnBookingDto_whenItemNotAvailable() {
         item.setAvailable(false);
         when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findWithOwnerById(Mockito.anyLong())).thenReturn(Optional.of(item));
 
         AccessException exception = assertThrows(AccessException.class, () ->
                 bookingService.addBooking(newBookingRequest));
@@ -201,15 +229,15 @@ public class BookingServiceImplTest {
     @Test
     void getBooking_shouldReturnBookingDto_whenDataIsValid() {
 
-        when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findDetailedById(Mockito.any())).thenReturn(Optional.of(booking));
         when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(bookingDto);
 
         BookingDto result = bookingService.getBookingById(booker.getId(), bookingDto.getId());
 
         assertNotNull(result);
         assertEquals(booking.getId(), result.getId());
-        assertEquals(booking.getItem(), result.getItem());
-        verify(bookingRepository, times(1)).findById(any());
+        assertEquals(booking.getItem().getId(), result.getItem().getId());
+        verify(bookingRepository, times(1)).findDetailedById(any());
 
     }
 
@@ -219,40 +247,40 @@ public class BookingServiceImplTest {
         user.setId(99L);
         booking.setBooker(user);
         item.setOwner(user);
-        when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.ofNullable(booking));
+        when(bookingRepository.findDetailedById(Mockito.any())).thenReturn(Optional.ofNullable(booking));
 
         ValidationException exception = assertThrows(ValidationException.class, () ->
                 bookingService.getBookingById(1L, bookingDto.getId()));
 
-        verify(bookingRepository, times(1)).findById(any());
+        verify(bookingRepository, times(1)).findDetailedById(any());
     }
 
     @Test
     void getAllBooking_shouldReturnListBookingDto_whenDataIsValid() {
 
         when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerId(Mockito.any())).thenReturn(List.of(booking));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBooking(booker.getId(), BookingState.ALL);
+        List<BookingShortDto> result = bookingService.getAllBooking(booker.getId(), BookingState.ALL, BookingPageRequest.firstPage());
 
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(bookingRepository, times(1)).findAllByBookerId(Mockito.any());
+        verify(bookingViewRepository, times(1)).findWindow(any(), any(), any(), any());
     }
 
     @Test
     void getAllBooking_shouldReturnListBookingDto_whenDataIsValidPast() {
 
         when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerIdAndEndTimeIsBefore(Mockito.any(), Mockito.any())).thenReturn(List.of(booking));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBooking(booker.getId(), BookingState.PAST);
+        List<BookingShortDto> result = bookingService.getAllBooking(booker.getId(), BookingState.PAST, BookingPageRequest.firstPage());
 
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(bookingRepository, times(1)).findAllByBookerIdAndEndTimeIsBefore(Mockito.any(), Mockito.any());
+        verify(bookingViewRepository, times(1)).findWindow(any(), any(), any(), any());
 
     }
 
@@ -260,64 +288,63 @@ public class BookingServiceImplTest {
     void getAllBooking_shouldReturnListBookingDto_whenDataIsValidFuture() {
 
         when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerIdAndStartTimeIsAfter(Mockito.any(), Mockito.any())).thenReturn(List.of(booking));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBooking(booker.getId(), BookingState.FUTURE);
+        List<BookingShortDto> result = bookingService.getAllBooking(booker.getId(), BookingState.FUTURE, BookingPageRequest.firstPage());
 
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(bookingRepository, times(1)).findAllByBookerIdAndStartTimeIsAfter(Mockito.any(), Mockito.any());
+        verify(bookingViewRepository, times(1)).findWindow(any(), any(), any(), any());
     }
 
     @Test
     void getAllBooking_shouldReturnListBookingDto_whenDataIsValidCurrent() {
 
         when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerIdAndStartTimeIsBeforeAndEndTimeIsBefore(Mockito.any(), Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class))).thenReturn(List.of(booking));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBooking(booker.getId(), BookingState.CURRENT);
+        List<BookingShortDto> result = bookingService.getAllBooking(booker.getId(), BookingState.CURRENT, BookingPageRequest.firstPage());
 
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(bookingRepository, times(1)).findAllByBookerIdAndStartTimeIsBeforeAndEndTimeIsBefore(Mockito.any(), Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class));
+        verify(bookingViewRepository, times(1)).findWindow(any(), any(), any(), any());
     }
 
     @Test
     void getAllBooking_shouldReturnListBookingDto_whenDataIsValidWaiting() {
 
         when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerIdAndStatus(Mockito.any(), Mockito.any(BookingStatus.class))).thenReturn(List.of(booking));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBooking(booker.getId(), BookingState.WAITING);
+        List<BookingShortDto> result = bookingService.getAllBooking(booker.getId(), BookingState.WAITING, BookingPageRequest.firstPage());
 
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(bookingRepository, times(1)).findAllByBookerIdAndStatus(Mockito.any(), Mockito.any(BookingStatus.class));
+        verify(bookingViewRepository, times(1)).findWindow(any(), any(), any(), any());
     }
 
     @Test
     void getAllBooking_shouldReturnListBookingDto_whenDataIsValidRejected() {
 
         when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findAllByBookerIdAndStatus(Mockito.any(), Mockito.any(BookingStatus.class))).thenReturn(List.of(booking));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(List.of(bookingView), ScrollPosition::offset));
 
-        List<BookingDto> result = bookingService.getAllBooking(booker.getId(), BookingState.REJECTED);
+        List<BookingShortDto> result = bookingService.getAllBooking(booker.getId(), BookingState.REJECTED, BookingPageRequest.firstPage());
 
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(bookingRepository, times(1)).findAllByBookerIdAndStatus(Mockito.any(), Mockito.any(BookingStatus.class));
+        verify(bookingViewRepository, times(1)).findWindow(any(), any(), any(), any());
     }
 
 
     @Test
     void respondToBooking_whenOwnerRejectsBooking_thenRejected() throws JsonProcessingException {
-        when(bookingRepository.findById(anyLong())).thenReturn(java.util.Optional.of(booking));
+        when(bookingRepository.findDetailedById(anyLong())).thenReturn(java.util.Optional.of(booking));
         when(userRepository.findById(anyLong())).thenReturn(java.util.Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(java.util.Optional.of(item));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
         when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(bookingDto);
 
@@ -325,6 +352,8 @@ public class BookingServiceImplTest {
         BookingDto result = bookingService.respondToBooking(1L, 1L, false);
 
         verify(bookingRepository).save(booking);
+        verify(pointerService).refresh(item);
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(item.getId()));
     }
 
     @Test
@@ -343,249 +372,250 @@ public class BookingServiceImplTest {
 
     @Test
     void respondToBooking_whenUserIsNotOwner_thenAccessExceptionThrown() {
-        when(bookingRepository.findById(1L)).thenReturn(java.util.Optional.of(booking));
+        when(bookingRepository.findDetailedById(1L)).thenReturn(java.util.Optional.of(booking));
         when(userRepository.findById(200L)).thenReturn(java.util.Optional.of(booker));
-        when(itemRepository.findById(1L)).thenReturn(java.util.Optional.of(item));
 
         assertThrows(AccessException.class, () -> bookingService.respondToBooking(200L, 1L, true));
     }
 
     @Test
-    void whenStateAll_ShouldCallFindAllByItemOwnerId() {
+    void whenStateAll_ShouldQueryOwnerBookings() {
         // Given
-        List<Booking> bookings = List.of(createBooking(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING));
-        when(bookingRepository.findAllByItemOwnerId(owner.getId())).thenReturn(bookings);
+        List<BookingView> bookings = List.of(createBookingView(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(bookings, ScrollPosition::offset));
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
         // When
-        List<BookingDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.ALL);
+        List<BookingShortDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.ALL, BookingPageRequest.firstPage());
 
         // Then
-        verify(bookingRepository).findAllByItemOwnerId(owner.getId());
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
         assertThat(result).hasSize(1);
     }
 
     @Test
-    void whenStateCurrent_ShouldCallFindAllByItemOwnerIdAndStartTimeIsBeforeAndEndTimeIsBefore() {
+    void whenStateCurrent_ShouldQueryOwnerBookings() {
         // Given
-        BookingDto mockedDto = BookingDto.builder()
+        BookingShortDto mockedDto = BookingShortDto.builder()
                 .id(booking.getId())
                 .status(booking.getStatus())
                 .build();
-        List<Booking> bookings = List.of(createBooking(now.minusDays(1), now.minusHours(1), BookingStatus.WAITING));
-        when(bookingRepository.findAllByItemOwnerIdAndStartTimeIsBeforeAndEndTimeIsBefore(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(bookings);
-        when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(mockedDto);
+        List<BookingView> bookings = List.of(createBookingView(now.minusDays(1), now.minusHours(1), BookingStatus.WAITING));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(bookings, ScrollPosition::offset));
+        when(bookingMapper.mapToShortDto(any(BookingView.class))).thenReturn(mockedDto);
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
         // When
-        List<BookingDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.CURRENT);
+        List<BookingShortDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.CURRENT, BookingPageRequest.firstPage());
 
         // Then
-        verify(bookingRepository).findAllByItemOwnerIdAndStartTimeIsBeforeAndEndTimeIsBefore(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
         assertThat(result).hasSize(1);
     }
 
     @Test
-    void whenStatePast_ShouldCallFindAllByItemOwnerIdAndEndTimeIsBefore() {
+    void whenStatePast_ShouldQueryOwnerBookings() {
         // Given
-        Booking booking = createBooking(now.minusDays(2), now.minusDays(1), BookingStatus.WAITING);
+        BookingView booking = createBookingView(now.minusDays(2), now.minusDays(1), BookingStatus.WAITING);
 
-        List<Booking> bookings = List.of(booking);
+        List<BookingView> bookings = List.of(booking);
 
-        BookingDto mockedDto = BookingDto.builder()
+        BookingShortDto mockedDto = BookingShortDto.builder()
                 .id(booking.getId())
                 .status(booking.getStatus())
                 .build();
 
         // Мокаем репозиторий
-        when(bookingRepository.findAllByItemOwnerIdAndEndTimeIsBefore(anyLong(), any(LocalDateTime.class))).thenReturn(bookings);
-        when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(mockedDto);
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(bookings, ScrollPosition::offset));
+        when(bookingMapper.mapToShortDto(any(BookingView.class))).thenReturn(mockedDto);
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
         // When
-        List<BookingDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.PAST);
+        List<BookingShortDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.PAST, BookingPageRequest.firstPage());
 
         // Then
-        verify(bookingRepository).findAllByItemOwnerIdAndEndTimeIsBefore(anyLong(), any());
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
         assertThat(result).hasSize(1);
     }
 
     @Test
-    void whenStateFuture_ShouldCallFindAllByItemOwnerIdAndStartTimeIsAfter() {
+    void whenStateFuture_ShouldQueryOwnerBookings() {
         // Given
-        BookingDto mockedDto = BookingDto.builder()
+        BookingShortDto mockedDto = BookingShortDto.builder()
                 .id(booking.getId())
                 .status(booking.getStatus())
                 .build();
-        List<Booking> bookings = List.of(createBooking(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING));
-        when(bookingRepository.findAllByItemOwnerIdAndStartTimeIsAfter(anyLong(), any(LocalDateTime.class))).thenReturn(bookings);
-        when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(mockedDto);
+        List<BookingView> bookings = List.of(createBookingView(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(bookings, ScrollPosition::offset));
+        when(bookingMapper.mapToShortDto(any(BookingView.class))).thenReturn(mockedDto);
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
         // When
-        List<BookingDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.FUTURE);
+        List<BookingShortDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.FUTURE, BookingPageRequest.firstPage());
 
         // Then
-        verify(bookingRepository).findAllByItemOwnerIdAndStartTimeIsAfter(anyLong(), any(LocalDateTime.class));
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
         assertThat(result).hasSize(1);
     }
 
     @Test
-    void whenStateWaiting_ShouldCallFindAllByItemOwnerIdAndStatus() {
+    void whenStateWaiting_ShouldQueryOwnerBookings() {
         // Given
-        List<Booking> bookings = List.of(createBooking(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING));
-        when(bookingRepository.findAllByItemOwnerIdAndStatus(owner.getId(), BookingStatus.WAITING)).thenReturn(bookings);
+        List<BookingView> bookings = List.of(createBookingView(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(bookings, ScrollPosition::offset));
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
         // When
-        List<BookingDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.WAITING);
+        List<BookingShortDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.WAITING, BookingPageRequest.firstPage());
 
         // Then
-        verify(bookingRepository).findAllByItemOwnerIdAndStatus(owner.getId(), BookingStatus.WAITING);
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
         assertThat(result).hasSize(1);
     }
 
     @Test
-    void whenStateRejected_ShouldCallFindAllByItemOwnerIdAndStatus() {
+    void whenStateRejected_ShouldQueryOwnerBookings() {
         // Given
-        List<Booking> bookings = List.of(createBooking(now.minusDays(2), now.minusDays(1), BookingStatus.REJECTED));
-        when(bookingRepository.findAllByItemOwnerIdAndStatus(owner.getId(), BookingStatus.REJECTED)).thenReturn(bookings);
+        List<BookingView> bookings = List.of(createBookingView(now.minusDays(2), now.minusDays(1), BookingStatus.REJECTED));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(bookings, ScrollPosition::offset));
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
         // When
-        List<BookingDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.REJECTED);
+        List<BookingShortDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.REJECTED, BookingPageRequest.firstPage());
 
         // Then
-        verify(bookingRepository).findAllByItemOwnerIdAndStatus(owner.getId(), BookingStatus.REJECTED);
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
         assertThat(result).hasSize(1);
     }
 
     @Test
     void whenUnknownState_ShouldThrowIllegalArgumentException() {
         assertThrows(NotFoundException.class,
-                () -> bookingService.getAllItemBooking(owner.getId(), mock(BookingState.class)));
+                () -> bookingService.getAllItemBooking(owner.getId(), mock(BookingState.class), BookingPageRequest.firstPage()));
     }
 
     @Test
     void whenNoBookingsFound_ShouldReturnEmptyList() {
         // Given
-        when(bookingRepository.findAllByItemOwnerId(owner.getId())).thenReturn(List.of());
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(List.of(), ScrollPosition::offset));
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
         // When
-        List<BookingDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.ALL);
+        List<BookingShortDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.ALL, BookingPageRequest.firstPage());
 
         // Then
         assertThat(result).isEmpty();
     }
 
     // Вспомогательный метод для создания бронирований
-    private Booking createBooking(LocalDateTime start, LocalDateTime end, BookingStatus status) {
-        return Booking.builder()
+    private BookingView createBookingView(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return BookingView.builder()
                 .id(1L)
                 .startTime(start)
                 .endTime(end)
                 .status(status)
-                .item(item)
-                .booker(User.builder().id(2L).build())
+                .itemId(item.getId())
+                .itemName(item.getName())
+                .itemOwnerId(item.getOwner().getId())
+                .bookerId(2L)
                 .build();
     }
 
     @Test
     void getAllBooking_withStateAll_shouldReturnAllBookings() {
         Long userId = 1L;
-        List<Booking> bookings = List.of(new Booking(), new Booking());
+        List<BookingView> bookings = List.of(new BookingView(), new BookingView());
 
-        when(bookingRepository.findAllByBookerId(userId)).thenReturn(bookings);
-        when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(new BookingDto());
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(bookings, ScrollPosition::offset));
+        when(bookingMapper.mapToShortDto(any(BookingView.class))).thenReturn(new BookingShortDto());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
-        List<BookingDto> result = bookingService.getAllBooking(userId, BookingState.ALL);
+        List<BookingShortDto> result = bookingService.getAllBooking(userId, BookingState.ALL, BookingPageRequest.firstPage());
 
         assertThat(result).hasSize(2);
-        verify(bookingRepository).findAllByBookerId(anyLong());
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
     }
 
     // === Тест: getAllBooking с CURRENT ===
     @Test
     void getAllBooking_withStateCurrent_shouldReturnCurrentBookings() {
         Long userId = 1L;
-        List<Booking> bookings = List.of(new Booking());
-        when(bookingRepository.findAllByBookerIdAndStartTimeIsBeforeAndEndTimeIsBefore(any(), any(), any()))
-                .thenReturn(bookings);
-        when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(new BookingDto());
+        List<BookingView> bookings = List.of(new BookingView());
+        when(bookingViewRepository.findWindow(any(), any(), any(), any()))
+                .thenReturn(Window.from(bookings, ScrollPosition::offset));
+        when(bookingMapper.mapToShortDto(any(BookingView.class))).thenReturn(new BookingShortDto());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
-        List<BookingDto> result = bookingService.getAllBooking(userId, BookingState.CURRENT);
+        List<BookingShortDto> result = bookingService.getAllBooking(userId, BookingState.CURRENT, BookingPageRequest.firstPage());
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findAllByBookerIdAndStartTimeIsBeforeAndEndTimeIsBefore(any(), any(), any());
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
     }
 
     // === Тест: getAllBooking с PAST ===
     @Test
     void getAllBooking_withStatePast_shouldReturnPastBookings() {
         Long userId = 1L;
-        List<Booking> bookings = List.of(new Booking());
-        when(bookingRepository.findAllByBookerIdAndEndTimeIsBefore(anyLong(), any())).thenReturn(bookings);
-        when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(new BookingDto());
+        List<BookingView> bookings = List.of(new BookingView());
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(bookings, ScrollPosition::offset));
+        when(bookingMapper.mapToShortDto(any(BookingView.class))).thenReturn(new BookingShortDto());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
 
-        List<BookingDto> result = bookingService.getAllBooking(userId, BookingState.PAST);
+        List<BookingShortDto> result = bookingService.getAllBooking(userId, BookingState.PAST, BookingPageRequest.firstPage());
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findAllByBookerIdAndEndTimeIsBefore(anyLong(), any());
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
     }
 
     // === Тест: getAllBooking с FUTURE ===
     @Test
     void getAllBooking_withStateFuture_shouldReturnFutureBookings() {
         Long userId = 1L;
-        List<Booking> bookings = List.of(new Booking());
-        when(bookingRepository.findAllByBookerIdAndStartTimeIsAfter(anyLong(), any())).thenReturn(bookings);
-        when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(new BookingDto());
+        List<BookingView> bookings = List.of(new BookingView());
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(bookings, ScrollPosition::offset));
+        when(bookingMapper.mapToShortDto(any(BookingView.class))).thenReturn(new BookingShortDto());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
-        List<BookingDto> result = bookingService.getAllBooking(userId, BookingState.FUTURE);
+        List<BookingShortDto> result = bookingService.getAllBooking(userId, BookingState.FUTURE, BookingPageRequest.firstPage());
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findAllByBookerIdAndStartTimeIsAfter(anyLong(), any());
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
     }
 
     // === Тест: getAllBooking с WAITING ===
     @Test
     void getAllBooking_withStateWaiting_shouldReturnWaitingBookings() {
         Long userId = 1L;
-        List<Booking> bookings = List.of(new Booking());
-        when(bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.WAITING)).thenReturn(bookings);
-        when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(new BookingDto());
+        List<BookingView> bookings = List.of(new BookingView());
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(bookings, ScrollPosition::offset));
+        when(bookingMapper.mapToShortDto(any(BookingView.class))).thenReturn(new BookingShortDto());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
 
-        List<BookingDto> result = bookingService.getAllBooking(userId, BookingState.WAITING);
+        List<BookingShortDto> result = bookingService.getAllBooking(userId, BookingState.WAITING, BookingPageRequest.firstPage());
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findAllByBookerIdAndStatus(userId, BookingStatus.WAITING);
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
     }
 
     // === Тест: getAllBooking с REJECTED ===
     @Test
     void getAllBooking_withStateRejected_shouldReturnRejectedBookings() {
         Long userId = 1L;
-        List<Booking> bookings = List.of(new Booking());
-        when(bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.REJECTED)).thenReturn(bookings);
-        when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(new BookingDto());
+        List<BookingView> bookings = List.of(new BookingView());
+        when(bookingViewRepository.findWindow(any(), any(), any(), any())).thenReturn(Window.from(bookings, ScrollPosition::offset));
+        when(bookingMapper.mapToShortDto(any(BookingView.class))).thenReturn(new BookingShortDto());
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        List<BookingDto> result = bookingService.getAllBooking(userId, BookingState.REJECTED);
+        List<BookingShortDto> result = bookingService.getAllBooking(userId, BookingState.REJECTED, BookingPageRequest.firstPage());
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findAllByBookerIdAndStatus(userId, BookingStatus.REJECTED);
+        verify(bookingViewRepository).findWindow(any(), any(), any(), any());
     }
 
     // === Тест: getAllBooking с неверным состоянием ===
     @Test
     void getAllBooking_withUnknownState_shouldThrowException() {
-        assertThatThrownBy(() -> bookingService.getAllBooking(1L, mock(BookingState.class)))
+        assertThatThrownBy(() -> bookingService.getAllBooking(1L, mock(BookingState.class), BookingPageRequest.firstPage()))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Пользователь с id:1 не найден");
     }
@@ -593,12 +623,137 @@ public class BookingServiceImplTest {
     // === Тест: getAllBooking без userId ===
     @Test
     void getAllBooking_withNullUserId_shouldThrowValidationException() {
-        assertThatThrownBy(() -> bookingService.getAllBooking(null, BookingState.ALL))
+        assertThatThrownBy(() -> bookingService.getAllBooking(null, BookingState.ALL, BookingPageRequest.firstPage()))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("id не может быть null");
     }
 
+    // === Тест: getAllBooking с курсором ===
+    @Test
+    void getAllBooking_withCursor_shouldPassKeysetPositionAndLimit() {
+        Long userId = 1L;
+        LocalDateTime afterStart = LocalDateTime.of(2030, 1, 1, 12, 0);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any()))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset));
+
+        bookingService.getAllBooking(userId, BookingState.ALL, new BookingPageRequest(0, 5, afterStart, 7L));
+
+        verify(bookingViewRepository).findWindow(any(), eq(ScrollPosition.forward(Map.of("startTime", afterStart, "id", 7L))), eq(Limit.of(5)), any());
+    }
+
+    @Test
+    void getAllItemBooking_withOffset_shouldStartAfterPreviousRows() {
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(bookingViewRepository.findWindow(any(), any(), any(), any()))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset));
+
+        bookingService.getAllItemBooking(owner.getId(), BookingState.ALL, new BookingPageRequest(20, 10, null, null));
+
+        verify(bookingViewRepository).findWindow(any(), eq(ScrollPosition.offset(19)), eq(Limit.of(10)), any());
+    }
+
+    @Test
+    void getAllBooking_withIncompleteCursor_shouldThrowValidationException() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
+
+        assertThatThrownBy(() -> bookingService.getAllBooking(1L, BookingState.ALL,
+                new BookingPageRequest(0, 10, LocalDateTime.now(), null)))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void getAllBooking_withNonPositiveSize_shouldThrowValidationException() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
+
+        assertThatThrownBy(() -> bookingService.getAllBooking(1L, BookingState.ALL, new BookingPageRequest(0, 0, null, null)))
+                .isInstanceOf(ValidationException.class);
+    }
+
     // === Тест: respondToBooking успешно APPROVED ===
+    @Test
+    void respondToBooking_approve_shouldLockItemAndRegisterInterval() throws JsonProcessingException {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findDetailedById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsOtherApprovedOverlap(item.getId(), booking.getStartTime(), booking.getEndTime(), 1L))
+                .thenReturn(false);
+        when(bookingMapper.mapToDto(booking)).thenReturn(bookingDto);
+
+        bookingService.respondToBooking(1L, 1L, true);
+
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.APPROVED);
+        InOrder order = inOrder(itemRepository, bookingRepository);
+        order.verify(itemRepository).findLockedById(item.getId());
+        order.verify(bookingRepository).existsOtherApprovedOverlap(item.getId(), booking.getStartTime(), booking.getEndTime(), 1L);
+        order.verify(bookingRepository).saveAndFlush(booking);
+        verify(intervalIndex).onApproved(item.getId(), new BookingPeriod(1L, booking.getStartTime(), booking.getEndTime()));
+    }
+
+    @Test
+    void respondToBooking_whenBookingExpired_shouldThrowValidationException() {
+        booking.setStatus(BookingStatus.CANCELED);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findDetailedById(1L)).thenReturn(Optional.of(booking));
+
+        assertThrows(ValidationException.class, () -> bookingService.respondToBooking(1L, 1L, true));
+        verify(itemRepository, never()).findLockedById(any());
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void respondToBooking_approveOverlapping_shouldThrowAccessException() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findDetailedById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsOtherApprovedOverlap(item.getId(), booking.getStartTime(), booking.getEndTime(), 1L))
+                .thenReturn(true);
+
+        assertThrows(AccessException.class, () -> bookingService.respondToBooking(1L, 1L, true));
+
+        assertThat(booking.getStatus()).isNotEqualTo(BookingStatus.APPROVED);
+        verify(bookingRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(intervalIndex, eventPublisher);
+    }
+
+    @Test
+    void respondToBooking_rejectApproved_shouldRemoveInterval() throws JsonProcessingException {
+        booking.setStatus(BookingStatus.APPROVED);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findDetailedById(1L)).thenReturn(Optional.of(booking));
+        when(bookingMapper.mapToDto(booking)).thenReturn(bookingDto);
+
+        bookingService.respondToBooking(1L, 1L, false);
+
+        verify(intervalIndex).onRevoked(item.getId(), new BookingPeriod(1L, booking.getStartTime(), booking.getEndTime()));
+        verify(itemRepository, never()).findLockedById(any());
+    }
+
+    @Test
+    void createBooking_whenIndexAndDatabaseSeeOverlap_shouldThrowAccessException() {
+        when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findWithOwnerById(Mockito.anyLong())).thenReturn(Optional.of(item));
+        when(intervalIndex.mightOverlap(item.getId(), newBookingRequest.getStart(), newBookingRequest.getEnd())).thenReturn(true);
+        when(bookingRepository.existsApprovedOverlap(item.getId(), newBookingRequest.getStart(), newBookingRequest.getEnd()))
+                .thenReturn(true);
+
+        assertThrows(AccessException.class, () -> bookingService.addBooking(newBookingRequest));
+
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createBooking_whenIndexIsStale_shouldInvalidateItAndSave() {
+        when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findWithOwnerById(Mockito.anyLong())).thenReturn(Optional.of(item));
+        when(intervalIndex.mightOverlap(item.getId(), newBookingRequest.getStart(), newBookingRequest.getEnd())).thenReturn(true);
+        when(bookingMapper.mapToBooking(any(NewBookingRequest.class), any(Item.class), any(User.class))).thenReturn(booking);
+        when(bookingRepository.save(any())).thenReturn(booking);
+
+        bookingService.addBooking(newBookingRequest);
+
+        verify(intervalIndex).invalidate(item.getId());
+        verify(bookingRepository).save(booking);
+    }
+
 
     // === Тест: respondToBooking отклонение (REJECT) ===
     @Test
@@ -615,9 +770,8 @@ public class BookingServiceImplTest {
         booking.setItem(item);
         booking.setStatus(BookingStatus.WAITING);
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findDetailedById(bookingId)).thenReturn(Optional.of(booking));
         when(userRepository.findById(userId)).thenReturn(Optional.of(new User()));
-        when(itemRepository.findById(10L)).thenReturn(Optional.of(item));
 
         // Установим владельца
         User owner = new User();
@@ -5,31 +5,43 @@ import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ContextConfiguration;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.BookingPageRequest;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.item.service.ItemBookingPointerService;
 import ru.practicum.shareit.mappers.BookingMapper;
+import ru.practicum.shareit.transaction.RetryingTransactionExecutor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
-@Import({BookingServiceImpl.class})
+@Import({BookingServiceImpl.class, BookingIntervalIndex.class, ItemBookingPointerService.class, RetryingTransactionExecutor.class,
+        BookingServiceIntegrationTest.CacheTestConfig.class})
 @ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
 class BookingServiceIntegrationTest {
 
@@ -45,6 +57,9 @@ class BookingServiceIntegrationTest {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingIntervalIndex intervalIndex;
+
     @MockBean
     private BookingMapper bookingMapper; // можно заменить на реальный маппер, если он есть
 
@@ -58,7 +73,8 @@ class BookingServiceIntegrationTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        now = LocalDateTime.now();
+        // H2 хранит время с точностью до микросекунд
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
         booking = new Booking();
         booking.setId(500L);
@@ -108,7 +124,7 @@ class BookingServiceIntegrationTest {
     @Test
     void getAllBooking_WhenStateAll_ShouldReturnAllForBooker() {
         createAndSaveBooking();
-        List<BookingDto> bookings = bookingService.getAllBooking(booker.getId(), BookingState.ALL);
+        List<BookingShortDto> bookings = bookingService.getAllBooking(booker.getId(), BookingState.ALL, BookingPageRequest.firstPage());
 
         assertNotNull(bookings);
         assertThat(bookings).hasSize(1);
@@ -135,6 +151,53 @@ class BookingServiceIntegrationTest {
 
     }
 
+    @Test
+    void respondToBooking_WhenApproved_ShouldUpdateItemBookingPointers() throws Exception {
+        Booking waitingBooking = createAndSaveBooking();
+
+        bookingService.respondToBooking(owner.getId(), waitingBooking.getId(), true);
+
+        Item updated = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(waitingBooking.getId(), updated.getNextBookingId());
+        assertNull(updated.getLastBookingId());
+    }
+
+    @Test
+    void respondToBooking_WhenApprovingOverlap_ShouldThrowAccessException() throws Exception {
+        Booking first = saveWaiting(now.plusDays(1), now.plusDays(3));
+        Booking overlapping = saveWaiting(now.plusDays(2), now.plusDays(4));
+        Booking adjacent = saveWaiting(now.plusDays(3), now.plusDays(5));
+
+        bookingService.respondToBooking(owner.getId(), first.getId(), true);
+
+        assertThrows(AccessException.class,
+                () -> bookingService.respondToBooking(owner.getId(), overlapping.getId(), true));
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(overlapping.getId()).orElseThrow().getStatus());
+        // Полуинтервалы: бронь, начинающаяся в момент окончания предыдущей, не пересекается с ней
+        bookingService.respondToBooking(owner.getId(), adjacent.getId(), true);
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(adjacent.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void intervalIndex_ShouldLoadApprovedPeriodsOfItem() throws Exception {
+        Booking approved = saveWaiting(now.plusDays(1), now.plusDays(3));
+        bookingService.respondToBooking(owner.getId(), approved.getId(), true);
+
+        assertTrue(intervalIndex.mightOverlap(item.getId(), now.plusDays(2), now.plusDays(6)));
+        assertFalse(intervalIndex.mightOverlap(item.getId(), now.plusDays(3), now.plusDays(6)));
+        assertFalse(intervalIndex.mightOverlap(item.getId(), now, now.plusDays(1)));
+    }
+
+    private Booking saveWaiting(LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder()
+                .startTime(start)
+                .endTime(end)
+                .status(BookingStatus.WAITING)
+                .item(item)
+                .booker(booker)
+                .build());
+    }
+
     @Test
     void getAllItemBooking_WhenStateAll_ShouldReturnAllBookingsForOwner() {
         Booking b1 = Booking.builder()
@@ -146,7 +209,7 @@ class BookingServiceIntegrationTest {
                 .build();
         bookingRepository.save(b1);
 
-        List<BookingDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.ALL);
+        List<BookingShortDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.ALL, BookingPageRequest.firstPage());
 
         assertNotNull(result);
         assertThat(result).hasSize(1);
@@ -163,7 +226,7 @@ class BookingServiceIntegrationTest {
                 .build();
         bookingRepository.save(b1);
 
-        List<BookingDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.WAITING);
+        List<BookingShortDto> result = bookingService.getAllItemBooking(owner.getId(), BookingState.WAITING, BookingPageRequest.firstPage());
 
         assertNotNull(result);
         assertThat(result).hasSize(1);
@@ -181,4 +244,14 @@ class BookingServiceIntegrationTest {
 
         return bookingRepository.save(booking);
     }
-}
\ No newline at end of file
+
+    // Срез @DataJpaTest не поднимает кэши приложения: индексу интервалов достаточно простого кэша в памяти
+    @TestConfiguration
+    static class CacheTestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(BookingIntervalIndex.BOOKING_PERIODS);
+        }
+    }
+}
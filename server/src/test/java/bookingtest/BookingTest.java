@@ -1,5 +1,6 @@
 package bookingtest;
 
+import org.hibernate.LazyInitializationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +15,7 @@ import ru.practicum.shareit.user.User;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -125,6 +127,28 @@ class BookingTest {
         assertThat(b1.hashCode()).isNotEqualTo(b3.hashCode());
     }
 
+    @Test
+    void equalsAndHashCode_ShouldNotTouchLazyBookerAndItem() {
+        // Незагруженные ленивые связи вне сессии бросают исключение на любое обращение
+        User detachedBooker = new User() {
+            @Override
+            public int hashCode() {
+                throw new LazyInitializationException("booker");
+            }
+        };
+        Item detachedItem = new Item() {
+            @Override
+            public int hashCode() {
+                throw new LazyInitializationException("item");
+            }
+        };
+        Booking b1 = Booking.builder().id(1L).booker(detachedBooker).item(detachedItem).status(BookingStatus.WAITING).build();
+        Booking b2 = Booking.builder().id(1L).booker(detachedBooker).item(detachedItem).status(BookingStatus.WAITING).build();
+
+        assertThat(b1.hashCode()).isEqualTo(b2.hashCode());
+        assertThat(Set.of(b1)).contains(b2);
+    }
+
 
     @Test
     void serializeToJson_ShouldIncludeAllFields() throws IOException {
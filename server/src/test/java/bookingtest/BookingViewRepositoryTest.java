@@ -0,0 +1,349 @@
+package bookingtest;
+
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.repository.BookingViewSpecifications.bookedBy;
+import static ru.practicum.shareit.booking.repository.BookingViewSpecifications.inState;
+import static ru.practicum.shareit.booking.repository.BookingViewSpecifications.ownedBy;
+
+@DataJpaTest
+@ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
+public class BookingViewRepositoryTest {
+
+    private static final ScrollPosition FIRST_PAGE = ScrollPosition.offset();
+    private static final Sort ORDER = Sort.by(Sort.Direction.DESC, "startTime", "id");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingViewRepository bookingViewRepository;
+
+    private User booker;
+    private User owner;
+    private Item item;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+
+        // Создаём пользователей
+        booker = new User();
+        booker.setName("Booker");
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@example.com");
+        entityManager.persist(owner);
+
+        // Создаём вещь
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Electric drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        entityManager.persist(item);
+
+        entityManager.flush();
+    }
+
+    @Test
+    void bookedBy_ReturnsFlatRowWithBookerAndItemNames() {
+        Booking booking = createBooking(booker, item, now.plusDays(1), now.plusDays(2));
+        entityManager.persist(booking);
+        entityManager.flush();
+
+        List<BookingView> bookings = bookingViewRepository.findWindow(bookedBy(booker.getId()), FIRST_PAGE, Limit.of(10), ORDER).getContent();
+
+        assertThat(bookings).hasSize(1);
+        BookingView view = bookings.get(0);
+        assertThat(view.getId()).isEqualTo(booking.getId());
+        assertThat(view.getStatus()).isEqualTo(BookingStatus.WAITING);
+        assertThat(view.getBookerId()).isEqualTo(booker.getId());
+        assertThat(view.getBookerName()).isEqualTo("Booker");
+        assertThat(view.getItemId()).isEqualTo(item.getId());
+        assertThat(view.getItemName()).isEqualTo("Drill");
+        assertThat(view.getItemOwnerId()).isEqualTo(owner.getId());
+    }
+
+    @Test
+    void bookedByInStateAll_ReturnsAllBookingsForUser() {
+        // Given
+        Booking booking1 = createBooking(booker, item, now.plusDays(1), now.plusDays(2));
+        Booking booking2 = createBooking(booker, item, now.plusDays(3), now.plusDays(4));
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.flush();
+
+        // When
+        List<BookingView> bookings = bookingViewRepository.findWindow(bookedBy(booker.getId()), FIRST_PAGE, Limit.of(10), ORDER).getContent();
+
+        // Then
+        assertThat(bookings).hasSize(2)
+                .extracting(BookingView::getId).contains(booking1.getId(), booking2.getId());
+    }
+
+    @Test
+    void bookedByInStateCurrent_ReturnsOngoingBookings() {
+        // Given
+        Booking pastBooking = createBooking(booker, item, now.minusDays(2), now.minusDays(1));
+        Booking ongoing = createBooking(booker, item, now.minusDays(1), now.plusDays(1));
+        Booking futureBooking = createBooking(booker, item, now.plusDays(1), now.plusDays(2));
+        entityManager.persist(pastBooking);
+        entityManager.persist(ongoing);
+        entityManager.persist(futureBooking);
+        entityManager.flush();
+
+        // When
+        List<BookingView> bookings = bookingViewRepository.findWindow(bookedBy(booker.getId()).and(inState(BookingState.CURRENT, now)), FIRST_PAGE, Limit.of(10), ORDER).getContent();
+
+        // Then
+        assertThat(bookings).hasSize(1)
+                .extracting(BookingView::getId).containsExactly(ongoing.getId());
+    }
+
+    @Test
+    void bookedByInStatePast_ReturnsFinishedBookings() {
+        // Given
+        Booking finished = createBooking(booker, item, now.minusDays(2), now.minusDays(1));
+        Booking ongoing = createBooking(booker, item, now.minusDays(1), now.plusDays(1));
+        entityManager.persist(finished);
+        entityManager.persist(ongoing);
+        entityManager.flush();
+
+        // When
+        List<BookingView> bookings = bookingViewRepository.findWindow(bookedBy(booker.getId()).and(inState(BookingState.PAST, now)), FIRST_PAGE, Limit.of(10), ORDER).getContent();
+
+        // Then
+        assertThat(bookings).hasSize(1)
+                .extracting(BookingView::getId).contains(finished.getId());
+    }
+
+    @Test
+    void bookedByInStateFuture_ReturnsFutureBookings() {
+        // Given
+        Booking future = createBooking(booker, item, now.plusDays(1), now.plusDays(2));
+        Booking past = createBooking(booker, item, now.minusDays(2), now.minusDays(1));
+        entityManager.persist(future);
+        entityManager.persist(past);
+        entityManager.flush();
+
+        // When
+        List<BookingView> bookings = bookingViewRepository.findWindow(bookedBy(booker.getId()).and(inState(BookingState.FUTURE, now)), FIRST_PAGE, Limit.of(10), ORDER).getContent();
+
+        // Then
+        assertThat(bookings).hasSize(1)
+                .extracting(BookingView::getId).contains(future.getId());
+    }
+
+    @Test
+    void bookedByInStateWaiting_ReturnsFilteredBookings() {
+        // Given
+        Booking waiting = createBooking(booker, item, now.plusDays(1), now.plusDays(2));
+        waiting.setStatus(BookingStatus.WAITING);
+        Booking approved = createBooking(booker, item, now.plusDays(3), now.plusDays(4));
+        approved.setStatus(BookingStatus.APPROVED);
+        entityManager.persist(waiting);
+        entityManager.persist(approved);
+        entityManager.flush();
+
+        // When
+        List<BookingView> bookings = bookingViewRepository.findWindow(bookedBy(booker.getId()).and(inState(BookingState.WAITING, now)), FIRST_PAGE, Limit.of(10), ORDER).getContent();
+
+        // Then
+        assertThat(bookings).hasSize(1)
+                .extracting(BookingView::getId).contains(waiting.getId());
+    }
+
+    @Test
+    void ownedByInStateAll_ReturnsAllBookingsForOwnerItems() {
+        // Given
+        Item anotherItem = Item.builder()
+                .name("Saw")
+                .description("Hand saw")
+                .available(true)
+                .owner(booker)
+                .build();
+        entityManager.persist(anotherItem);
+
+        Booking bookingForMyItem = createBooking(owner, item, now.plusDays(1), now.plusDays(2));
+        Booking bookingForOtherItem = createBooking(owner, anotherItem, now.plusDays(3), now.plusDays(4));
+        entityManager.persist(bookingForMyItem);
+        entityManager.persist(bookingForOtherItem);
+        entityManager.flush();
+
+        // When
+        List<BookingView> bookings = bookingViewRepository.findWindow(ownedBy(owner.getId()), FIRST_PAGE, Limit.of(10), ORDER).getContent();
+
+        // Then
+        assertThat(bookings).hasSize(1)
+                .extracting(BookingView::getId).contains(bookingForMyItem.getId());
+    }
+
+    @Test
+    void ownedByInStateCurrent_ReturnsOngoingBookingsForOwner() {
+        // Given
+        Booking pastBooking = createBooking(owner, item, now.minusDays(2), now.minusDays(1));
+        Booking ongoing = createBooking(owner, item, now.minusDays(1), now.plusDays(1));
+        Booking futureBooking = createBooking(owner, item, now.plusDays(1), now.plusDays(2));
+        entityManager.persist(pastBooking);
+        entityManager.persist(ongoing);
+        entityManager.persist(futureBooking);
+        entityManager.flush();
+
+        // When
+        List<BookingView> bookings = bookingViewRepository.findWindow(ownedBy(owner.getId()).and(inState(BookingState.CURRENT, now)), FIRST_PAGE, Limit.of(10), ORDER).getContent();
+
+        // Then
+        assertThat(bookings).hasSize(1)
+                .extracting(BookingView::getId).containsExactly(ongoing.getId());
+    }
+
+    @Test
+    void ownedByInStatePast_ReturnsFinishedBookingsForOwner() {
+        // Given
+        Booking finished = createBooking(owner, item, now.minusDays(2), now.minusDays(1));
+        Booking ongoing = createBooking(owner, item, now.minusDays(1), now.plusDays(1));
+        entityManager.persist(finished);
+        entityManager.persist(ongoing);
+        entityManager.flush();
+
+        // When
+        List<BookingView> bookings = bookingViewRepository.findWindow(ownedBy(owner.getId()).and(inState(BookingState.PAST, now)), FIRST_PAGE, Limit.of(10), ORDER).getContent();
+
+        // Then
+        assertThat(bookings).hasSize(1)
+                .extracting(BookingView::getId).contains(finished.getId());
+    }
+
+    @Test
+    void ownedByInStateFuture_ReturnsFutureBookingsForOwner() {
+        // Given
+        Booking future = createBooking(owner, item, now.plusDays(1), now.plusDays(2));
+        Booking past = createBooking(owner, item, now.minusDays(2), now.minusDays(1));
+        entityManager.persist(future);
+        entityManager.persist(past);
+        entityManager.flush();
+
+        // When
+        List<BookingView> bookings = bookingViewRepository.findWindow(ownedBy(owner.getId()).and(inState(BookingState.FUTURE, now)), FIRST_PAGE, Limit.of(10), ORDER).getContent();
+
+        // Then
+        assertThat(bookings).hasSize(1)
+                .extracting(BookingView::getId).contains(future.getId());
+    }
+
+    @Test
+    void ownedByInStateWaiting_ReturnsFilteredBookingsForOwner() {
+        // Given
+        Booking approved = createBooking(owner, item, now.plusDays(1), now.plusDays(2));
+        approved.setStatus(BookingStatus.APPROVED);
+        Booking waiting = createBooking(owner, item, now.plusDays(3), now.plusDays(4));
+        waiting.setStatus(BookingStatus.WAITING);
+        entityManager.persist(approved);
+        entityManager.persist(waiting);
+        entityManager.flush();
+
+        // When
+        List<BookingView> bookings = bookingViewRepository.findWindow(ownedBy(owner.getId()).and(inState(BookingState.WAITING, now)), FIRST_PAGE, Limit.of(10), ORDER).getContent();
+
+        // Then
+        assertThat(bookings).hasSize(1)
+                .extracting(BookingView::getId).contains(waiting.getId());
+    }
+
+    @Test
+    void bookedBy_WithOffsetAndLimit_ReturnsPageOrderedByStartDesc() {
+        // Представление читается из БД, поэтому сравниваем время с её точностью
+        LocalDateTime start = now.truncatedTo(ChronoUnit.SECONDS);
+        for (int day = 1; day <= 5; day++) {
+            entityManager.persist(createBooking(booker, item, start.plusDays(day), start.plusDays(day).plusHours(1)));
+        }
+        entityManager.flush();
+
+        List<BookingView> page = bookingViewRepository.findWindow(bookedBy(booker.getId()), ScrollPosition.offset(1), Limit.of(2), ORDER)
+                .getContent();
+
+        assertThat(page).extracting(BookingView::getStartTime)
+                .containsExactly(start.plusDays(3), start.plusDays(2));
+    }
+
+    @Test
+    void bookedBy_WithKeysetCursor_ContinuesAfterLastSeenBooking() {
+        // Курсор приходит из ответа API, поэтому время в нём уже с точностью БД
+        LocalDateTime start = now.truncatedTo(ChronoUnit.SECONDS);
+        // Два бронирования с одинаковым началом: порядок между ними задаёт booking_id
+        Booking first = createBooking(booker, item, start.plusDays(2), start.plusDays(3));
+        Booking sameStart = createBooking(booker, item, start.plusDays(2), start.plusDays(4));
+        Booking earlier = createBooking(booker, item, start.plusDays(1), start.plusDays(2));
+        entityManager.persist(first);
+        entityManager.persist(sameStart);
+        entityManager.persist(earlier);
+        entityManager.flush();
+
+        Window<BookingView> firstWindow = bookingViewRepository.findWindow(bookedBy(booker.getId()), FIRST_PAGE, Limit.of(1), ORDER);
+        assertThat(firstWindow.getContent()).extracting(BookingView::getId).containsExactly(sameStart.getId());
+        assertTrue(firstWindow.hasNext());
+
+        ScrollPosition cursor = ScrollPosition.forward(Map.of("startTime", sameStart.getStartTime(), "id", sameStart.getId()));
+        List<BookingView> rest = bookingViewRepository.findWindow(bookedBy(booker.getId()), cursor, Limit.of(10), ORDER).getContent();
+
+        assertThat(rest).extracting(BookingView::getId).containsExactly(first.getId(), earlier.getId());
+    }
+
+    @Test
+    void ownedBy_WithKeysetCursor_ReturnsNextPage() {
+        // Курсор приходит из ответа API, поэтому время в нём уже с точностью БД
+        LocalDateTime start = now.truncatedTo(ChronoUnit.SECONDS);
+        Booking newest = createBooking(booker, item, start.plusDays(3), start.plusDays(4));
+        Booking middle = createBooking(booker, item, start.plusDays(2), start.plusDays(3));
+        Booking oldest = createBooking(booker, item, start.plusDays(1), start.plusDays(2));
+        entityManager.persist(newest);
+        entityManager.persist(middle);
+        entityManager.persist(oldest);
+        entityManager.flush();
+
+        ScrollPosition cursor = ScrollPosition.forward(Map.of("startTime", newest.getStartTime(), "id", newest.getId()));
+        List<BookingView> page = bookingViewRepository.findWindow(ownedBy(owner.getId()), cursor, Limit.of(1), ORDER).getContent();
+
+        assertThat(page).extracting(BookingView::getId).containsExactly(middle.getId());
+    }
+
+    private Booking createBooking(User user, Item item, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .booker(user)
+                .item(item)
+                .startTime(start)
+                .endTime(end)
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+}
\ No newline at end of file
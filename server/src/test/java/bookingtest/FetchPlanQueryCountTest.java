@@ -0,0 +1,256 @@
+package bookingtest;
+
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingLifecycleScheduler;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingPointerService;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Каждый эндпоинт загружает ровно тот граф, который отдаёт: число SQL-запросов фиксировано
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
+class FetchPlanQueryCountTest {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private ItemBookingPointerService pointerService;
+
+    // Планировщик жизненного цикла броней не должен добавлять свои запросы в счётчик
+    @MockBean
+    private BookingLifecycleScheduler lifecycleScheduler;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking pastBooking;
+    private Booking waitingBooking;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LocalDateTime now = LocalDateTime.now();
+
+        owner = userRepository.save(User.builder().name("Owner").email(UUID.randomUUID() + "@owner.ru").build());
+        booker = userRepository.save(User.builder().name("Booker").email(UUID.randomUUID() + "@booker.ru").build());
+        item = itemRepository.save(Item.builder().name("Дрель").description("Ударная").available(true).owner(owner).build());
+        pastBooking = bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .startTime(now.minusDays(3)).endTime(now.minusDays(2)).status(BookingStatus.APPROVED).build());
+        waitingBooking = bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .startTime(now.plusDays(2)).endTime(now.plusDays(3)).status(BookingStatus.WAITING).build());
+        pointerService.refresh(item);
+    }
+
+    @Test
+    void addBooking_LoadsBookerAndItemWithOwner() throws Exception {
+        String body = "{\"itemId\": " + item.getId() + ", \"start\": \"" + LocalDateTime.now().plusDays(5)
+                + "\", \"end\": \"" + LocalDateTime.now().plusDays(6) + "\"}";
+
+        long queries = countQueries(() -> mvc.perform(post("/bookings")
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.booker.name").value("Booker"))
+                .andExpect(jsonPath("$.item.owner.name").value("Owner")));
+
+        // пользователь, вещь с владельцем, интервалы вещи для индекса пересечений, insert
+        assertThat(queries).isEqualTo(4);
+
+        String laterBody = "{\"itemId\": " + item.getId() + ", \"start\": \"" + LocalDateTime.now().plusDays(7)
+                + "\", \"end\": \"" + LocalDateTime.now().plusDays(8) + "\"}";
+        long laterQueries = countQueries(() -> mvc.perform(post("/bookings")
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(laterBody))
+                .andExpect(status().isOk()));
+
+        // интервалы уже в индексе: проверка пересечения обходится без запроса
+        assertThat(laterQueries).isEqualTo(3);
+    }
+
+    @Test
+    void getBookingById_LoadsDetailsGraphInOneSelect() throws Exception {
+        long queries = countQueries(() -> mvc.perform(get("/bookings/{id}", waitingBooking.getId())
+                        .header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.booker.name").value("Booker"))
+                .andExpect(jsonPath("$.item.owner.name").value("Owner")));
+
+        assertThat(queries).isEqualTo(1);
+    }
+
+    @Test
+    void bookingOfRequestedItem_CarriesItemRequestInTheSameSelect() throws Exception {
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder().description("Нужна дрель")
+                .requestorId(booker.getId()).createdTime(LocalDateTime.now()).build());
+        Item requestedItem = itemRepository.save(Item.builder().name("Дрель по запросу").description("Ударная")
+                .available(true).owner(owner).request(request).build());
+        String body = "{\"itemId\": " + requestedItem.getId() + ", \"start\": \"" + LocalDateTime.now().plusDays(5)
+                + "\", \"end\": \"" + LocalDateTime.now().plusDays(6) + "\"}";
+
+        String created = mvc.perform(post("/bookings")
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.request.id").value(request.getId()))
+                .andReturn().getResponse().getContentAsString();
+        long bookingId = ((Number) JsonPath.read(created, "$.id")).longValue();
+
+        long queries = countQueries(() -> mvc.perform(get("/bookings/{id}", bookingId)
+                        .header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.request.id").value(request.getId()))
+                .andExpect(jsonPath("$.item.request.description").value("Нужна дрель")));
+
+        assertThat(queries).isEqualTo(1);
+    }
+
+    @Test
+    void respondToBooking_TakesItemFromBookingGraph() throws Exception {
+        long queries = countQueries(() -> mvc.perform(patch("/bookings/{id}", waitingBooking.getId())
+                        .header(USER_HEADER, owner.getId())
+                        .param("approved", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.item.owner.name").value("Owner")));
+
+        // пользователь, бронирование с графом, блокировка вещи, проверка пересечения,
+        // update бронирования, два запроса указателей и update указателей вещи
+        assertThat(queries).isEqualTo(8);
+    }
+
+    @Test
+    void getAllBookings_ReadsOnlyTheView() throws Exception {
+        long queries = countQueries(() -> mvc.perform(get("/bookings")
+                        .header(USER_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].item.name").value("Дрель")));
+
+        // проверка пользователя и одно окно из представления
+        assertThat(queries).isEqualTo(2);
+    }
+
+    @Test
+    void getAllItemBookings_ReadsOnlyTheView() throws Exception {
+        long queries = countQueries(() -> mvc.perform(get("/bookings/owner")
+                        .header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].booker.name").value("Booker")));
+
+        assertThat(queries).isEqualTo(2);
+    }
+
+    @Test
+    void getItemById_ForOwner_LoadsCommentsAndPointedBookings() throws Exception {
+        long queries = countQueries(() -> mvc.perform(get("/items/{id}", item.getId())
+                        .header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastBooking.id").value(pastBooking.getId()))
+                .andExpect(jsonPath("$.lastBooking.booker.name").value("Booker")));
+
+        // владелец вещи, пользователь, вещь, комментарии с авторами, бронирования по указателям
+        assertThat(queries).isEqualTo(5);
+
+        long cachedQueries = countQueries(() -> mvc.perform(get("/items/{id}", item.getId())
+                        .header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastBooking.booker.name").value("Booker")));
+
+        // повторное чтение из кэша: остаётся только проверка пользователя
+        assertThat(cachedQueries).isEqualTo(1);
+    }
+
+    @Test
+    void addComment_EvictsCachedItemCard() throws Exception {
+        mvc.perform(get("/items/{id}", item.getId()).header(USER_HEADER, booker.getId()))
+                .andExpect(jsonPath("$.comments.length()").value(0));
+
+        mvc.perform(post("/items/{id}/comment", item.getId())
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"Отличная дрель\"}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/items/{id}", item.getId()).header(USER_HEADER, booker.getId()))
+                .andExpect(jsonPath("$.comments.length()").value(1))
+                .andExpect(jsonPath("$.comments[0].authorName").value("Booker"));
+    }
+
+    @Test
+    void addComment_LoadsNoAssociationsBeyondAuthorAndItem() throws Exception {
+        long queries = countQueries(() -> mvc.perform(post("/items/{id}/comment", item.getId())
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"Отличная дрель\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authorName").value("Booker")));
+
+        // пользователь, вещь, завершённые бронирования, insert
+        assertThat(queries).isEqualTo(4);
+    }
+
+    private long countQueries(MvcCall call) throws Exception {
+        statistics.clear();
+        call.perform();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @FunctionalInterface
+    private interface MvcCall {
+        ResultActions perform() throws Exception;
+    }
+}
@@ -0,0 +1,77 @@
+package bookingtest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import ru.practicum.shareit.exception.ConcurrentUpdateException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.transaction.RetryingTransactionExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RetryingTransactionExecutorTest {
+
+    private PlatformTransactionManager transactionManager;
+    private RetryingTransactionExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        executor = new RetryingTransactionExecutor(transactionManager, 3, Duration.ZERO);
+    }
+
+    @Test
+    void execute_WhenConflictResolvesOnRetry_ShouldReturnResultOfLastAttempt() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("устаревшая версия");
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(3);
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void execute_WhenAttemptsAreExhausted_ShouldThrowConcurrentUpdateException() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("таймаут блокировки");
+        }))
+                .isInstanceOf(ConcurrentUpdateException.class)
+                .hasCauseInstanceOf(CannotAcquireLockException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void execute_WhenBusinessErrorIsThrown_ShouldNotRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new NotFoundException("нет такой брони");
+        })).isInstanceOf(NotFoundException.class);
+        assertThat(attempts).hasValue(1);
+        verify(transactionManager, times(1)).rollback(any());
+    }
+}
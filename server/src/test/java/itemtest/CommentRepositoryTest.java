@@ -102,4 +102,29 @@ public class CommentRepositoryTest {
         // Then
         assertTrue(comments.isEmpty());
     }
+
+    @Test
+    void findAllByItemIn_ShouldReturnCommentsForAllGivenItems() {
+        // Given
+        Item otherItem = new Item();
+        otherItem.setName("Saw");
+        otherItem.setDescription("Hand saw");
+        otherItem.setAvailable(true);
+        otherItem.setOwner(user);
+        otherItem = entityManager.persist(otherItem);
+
+        Comment otherComment = new Comment();
+        otherComment.setComment("Sharp");
+        otherComment.setItem(otherItem);
+        otherComment.setAuthor(user);
+        otherComment.setCreated(LocalDateTime.now());
+        otherComment = entityManager.persist(otherComment);
+
+        // When
+        List<Comment> comments = commentRepository.findAllByItemIn(List.of(item, otherItem));
+
+        // Then
+        assertThat(comments).hasSize(3)
+                .contains(comment1, comment2, otherComment);
+    }
 }
@@ -0,0 +1,80 @@
+package itemtest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.search.engine=memory")
+@ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
+class InMemoryItemSearchEngineIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemSearchEngine searchEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void search_ShouldFollowCreateUpdateAndDelete() {
+        assertThat(searchEngine).isInstanceOf(InMemoryItemSearchEngine.class);
+        User owner = userRepository.save(User.builder().name("Owner").email("index-owner@example.com").build());
+
+        ItemDto created = itemService.createItem(owner.getId(),
+                ItemDto.builder().name("Стремянка").description("Алюминиевая, 5 ступеней").available(true).build());
+        assertThat(itemService.search("алюмин")).extracting(ItemDto::getId).containsExactly(created.getId());
+
+        itemService.updateItem(created.getId(), owner.getId(), UpdateItemRequest.builder().available(false).build());
+        assertThat(itemService.search("алюмин")).isEmpty();
+
+        itemService.updateItem(created.getId(), owner.getId(), UpdateItemRequest.builder().available(true).build());
+        assertThat(itemService.search("стремян")).extracting(ItemDto::getId).containsExactly(created.getId());
+
+        itemService.deleteItem(created.getId());
+        assertThat(itemService.search("стремян")).isEmpty();
+    }
+
+    @Test
+    void searchFree_ShouldSkipItemsBookedInWindowAndPage() {
+        User owner = userRepository.save(User.builder().name("Owner").email("index-free-owner@example.com").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("index-free-booker@example.com").build());
+        LocalDateTime start = LocalDateTime.of(2031, 6, 6, 18, 0);
+        ItemDto booked = itemService.createItem(owner.getId(),
+                ItemDto.builder().name("Перфоратор занятый").description("SDS").available(true).build());
+        ItemDto first = itemService.createItem(owner.getId(),
+                ItemDto.builder().name("Перфоратор первый").description("SDS").available(true).build());
+        ItemDto second = itemService.createItem(owner.getId(),
+                ItemDto.builder().name("Перфоратор второй").description("SDS").available(true).build());
+        bookingRepository.save(Booking.builder().item(itemRepository.findById(booked.getId()).orElseThrow()).booker(booker)
+                .startTime(start.minusDays(1)).endTime(start.plusDays(1)).status(BookingStatus.APPROVED).build());
+
+        assertThat(itemService.searchFree("перфоратор", start, start.plusDays(2), 0, 10))
+                .extracting(ItemDto::getId).containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(itemService.searchFree("перфоратор", start, start.plusDays(2), 1, 10)).hasSize(1);
+        assertThat(itemService.searchFree("перфоратор", start.plusDays(1), start.plusDays(2), 0, 10)).hasSize(3);
+    }
+}
@@ -0,0 +1,144 @@
+package itemtest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemAvailabilityServiceImpl;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityServiceImplTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ItemAvailabilityServiceImpl availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        availabilityService = new ItemAvailabilityServiceImpl(itemRepository, bookingRepository,
+                new ConcurrentMapCacheManager(ItemAvailabilityServiceImpl.ITEM_AVAILABILITY));
+    }
+
+    @Test
+    void getAvailability_ShouldMergeTouchingBookingsAndClipToWindow() {
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findApprovedPeriods(eq(1L), any())).thenReturn(List.of(
+                period(1, day(1), day(3)),
+                period(2, day(5), day(6)),
+                period(3, day(6), day(7)),
+                period(4, day(6).plusHours(12), day(8)),
+                period(5, day(12), day(20))));
+
+        ItemAvailabilityDto result = availabilityService.getAvailability(1L, day(2), day(15));
+
+        assertThat(result.getBusy()).containsExactly(
+                interval(day(2), day(3)),
+                interval(day(5), day(8)),
+                interval(day(12), day(15)));
+        assertThat(result.getFree()).containsExactly(
+                interval(day(3), day(5)),
+                interval(day(8), day(12)));
+    }
+
+    @Test
+    void getAvailability_WhenWindowMissesAllBookings_ShouldReturnWholeWindowFree() {
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findApprovedPeriods(eq(1L), any())).thenReturn(List.of(
+                period(1, day(1), day(3)),
+                period(2, day(10), day(12))));
+
+        ItemAvailabilityDto result = availabilityService.getAvailability(1L, day(3), day(10));
+
+        assertThat(result.getBusy()).isEmpty();
+        assertThat(result.getFree()).containsExactly(interval(day(3), day(10)));
+    }
+
+    @Test
+    void getAvailability_ShouldReuseCachedTimelineUntilItemChanges() {
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findApprovedPeriods(eq(1L), any()))
+                .thenReturn(List.of(period(1, day(1), day(2))))
+                .thenReturn(List.of(period(1, day(1), day(2)), period(2, day(4), day(5))));
+
+        availabilityService.getAvailability(1L, day(0), day(3));
+        ItemAvailabilityDto cached = availabilityService.getAvailability(1L, day(0), day(10));
+        availabilityService.onItemChanged(new ItemChangedEvent(1L));
+        ItemAvailabilityDto reloaded = availabilityService.getAvailability(1L, day(0), day(10));
+
+        assertThat(cached.getBusy()).hasSize(1);
+        assertThat(reloaded.getBusy()).hasSize(2);
+        verify(bookingRepository, times(2)).findApprovedPeriods(eq(1L), any());
+    }
+
+    @Test
+    void getAvailability_WhenWindowStartsInPast_ShouldReadOnlyWindowWithoutCaching() {
+        LocalDateTime from = LocalDateTime.now().minusDays(10);
+        LocalDateTime to = from.plusDays(5);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findApprovedPeriodsOrderByStart(1L, from, to))
+                .thenReturn(List.of(period(1, from.minusDays(1), from.plusDays(1))));
+
+        ItemAvailabilityDto first = availabilityService.getAvailability(1L, from, to);
+        availabilityService.getAvailability(1L, from, to);
+
+        assertThat(first.getBusy()).containsExactly(interval(from, from.plusDays(1)));
+        assertThat(first.getFree()).containsExactly(interval(from.plusDays(1), to));
+        verify(bookingRepository, times(2)).findApprovedPeriodsOrderByStart(1L, from, to);
+        verify(bookingRepository, never()).findApprovedPeriods(eq(1L), any());
+    }
+
+    @Test
+    void getAvailability_WhenItemIsUnknown_ShouldThrowNotFound() {
+        when(itemRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> availabilityService.getAvailability(99L, day(0), day(1)))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void getAvailability_WhenWindowIsEmpty_ShouldThrowValidation() {
+        assertThatThrownBy(() -> availabilityService.getAvailability(1L, day(2), day(2)))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(itemRepository, bookingRepository);
+    }
+
+    private static LocalDateTime day(int day) {
+        return DAY.plusDays(day);
+    }
+
+    private static BookingPeriod period(long id, LocalDateTime start, LocalDateTime end) {
+        return new BookingPeriod(id, start, end);
+    }
+
+    private static ItemAvailabilityDto.Interval interval(LocalDateTime start, LocalDateTime end) {
+        return new ItemAvailabilityDto.Interval(start, end);
+    }
+}
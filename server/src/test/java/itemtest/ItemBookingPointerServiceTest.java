@@ -0,0 +1,114 @@
+package itemtest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingPointerService;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@Import(ItemBookingPointerService.class)
+@ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
+class ItemBookingPointerServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemBookingPointerService pointerService;
+
+    private User booker;
+    private Item item;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+
+        User owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@example.com");
+        entityManager.persist(owner);
+
+        booker = new User();
+        booker.setName("Booker");
+        booker.setEmail("booker@example.com");
+        entityManager.persist(booker);
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Electric drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        entityManager.persist(item);
+    }
+
+    @Test
+    void refresh_ShouldPointToLastAndNextApprovedBookings() {
+        Booking past = persistBooking(now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED);
+        Booking future = persistBooking(now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED);
+        persistBooking(now.plusHours(1), now.plusHours(2), BookingStatus.WAITING);
+
+        pointerService.refresh(item);
+
+        assertEquals(past.getId(), item.getLastBookingId());
+        assertEquals(future.getId(), item.getNextBookingId());
+    }
+
+    @Test
+    void rollOverStarted_ShouldMoveStartedNextBookingToLast() {
+        Booking started = persistBooking(now.minusMinutes(5), now.plusDays(1), BookingStatus.APPROVED);
+        Booking future = persistBooking(now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+        item.setNextBookingId(started.getId());
+        entityManager.flush();
+
+        assertThat(itemRepository.lockIdsWithStartedNextBooking(now, 10)).containsExactly(item.getId());
+
+        int rolled = pointerService.rollOverStarted(now, 10);
+
+        assertEquals(1, rolled);
+        assertEquals(started.getId(), item.getLastBookingId());
+        assertEquals(future.getId(), item.getNextBookingId());
+    }
+
+    @Test
+    void rollOverStarted_WhenNothingStarted_ShouldNotTouchItems() {
+        Booking future = persistBooking(now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+        item.setNextBookingId(future.getId());
+        entityManager.flush();
+
+        assertEquals(0, pointerService.rollOverStarted(now, 10));
+        assertNull(item.getLastBookingId());
+        assertEquals(future.getId(), item.getNextBookingId());
+        assertThat(itemRepository.lockIdsWithStartedNextBooking(now, 10)).isEqualTo(List.of());
+    }
+
+    private Booking persistBooking(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = Booking.builder()
+                .booker(booker)
+                .item(item)
+                .startTime(start)
+                .endTime(end)
+                .status(status)
+                .build();
+        return entityManager.persist(booking);
+    }
+}
@@ -11,8 +11,12 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.service.ItemAvailabilityService;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
 
@@ -40,6 +44,12 @@ public class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemImportService itemImportService;
+
+    @MockBean
+    private ItemAvailabilityService itemAvailabilityService;
+
     private ItemDto itemDto;
 
     private UpdateItemRequest updateItemRequest;
@@ -66,6 +76,48 @@ public class ItemControllerTest {
                 .build();
     }
 
+    @Test
+    void search_withWindow_shouldReturnFreeItemsPage() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 5, 3, 18, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 5, 5, 18, 0);
+        when(itemService.searchFree("drill", start, end, 20, 10)).thenReturn(List.of(itemDto));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .param("start", "2030-05-03T18:00:00")
+                        .param("end", "2030-05-05T18:00:00")
+                        .param("from", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)));
+
+        verify(itemService, never()).search(any());
+    }
+
+    // --- GET /items/{id}/availability ---
+    @Test
+    void getAvailability_shouldPassWindowAndReturnIntervals() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 10, 0, 0);
+        LocalDateTime busyStart = LocalDateTime.of(2030, 1, 3, 12, 0);
+        LocalDateTime busyEnd = LocalDateTime.of(2030, 1, 5, 12, 0);
+        when(itemAvailabilityService.getAvailability(1L, from, to)).thenReturn(ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .busy(List.of(new ItemAvailabilityDto.Interval(busyStart, busyEnd)))
+                .free(List.of(new ItemAvailabilityDto.Interval(from, busyStart), new ItemAvailabilityDto.Interval(busyEnd, to)))
+                .build());
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-10T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.busy.length()", is(1)))
+                .andExpect(jsonPath("$.busy[0].start", is("2030-01-03T12:00:00")))
+                .andExpect(jsonPath("$.free.length()", is(2)))
+                .andExpect(jsonPath("$.free[1].end", is("2030-01-10T00:00:00")));
+    }
+
     // --- GET /items ---
     @Test
     void getAllItems_shouldReturnListOfItems_whenUserIdProvided() throws Exception {
@@ -150,4 +202,35 @@ public class ItemControllerTest {
 
         verify(itemService).deleteItem(1L);
     }
+
+    @Test
+    void importItems_Csv_ShouldReturnCreatedIds() throws Exception {
+        when(itemImportService.importCsv(eq(1L), any())).thenReturn(new ItemImportResult(1,
+                List.of(new ItemImportResult.Created(1, 10L)), List.of()));
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType("text/csv")
+                        .content("name,description,available\nDrill,Powerful drill,true\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created[0].row", is(1)))
+                .andExpect(jsonPath("$.created[0].id", is(10)));
+
+        verify(itemImportService).importCsv(eq(1L), any());
+        verify(itemImportService, never()).importJson(any(), any());
+    }
+
+    @Test
+    void importItems_Json_ShouldUseJsonReader() throws Exception {
+        when(itemImportService.importJson(eq(1L), any())).thenReturn(new ItemImportResult(0, List.of(), List.of()));
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(0)));
+
+        verify(itemImportService).importJson(eq(1L), any());
+    }
 }
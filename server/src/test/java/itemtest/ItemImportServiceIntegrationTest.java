@@ -0,0 +1,133 @@
+package itemtest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemImportService;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Пачка из двух строк: импорт из нескольких строк проходит через несколько транзакций
+@SpringBootTest(properties = "shareit.items.import.batch-size=2")
+@ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
+class ItemImportServiceIntegrationTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Shop").email(UUID.randomUUID() + "@shop.ru").build());
+        request = itemRequestRepository.save(new ItemRequest(null, "Нужна дрель", owner.getId(), LocalDateTime.now(), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id = ?", owner.getId());
+        itemRequestRepository.deleteById(request.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void importJson_ShouldInsertValidRowsAndReturnTheirIds() {
+        String body = "[" +
+                "{\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true, \"requestId\": " + request.getId() + "}," +
+                "{\"name\": \"\", \"description\": \"Без имени\", \"available\": true}," +
+                "{\"name\": \"Пила\", \"description\": \"Цепная\", \"available\": false}," +
+                "{\"name\": \"Лестница\", \"description\": \"Трёхметровая\", \"available\": true, \"requestId\": -1}," +
+                "{\"name\": \"Молоток\", \"description\": \"Слесарный\"}," +
+                "{\"name\": \"Шуруповёрт\", \"description\": \"Аккумуляторный\", \"available\": true}" +
+                "]";
+
+        ItemImportResult result = itemImportService.importJson(owner.getId(), stream(body));
+
+        assertThat(result.getReceived()).isEqualTo(6);
+        assertThat(result.getCreated()).extracting(ItemImportResult.Created::getRow).containsExactly(1, 3, 6);
+        assertThat(result.getErrors()).extracting(ItemImportResult.RowError::getRow).containsExactly(2, 4, 5);
+        assertThat(result.getErrors().get(1).getReason()).contains("Запроса с id:-1");
+
+        Item drill = itemRepository.findById(result.getCreated().get(0).getId()).orElseThrow();
+        assertThat(drill.getName()).isEqualTo("Дрель");
+        assertThat(drill.getOwner().getId()).isEqualTo(owner.getId());
+        assertThat(drill.getRequest().getId()).isEqualTo(request.getId());
+        Item saw = itemRepository.findById(result.getCreated().get(1).getId()).orElseThrow();
+        assertThat(saw.getName()).isEqualTo("Пила");
+        assertThat(saw.isAvailable()).isFalse();
+        assertThat(saw.getRequest()).isNull();
+    }
+
+    @Test
+    void importCsv_ShouldReadQuotedValuesAndReportBadRows() {
+        String body = "Name,Available,Description,RequestId\n" +
+                "Дрель,true,\"Ударная, с \"\"кейсом\"\"\"," + request.getId() + "\n" +
+                "Пила,maybe,Цепная,\n" +
+                "\n" +
+                "Лестница,false,\"Незакрытая\n" +
+                "Молоток,TRUE,Слесарный,\n";
+
+        ItemImportResult result = itemImportService.importCsv(owner.getId(), stream(body));
+
+        assertThat(result.getReceived()).isEqualTo(4);
+        assertThat(result.getCreated()).extracting(ItemImportResult.Created::getRow).containsExactly(1, 4);
+        assertThat(result.getErrors()).extracting(ItemImportResult.RowError::getRow).containsExactly(2, 3);
+
+        Item drill = itemRepository.findById(result.getCreated().get(0).getId()).orElseThrow();
+        assertThat(drill.getDescription()).isEqualTo("Ударная, с \"кейсом\"");
+        assertThat(drill.getRequest().getId()).isEqualTo(request.getId());
+        assertThat(itemRepository.findById(result.getCreated().get(1).getId()).orElseThrow().isAvailable()).isTrue();
+    }
+
+    @Test
+    void importCsv_WithoutRequiredColumn_ShouldRejectWholeFile() {
+        String body = "name,description\nДрель,Ударная\n";
+
+        assertThatThrownBy(() -> itemImportService.importCsv(owner.getId(), stream(body)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("available");
+    }
+
+    @Test
+    void importJson_ForUnknownOwner_ShouldThrowNotFound() {
+        assertThatThrownBy(() -> itemImportService.importJson(-1L, stream("[]")))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
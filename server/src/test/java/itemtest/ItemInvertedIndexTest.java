@@ -0,0 +1,83 @@
+package itemtest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.ItemInvertedIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemInvertedIndexTest {
+
+    private ItemInvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemInvertedIndex();
+        index.put(1L, "Дрель", "Аккумуляторная дрель", true);
+        index.put(2L, "Отвертка", "Подходит к дрели", true);
+        index.put(3L, "Перфоратор", "Мощнее любой дрели", false);
+        index.put(4L, "Drill", "Cordless DRILL", true);
+    }
+
+    @Test
+    void search_ShouldMatchSubstringIgnoringCase() {
+        assertThat(index.search("ДРЕЛ")).containsExactly(1L, 2L);
+        assertThat(index.search("rill")).containsExactly(4L);
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesFirst() {
+        index.put(5L, "Молоток", "Можно с дрелью", true);
+        index.put(0L, "Дрель ударная", "", true);
+
+        assertThat(index.search("дрел")).containsExactly(0L, 1L, 2L, 5L);
+    }
+
+    @Test
+    void search_ShouldSkipUnavailableItems() {
+        assertThat(index.search("перфоратор")).isEmpty();
+    }
+
+    @Test
+    void search_WithShortQuery_ShouldScanAvailableDocuments() {
+        assertThat(index.search("dr")).containsExactly(4L);
+        assertThat(index.search("ь")).containsExactly(1L);
+    }
+
+    @Test
+    void search_WithBlankOrUnknownText_ShouldReturnNothing() {
+        assertThat(index.search("")).isEmpty();
+        assertThat(index.search("пила")).isEmpty();
+    }
+
+    @Test
+    void put_ShouldReplacePreviousVersionOfItem() {
+        index.put(1L, "Пила", "Ручная", true);
+        index.put(3L, "Перфоратор", "Мощнее любой дрели", true);
+
+        assertThat(index.search("дрел")).containsExactly(2L, 3L);
+        assertThat(index.search("пила")).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void remove_ShouldDropItemFromResults() {
+        index.remove(1L);
+        index.remove(42L);
+
+        assertThat(index.search("дрел")).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void manyUpdates_ShouldCompactWithoutLosingItems() {
+        for (int version = 0; version < 3000; version++) {
+            index.put(100L + version % 10, "Лестница " + version, "Стремянка", true);
+        }
+
+        assertThat(index.size()).isEqualTo(14);
+        assertThat(index.search("стремянка")).hasSize(10);
+        assertThat(index.search("лестница 2999")).containsExactly(109L);
+        assertThat(index.search("дрел")).containsExactly(1L, 2L);
+    }
+}
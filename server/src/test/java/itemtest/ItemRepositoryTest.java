@@ -7,13 +7,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -92,7 +97,7 @@ public class ItemRepositoryTest {
         item2.setOwner(user);
         entityManager.persist(item2);
 
-        List<Item> items = itemRepository.findByNameContainingIgnoreCaseAndAvailableTrueOrDescriptionContainingIgnoreCaseAndAvailableTrue("keyword", "keyword");
+        List<Item> items = itemRepository.search("keyword");
         assertEquals(2, items.size());
     }
 
@@ -105,7 +110,7 @@ public class ItemRepositoryTest {
         item1.setOwner(user);
         entityManager.persist(item1);
 
-        List<Item> items = itemRepository.findByNameContainingIgnoreCaseAndAvailableTrueOrDescriptionContainingIgnoreCaseAndAvailableTrue("nonexistentkeyword", "nonexistentkeyword");
+        List<Item> items = itemRepository.search("nonexistentkeyword");
         assertTrue(items.isEmpty());
     }
 
@@ -115,6 +120,27 @@ public class ItemRepositoryTest {
         assertTrue(items.isEmpty());
     }
 
+    @Test
+    void findAllByRequestIdInWhenItemsAnswerSeveralRequestsThenReturnOnlyThoseItems() {
+        ItemRequest first = entityManager.persist(new ItemRequest(null, "Нужна дрель", user.getId(), LocalDateTime.now(), null));
+        ItemRequest second = entityManager.persist(new ItemRequest(null, "Нужна пила", user.getId(), LocalDateTime.now(), null));
+        ItemRequest other = entityManager.persist(new ItemRequest(null, "Нужен молоток", user.getId(), LocalDateTime.now(), null));
+
+        Item drill = entityManager.persist(Item.builder().name("Дрель").description("Ударная").available(true)
+                .owner(user).request(first).build());
+        Item saw = entityManager.persist(Item.builder().name("Пила").description("Ручная").available(true)
+                .owner(user).request(second).build());
+        entityManager.persist(Item.builder().name("Молоток").description("Стальной").available(true)
+                .owner(user).request(other).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Item> items = itemRepository.findAllByRequestIdIn(List.of(first.getId(), second.getId()));
+
+        assertThat(items).extracting(Item::getId).containsExactlyInAnyOrder(drill.getId(), saw.getId());
+        assertThat(items).extracting(item -> item.getOwner().getId()).containsOnly(user.getId());
+    }
+
     @Test
     void searchItemsWhenItemNotAvailableThenReturnEmptyList() {
         Item item1 = new Item();
@@ -124,7 +150,7 @@ public class ItemRepositoryTest {
         item1.setOwner(user);
         entityManager.persist(item1);
 
-        List<Item> items = itemRepository.findByNameContainingIgnoreCaseAndAvailableTrueOrDescriptionContainingIgnoreCaseAndAvailableTrue("keyword", "keyword");
+        List<Item> items = itemRepository.search("keyword");
         assertTrue(items.isEmpty());
     }
 
@@ -145,4 +171,71 @@ public class ItemRepositoryTest {
         entityManager.persist(item2);
 
     }
+
+    @Test
+    void searchItemsRanksNameMatchesBeforeDescriptionMatches() {
+        Item descriptionMatch = new Item();
+        descriptionMatch.setName("Saw");
+        descriptionMatch.setDescription("Works great next to a DRILL");
+        descriptionMatch.setAvailable(true);
+        descriptionMatch.setOwner(user);
+        entityManager.persist(descriptionMatch);
+
+        Item nameMatch = new Item();
+        nameMatch.setName("Cordless drill");
+        nameMatch.setDescription("Battery powered");
+        nameMatch.setAvailable(true);
+        nameMatch.setOwner(user);
+        entityManager.persist(nameMatch);
+
+        List<Item> items = itemRepository.search("Drill");
+        assertThat(items).containsExactly(nameMatch, descriptionMatch);
+    }
+
+    @Test
+    void searchItemsTreatsLikeWildcardsLiterally() {
+        Item item1 = new Item();
+        item1.setName("Item 1");
+        item1.setDescription("Description 1");
+        item1.setAvailable(true);
+        item1.setOwner(user);
+        entityManager.persist(item1);
+
+        assertTrue(itemRepository.search("%").isEmpty());
+        assertTrue(itemRepository.search("_").isEmpty());
+    }
+
+    @Test
+    void searchFreeExcludesItemsWithApprovedBookingsOverlappingWindow() {
+        LocalDateTime friday = LocalDateTime.of(2030, 5, 3, 18, 0);
+        LocalDateTime sunday = friday.plusDays(2);
+        Item booked = drill("Drill booked");
+        Item waitingOnly = drill("Drill waiting");
+        Item bookedBefore = drill("Drill adjacent");
+        Item free = drill("Drill free");
+        persistBooking(booked, friday.plusDays(1), friday.plusDays(4), BookingStatus.APPROVED);
+        persistBooking(waitingOnly, friday, sunday, BookingStatus.WAITING);
+        persistBooking(bookedBefore, friday.minusDays(1), friday, BookingStatus.APPROVED);
+        entityManager.flush();
+
+        assertThat(itemRepository.searchFree("drill", friday, sunday, 0, 10))
+                .containsExactly(waitingOnly, bookedBefore, free);
+        assertThat(itemRepository.searchFree("drill", friday, sunday, 1, 1)).containsExactly(bookedBefore);
+        assertThat(itemRepository.findIdsBookedBetween(
+                List.of(booked.getId(), waitingOnly.getId(), bookedBefore.getId(), free.getId()), friday, sunday))
+                .containsExactly(booked.getId());
+    }
+
+    private Item drill(String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("Impact drill");
+        item.setAvailable(true);
+        item.setOwner(user);
+        return entityManager.persist(item);
+    }
+
+    private void persistBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        entityManager.persist(Booking.builder().item(item).booker(user).startTime(start).endTime(end).status(status).build());
+    }
 }
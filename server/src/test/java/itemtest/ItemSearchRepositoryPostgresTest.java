@@ -0,0 +1,82 @@
+package itemtest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ветка Postgres: схема из миграций postgresql (search_vector и индексы V4), plainto_tsquery и LIKE с экранированием.
+// Без Docker тест пропускается
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ItemSearchRepositoryPostgresTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Владелец");
+        owner.setEmail("owner@mail.ru");
+        entityManager.persist(owner);
+    }
+
+    @Test
+    void search_ShouldRankNameMatchAboveDescriptionMatch() {
+        Item inDescription = persist("Набор инструментов", "Дрель и отвёртка в комплекте", true);
+        Item inName = persist("Дрель ударная", "Мощная", true);
+        persist("Дрель старая", "Сломана", false);
+
+        List<Item> found = itemRepository.search("дрель");
+
+        assertThat(found).extracting(Item::getId).containsExactly(inName.getId(), inDescription.getId());
+    }
+
+    @Test
+    void search_ShouldTreatLikeWildcardsAsPlainCharacters() {
+        Item percent = persist("Скидка 100%", "Купон", true);
+        persist("Скидка 1000", "Купон", true);
+        Item underscore = persist("Кабель a_b", "Переходник", true);
+        persist("Кабель axb", "Переходник", true);
+
+        assertThat(itemRepository.search("100%")).extracting(Item::getId).containsExactly(percent.getId());
+        assertThat(itemRepository.search("a_b")).extracting(Item::getId).containsExactly(underscore.getId());
+    }
+
+    private Item persist(String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        entityManager.persist(item);
+        entityManager.flush();
+        return item;
+    }
+}
@@ -6,6 +6,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import ru.practicum.shareit.transaction.RetryingTransactionExecutor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
@@ -19,6 +22,9 @@ import ru.practicum.shareit.item.comment.CommentRepository;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
 import ru.practicum.shareit.item.service.ItemServiceInMemoryImpl;
 import ru.practicum.shareit.mappers.BookingMapper;
 import ru.practicum.shareit.mappers.ItemMapper;
@@ -29,6 +35,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -65,6 +72,19 @@ class ItemServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ItemSearchEngine searchEngine;
+
+    @Spy
+    private ItemDetailsCache detailsCache = new ItemDetailsCache(
+            new ConcurrentMapCacheManager(ItemDetailsCache.ITEM_DETAILS, ItemDetailsCache.ITEM_OWNERS));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RetryingTransactionExecutor transactionExecutor;
+
 
     private User owner;
     private Item item;
@@ -78,6 +98,8 @@ class ItemServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // Исполнитель транзакций в модульных тестах просто выполняет действие один раз
+        lenient().when(transactionExecutor.execute(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
 
         now = LocalDateTime.now();
 
@@ -94,7 +116,7 @@ class ItemServiceImplTest {
         // Инициализируем сущность Comment
 
         owner = new User(1L, "John", "john@example.com");
-        item = new Item(1L, "Drill", "A powerful drill", true, owner, null);
+        item = new Item(1L, "Drill", "A powerful drill", true, owner, null, null, null, null);
         itemDto = new ItemDto(1L, "Drill", "A powerful drill", true, 1L, null, null, null, null);
 
         comment = new Comment(1L, "Great item!", item, owner, LocalDateTime.now());
@@ -107,7 +129,8 @@ class ItemServiceImplTest {
                 .start(LocalDateTime.of(2020, 12, 1, 12, 20))
                 .end(LocalDateTime.of(2020, 12, 2, 12, 20))
                 .status(BookingStatus.WAITING)
-                .item(new Item(1L, "Drill", "Powerful drill", true, null, itemRequest))
+                .item(new BookingDto.BookedItem(1L, "Drill", "Powerful drill", true, null,
+                        new BookingDto.Request(itemRequest.getId(), null, null)))
                 .build();
     }
 
@@ -150,6 +173,9 @@ class ItemServiceImplTest {
 
         assertThat(result).isEqualTo(itemDto);
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(searchEngine).onItemSaved(item);
+        // У новой вещи нечего подгружать: ни комментариев, ни бронирований
+        verifyNoInteractions(commentRepository, bookingRepository);
     }
 
     @Test
@@ -168,6 +194,8 @@ class ItemServiceImplTest {
         itemService.deleteItem(item.getId());
 
         verify(itemRepository, times(1)).deleteById(item.getId());
+        verify(searchEngine).onItemDeleted(item.getId());
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(item.getId()));
     }
 
     // --- updateItem ---
@@ -182,6 +210,13 @@ class ItemServiceImplTest {
                 .isInstanceOf(NotFoundException.class);
     }
 
+    @Test
+    void searchFree_whenWindowIsInverted_shouldThrowValidationException() {
+        assertThatThrownBy(() -> itemService.searchFree("drill", now.plusDays(2), now.plusDays(1), 0, 10))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(searchEngine);
+    }
+
     // --- getAllItems ---
     @Test
     void shouldReturnAllItemsForOwner() {
@@ -194,34 +229,106 @@ class ItemServiceImplTest {
         assertThat(result.iterator().next()).isEqualTo(itemDto);
     }
 
+    @Test
+    void getAllItems_shouldLoadCommentsAndBookingsForAllItemsAtOnce() {
+        Item secondItem = new Item(2L, "Saw", "Hand saw", true, owner, null, null, 11L, null);
+        item.setLastBookingId(10L);
+        ItemDto secondItemDto = new ItemDto(2L, "Saw", "Hand saw", true, 1L, null, null, null, null);
+        Booking lastBooking = Booking.builder().id(10L).item(item).startTime(now.minusDays(2)).build();
+        Booking nextBooking = Booking.builder().id(11L).item(secondItem).startTime(now.plusDays(1)).build();
+        BookingDto lastBookingDto = BookingDto.builder().id(10L).build();
+        BookingDto nextBookingDto = BookingDto.builder().id(11L).build();
+        List<Item> items = List.of(item, secondItem);
+
+        when(itemRepository.findItemByOwnerId(owner.getId())).thenReturn(items);
+        when(commentRepository.findAllByItemIn(items)).thenReturn(List.of(comment));
+        when(commentMapper.mapToDto(comment)).thenReturn(commentDto);
+        when(bookingRepository.findDetailedByIdIn(Set.of(10L, 11L))).thenReturn(List.of(lastBooking, nextBooking));
+        when(bookingMapper.mapToDto(lastBooking)).thenReturn(lastBookingDto);
+        when(bookingMapper.mapToDto(nextBooking)).thenReturn(nextBookingDto);
+        when(itemMapper.mapToItemDto(item)).thenReturn(itemDto);
+        when(itemMapper.mapToItemDto(secondItem)).thenReturn(secondItemDto);
+
+        List<ItemDto> result = List.copyOf(itemService.getAllItems(owner.getId()));
+
+        assertThat(result).containsExactly(itemDto, secondItemDto);
+        assertThat(itemDto.getComments()).containsExactly(commentDto);
+        assertThat(itemDto.getLastBooking()).isEqualTo(lastBookingDto);
+        assertThat(itemDto.getNextBooking()).isNull();
+        assertThat(secondItemDto.getComments()).isEmpty();
+        assertThat(secondItemDto.getNextBooking()).isEqualTo(nextBookingDto);
+        verify(commentRepository, never()).findAllByItem(any());
+        verify(bookingRepository, never()).findLastFinishedBookingByItem(any());
+        verify(bookingRepository, never()).findNextBookingByItem(any());
+    }
+
+    @Test
+    void getAllItems_whenNextBookingHasStarted_shouldComputeActualBookingsWithoutWriting() {
+        item.setNextBookingId(10L);
+        Booking startedBooking = Booking.builder().id(10L).item(item).startTime(now.minusMinutes(1)).build();
+        Booking followingBooking = Booking.builder().id(12L).item(item).startTime(now.plusDays(3)).build();
+        BookingDto startedBookingDto = BookingDto.builder().id(10L).build();
+        BookingDto followingBookingDto = BookingDto.builder().id(12L).build();
+
+        when(itemRepository.findItemByOwnerId(owner.getId())).thenReturn(List.of(item));
+        when(bookingRepository.findDetailedByIdIn(Set.of(10L))).thenReturn(List.of(startedBooking));
+        when(bookingRepository.findLastFinishedBookingsByItems(List.of(item))).thenReturn(List.of(startedBooking));
+        when(bookingRepository.findNextBookingsByItems(List.of(item))).thenReturn(List.of(followingBooking));
+        when(bookingRepository.findDetailedByIdIn(Set.of(12L))).thenReturn(List.of(followingBooking));
+        when(bookingMapper.mapToDto(startedBooking)).thenReturn(startedBookingDto);
+        when(bookingMapper.mapToDto(followingBooking)).thenReturn(followingBookingDto);
+        when(itemMapper.mapToItemDto(item)).thenReturn(itemDto);
+
+        ItemDto result = itemService.getAllItems(owner.getId()).iterator().next();
+
+        assertThat(result.getLastBooking()).isEqualTo(startedBookingDto);
+        assertThat(result.getNextBooking()).isEqualTo(followingBookingDto);
+        // Указатели сдвигает планировщик, чтение их не трогает
+        assertThat(item.getLastBookingId()).isNull();
+        assertThat(item.getNextBookingId()).isEqualTo(10L);
+        verify(itemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void getAllItems_whenOwnerHasNoItems_shouldNotQueryCommentsAndBookings() {
+        when(itemRepository.findItemByOwnerId(owner.getId())).thenReturn(List.of());
+
+        assertThat(itemService.getAllItems(owner.getId())).isEmpty();
+        verifyNoInteractions(commentRepository, bookingRepository);
+    }
+
     // --- getItemById ---
     @Test
     void shouldGetItemWithCommentsAndBookings() {
+        item.setLastBookingId(2L);
+        item.setNextBookingId(3L);
+        Booking lastBooking = Booking.builder().id(2L).item(item).startTime(now.minusDays(1)).build();
+        Booking nextBooking = Booking.builder().id(3L).item(item).startTime(now.plusDays(1)).build();
+
+        when(itemRepository.findOwnerIdById(item.getId())).thenReturn(Optional.of(owner.getId()));
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
 
-        when(commentRepository.findAllByItem(item)).thenReturn(Collections.singletonList(comment));
+        when(commentRepository.findAllByItemIn(List.of(item))).thenReturn(Collections.singletonList(comment));
         when(commentMapper.mapToDto(comment)).thenReturn(commentDto);
+        when(bookingRepository.findDetailedByIdIn(Set.of(2L, 3L))).thenReturn(List.of(lastBooking, nextBooking));
         when(bookingMapper.mapToDto(any())).thenReturn(bookingDto);
-        // Мокаем методы, которые используются внутри getItemById, но не должны возвращать данные
-        when(bookingRepository.findLastFinishedBookingByItem(any(Item.class))).thenReturn(Optional.empty());
-        when(bookingRepository.findNextBookingByItem(any(Item.class))).thenReturn(Optional.empty());
         when(itemMapper.mapToItemDto(any())).thenReturn(itemDto);
 
-        when(bookingRepository.findLastFinishedBookingByItem(item)).thenReturn(Optional.of(mock(Booking.class)));
-        when(bookingRepository.findNextBookingByItem(item)).thenReturn(Optional.of(mock(Booking.class)));
-
         ItemDto result = itemService.getItemById(owner.getId(), item.getId());
 
         assertThat(result.getComments()).containsExactly(commentDto);
         assertThat(result.getLastBooking()).isNotNull();
         assertThat(result.getNextBooking()).isNotNull();
+        verify(bookingRepository, never()).findLastFinishedBookingByItem(any());
+        verify(bookingRepository, never()).findNextBookingByItem(any());
     }
 
     @Test
     void shouldGetItemWithoutBookingsIfNotOwner() {
         User anotherUser = new User(2L, "Alice", "alice@example.com");
 
+        when(itemRepository.findOwnerIdById(item.getId())).thenReturn(Optional.of(owner.getId()));
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
         when(userRepository.findById(anotherUser.getId())).thenReturn(Optional.of(anotherUser));
 
@@ -235,11 +342,67 @@ class ItemServiceImplTest {
         assertThat(result.getNextBooking()).isNull();
     }
 
+    @Test
+    void getItemById_RepeatedRead_ShouldBeServedFromCache() {
+        User anotherUser = new User(2L, "Alice", "alice@example.com");
+
+        when(itemRepository.findOwnerIdById(item.getId())).thenReturn(Optional.of(owner.getId()));
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(userRepository.findById(anotherUser.getId())).thenReturn(Optional.of(anotherUser));
+        when(commentRepository.findAllByItem(item)).thenReturn(List.of());
+        when(itemMapper.mapToItemDto(item)).thenReturn(itemDto);
+
+        ItemDto first = itemService.getItemById(anotherUser.getId(), item.getId());
+        ItemDto second = itemService.getItemById(anotherUser.getId(), item.getId());
+
+        assertThat(second).isSameAs(first);
+        verify(itemRepository, times(1)).findOwnerIdById(item.getId());
+        verify(itemRepository, times(1)).findById(item.getId());
+        verify(commentRepository, times(1)).findAllByItem(item);
+        verify(userRepository, times(2)).findById(anotherUser.getId());
+    }
+
+    @Test
+    void getItemById_AfterItemChanged_ShouldReloadAndKeepViewsApart() {
+        User anotherUser = new User(2L, "Alice", "alice@example.com");
+
+        when(itemRepository.findOwnerIdById(item.getId())).thenReturn(Optional.of(owner.getId()));
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(userRepository.findById(anyLong())).thenAnswer(invocation ->
+                Optional.of(invocation.getArgument(0).equals(owner.getId()) ? owner : anotherUser));
+        when(commentRepository.findAllByItem(item)).thenReturn(List.of());
+        when(commentRepository.findAllByItemIn(List.of(item))).thenReturn(List.of());
+        when(itemMapper.mapToItemDto(item)).thenAnswer(invocation -> ItemDto.builder().id(item.getId()).build());
+
+        ItemDto ownerView = itemService.getItemById(owner.getId(), item.getId());
+        ItemDto publicView = itemService.getItemById(anotherUser.getId(), item.getId());
+        assertThat(publicView).isNotSameAs(ownerView);
+
+        detailsCache.onItemChanged(new ItemChangedEvent(item.getId()));
+        itemService.getItemById(anotherUser.getId(), item.getId());
+
+        verify(itemRepository, times(3)).findById(item.getId());
+        verify(itemRepository, times(2)).findOwnerIdById(item.getId());
+    }
+
+    @Test
+    void getItemById_WhenItemNotFound_ShouldThrowNotFoundAndCacheNothing() {
+        when(itemRepository.findOwnerIdById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> itemService.getItemById(owner.getId(), 99L))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> itemService.getItemById(owner.getId(), 99L))
+                .isInstanceOf(NotFoundException.class);
+
+        verify(itemRepository, times(2)).findOwnerIdById(99L);
+        verifyNoInteractions(userRepository);
+    }
+
     // --- search ---
     @Test
     void shouldSearchItemsByNameAndDescription() {
         String text = "drill";
-        when(itemRepository.findByNameContainingIgnoreCaseAndAvailableTrueOrDescriptionContainingIgnoreCaseAndAvailableTrue(text, text))
+        when(searchEngine.search(text))
                 .thenReturn(Collections.singletonList(item));
         when(itemMapper.mapToItemDto(item)).thenReturn(itemDto);
 
@@ -268,6 +431,7 @@ class ItemServiceImplTest {
         CommentDto result = itemService.addComment(owner.getId(), commentDto);
 
         assertThat(result).isEqualTo(commentDto);
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(item.getId()));
     }
 
     @Test
@@ -296,6 +460,38 @@ class ItemServiceImplTest {
         assertThat(result).isEqualTo(responses);
     }
 
+    @Test
+    void shouldGroupItemsByRequestIds() {
+        ItemRequest firstRequest = ItemRequest.builder().id(100L).build();
+        ItemRequest secondRequest = ItemRequest.builder().id(200L).build();
+        Item first = Item.builder().id(1L).request(firstRequest).build();
+        Item second = Item.builder().id(2L).request(secondRequest).build();
+        Item third = Item.builder().id(3L).request(firstRequest).build();
+        RespondItemRequest firstResponse = new RespondItemRequest();
+        firstResponse.setId(1L);
+        RespondItemRequest secondResponse = new RespondItemRequest();
+        secondResponse.setId(2L);
+        RespondItemRequest thirdResponse = new RespondItemRequest();
+        thirdResponse.setId(3L);
+
+        when(itemRepository.findAllByRequestIdIn(List.of(100L, 200L))).thenReturn(List.of(first, second, third));
+        when(itemMapper.mapToRespond(first)).thenReturn(firstResponse);
+        when(itemMapper.mapToRespond(second)).thenReturn(secondResponse);
+        when(itemMapper.mapToRespond(third)).thenReturn(thirdResponse);
+
+        Map<Long, List<RespondItemRequest>> result = itemService.getByRequestIds(List.of(100L, 200L));
+
+        assertThat(result).containsOnlyKeys(100L, 200L);
+        assertThat(result.get(100L)).containsExactly(firstResponse, thirdResponse);
+        assertThat(result.get(200L)).containsExactly(secondResponse);
+    }
+
+    @Test
+    void shouldNotQueryRepository_whenRequestIdsAreEmpty() {
+        assertThat(itemService.getByRequestIds(List.of())).isEmpty();
+        verifyNoInteractions(itemRepository);
+    }
+
     @Test
     void addComment_WhenUserNotFound_ShouldThrowNotFoundException() {
         // Given
@@ -315,8 +511,10 @@ class ItemServiceImplTest {
                 .id(100L)
                 .text("Good tool")
                 .build();
+        Comment itemComment = new Comment();
+        itemComment.setItem(item);
 
-        when(commentRepository.findAllByItem(item)).thenReturn(List.of(new Comment()));
+        when(commentRepository.findAllByItemIn(List.of(item))).thenReturn(List.of(itemComment));
         when(commentMapper.mapToDto(any(Comment.class))).thenReturn(commentDto);
         when(itemMapper.mapToItemDto(any())).thenReturn(itemDto);
 
@@ -335,12 +533,13 @@ class ItemServiceImplTest {
                 .id(500L)
                 .startTime(now.minusDays(2))
                 .endTime(now.minusDays(1))
-                .status(BookingStatus.WAITING)
+                .status(BookingStatus.APPROVED)
                 .item(item)
                 .booker(new User())
                 .build();
+        item.setLastBookingId(500L);
 
-        when(bookingRepository.findLastFinishedBookingByItem(item)).thenReturn(Optional.of(lastBooking));
+        when(bookingRepository.findDetailedByIdIn(Set.of(500L))).thenReturn(List.of(lastBooking));
         when(bookingMapper.mapToDto(lastBooking)).thenReturn(BookingDto.builder().id(500L).build());
         when(itemMapper.mapToItemDto(any())).thenReturn(itemDto);
 
@@ -359,12 +558,13 @@ class ItemServiceImplTest {
                 .id(600L)
                 .startTime(now.plusDays(1))
                 .endTime(now.plusDays(2))
-                .status(BookingStatus.WAITING)
+                .status(BookingStatus.APPROVED)
                 .item(item)
                 .booker(new User())
                 .build();
+        item.setNextBookingId(600L);
 
-        when(bookingRepository.findNextBookingByItem(item)).thenReturn(Optional.of(nextBooking));
+        when(bookingRepository.findDetailedByIdIn(Set.of(600L))).thenReturn(List.of(nextBooking));
         when(bookingMapper.mapToDto(nextBooking)).thenReturn(BookingDto.builder().id(600L).build());
         when(itemMapper.mapToItemDto(any())).thenReturn(itemDto);
 
@@ -379,8 +579,6 @@ class ItemServiceImplTest {
     @Test
     void mapToDto_WhenNoBookings_ShouldNotSetLastAndNextBooking() {
         // Given
-        when(bookingRepository.findLastFinishedBookingByItem(item)).thenReturn(Optional.empty());
-        when(bookingRepository.findNextBookingByItem(item)).thenReturn(Optional.empty());
         when(itemMapper.mapToItemDto(any())).thenReturn(itemDto);
 
         // When
@@ -389,6 +587,7 @@ class ItemServiceImplTest {
         // Then
         assertNull(dto.getLastBooking());
         assertNull(dto.getNextBooking());
+        verify(bookingRepository, never()).findDetailedByIdIn(any());
     }
 
     @Test
@@ -496,6 +695,7 @@ class ItemServiceImplTest {
         assertThat(result.getDescription()).isEqualTo("Обновленное описание");
         assertThat(result.getAvailable()).isTrue(); // изменилось
         assertThat(result.getRequestId()).isEqualTo(10L); // не изменилось
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(itemId));
     }
 
     @Test
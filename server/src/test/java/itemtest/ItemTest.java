@@ -1,6 +1,7 @@
 package itemtest;
 
 
+import org.hibernate.LazyInitializationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +13,7 @@ import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 import java.io.IOException;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -121,6 +123,27 @@ public class ItemTest {
         assertThat(item1.hashCode()).isNotEqualTo(item3.hashCode());
     }
 
+    @Test
+    void equalsAndHashCode_ShouldNotTouchLazyOwner() {
+        // Незагруженная ленивая связь вне сессии бросает исключение на любое обращение
+        User detachedOwner = new User() {
+            @Override
+            public int hashCode() {
+                throw new LazyInitializationException("owner");
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                throw new LazyInitializationException("owner");
+            }
+        };
+        Item item1 = Item.builder().id(100L).name("Drill").description("Powerful drill").owner(detachedOwner).build();
+        Item item2 = Item.builder().id(100L).name("Drill").description("Powerful drill").owner(detachedOwner).build();
+
+        assertEquals(item1, item2);
+        assertThat(Set.of(item1)).contains(item2);
+    }
+
 
     @Test
     void serializeToJson_ShouldIncludeAllFields() throws IOException {
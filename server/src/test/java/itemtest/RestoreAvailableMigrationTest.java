@@ -0,0 +1,67 @@
+package itemtest;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// V11 возвращает доступность вещам, которые старое подтверждение брони выключило навсегда
+class RestoreAvailableMigrationTest {
+
+    private Flyway flyway;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/common").target("10").load().migrate();
+        flyway = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/common").load();
+
+        jdbc.update("INSERT INTO users (user_id, name, email) VALUES (1, 'Владелец', 'owner@mail.ru')");
+        jdbc.update("INSERT INTO users (user_id, name, email) VALUES (2, 'Арендатор', 'booker@mail.ru')");
+    }
+
+    @Test
+    void migrate_ShouldMakeItemWithFinishedApprovedBookingAvailable() {
+        insertItem(1L, false);
+        insertBooking(1L, "APPROVED", "DATEADD('DAY', -5, CURRENT_TIMESTAMP)", "DATEADD('DAY', -3, CURRENT_TIMESTAMP)");
+
+        flyway.migrate();
+
+        assertThat(available(1L)).isTrue();
+        assertThat(jdbc.queryForObject("SELECT version FROM items WHERE item_id = 1", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    void migrate_ShouldKeepItemsDisabledWithoutApprovedBookings() {
+        insertItem(1L, false);
+        insertItem(2L, false);
+        insertBooking(2L, "REJECTED", "DATEADD('DAY', -5, CURRENT_TIMESTAMP)", "DATEADD('DAY', -3, CURRENT_TIMESTAMP)");
+
+        flyway.migrate();
+
+        assertThat(available(1L)).isFalse();
+        assertThat(available(2L)).isFalse();
+    }
+
+    private void insertItem(Long id, boolean available) {
+        jdbc.update("INSERT INTO items (item_id, name, description, available, owner_id) VALUES (?, 'Дрель', 'Ударная', ?, 1)",
+                id, available);
+    }
+
+    private void insertBooking(Long itemId, String status, String start, String end) {
+        jdbc.update("INSERT INTO bookings (start_time, end_time, booker_id, item_id, status) VALUES ("
+                + start + ", " + end + ", 2, ?, ?)", itemId, status);
+    }
+
+    private boolean available(Long id) {
+        return jdbc.queryForObject("SELECT available FROM items WHERE item_id = ?", Boolean.class, id);
+    }
+}
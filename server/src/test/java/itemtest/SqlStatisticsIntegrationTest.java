@@ -0,0 +1,96 @@
+package itemtest;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.service.BookingLifecycleScheduler;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.monitoring.SqlStatisticsHeaderAdvice;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Счётчики SQL на HTTP-запрос: заголовки ответа и метрики по шаблону пути
+@SpringBootTest
+@AutoConfigureMockMvc
+@ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
+class SqlStatisticsIntegrationTest {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    // Планировщик жизненного цикла броней не должен добавлять свои запросы в счётчик
+    @MockBean
+    private BookingLifecycleScheduler lifecycleScheduler;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email(UUID.randomUUID() + "@owner.ru").build());
+        for (int i = 0; i < 3; i++) {
+            itemRepository.save(Item.builder().name("Дрель " + i).description("Ударная").available(true).owner(owner).build());
+        }
+    }
+
+    @Test
+    void getAllItems_ReportsStatementsAndRowsInHeaders() throws Exception {
+        MvcResult result = mvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        long statements = Long.parseLong(result.getResponse().getHeader(SqlStatisticsHeaderAdvice.STATEMENTS_HEADER));
+        long rows = Long.parseLong(result.getResponse().getHeader(SqlStatisticsHeaderAdvice.ROWS_HEADER));
+        assertThat(statements).isPositive();
+        assertThat(rows).isGreaterThanOrEqualTo(3);
+        assertThat(result.getResponse().getHeader(SqlStatisticsHeaderAdvice.TIME_HEADER)).isNotBlank();
+    }
+
+    @Test
+    void getItem_RecordsMetricsTaggedByUriTemplate() throws Exception {
+        Item item = itemRepository.findAll().stream()
+                .filter(candidate -> candidate.getOwner().getId().equals(owner.getId()))
+                .findFirst()
+                .orElseThrow();
+        long before = statementsSummaryCount();
+
+        mvc.perform(get("/items/{itemId}", item.getId()).header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(statementsSummaryCount()).isEqualTo(before + 1);
+        assertThat(meterRegistry.find("shareit.sql.time").tag("uri", "/items/{itemId}").timer()).isNotNull();
+        assertThat(meterRegistry.find("shareit.sql.rows").tag("uri", "/items/{itemId}").summary()).isNotNull();
+    }
+
+    private long statementsSummaryCount() {
+        DistributionSummary summary = meterRegistry.find("shareit.sql.statements")
+                .tags("method", "GET", "uri", "/items/{itemId}")
+                .summary();
+        return summary == null ? 0 : summary.count();
+    }
+}
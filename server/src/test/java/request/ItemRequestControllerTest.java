@@ -7,11 +7,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.request.ItemRequestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -73,7 +76,7 @@ public class ItemRequestControllerTest {
         ItemRequestDto request1 = new ItemRequestDto(1L, "Хочу дрель", 1L, List.of(), now.toString());
         ItemRequestDto request2 = new ItemRequestDto(2L, "Нужен молоток", 1L, List.of(), now.toString());
 
-        when(itemRequestService.getAllRequests()).thenReturn(List.of(request1, request2));
+        when(itemRequestService.getAllRequests(0, 10)).thenReturn(List.of(request1, request2));
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", 1L))
@@ -82,7 +85,41 @@ public class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].description", is("Хочу дрель")))
                 .andExpect(jsonPath("$[1].description", is("Нужен молоток")));
 
-        verify(itemRequestService, times(1)).getAllRequests();
+        verify(itemRequestService, times(1)).getAllRequests(0, 10);
+    }
+
+    @Test
+    void shouldPassPagingParameters_getAll() throws Exception {
+        when(itemRequestService.getAllRequests(20, 5)).thenReturn(List.of());
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(itemRequestService).getAllRequests(20, 5);
+    }
+
+    // --- GET /requests/all/stream ---
+    @Test
+    void shouldStreamAllRequests() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(itemRequestService).streamAllRequests(any());
+
+        MvcResult result = mockMvc.perform(get("/requests/all/stream")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id", is(1)));
     }
 
     // --- GET /requests ---
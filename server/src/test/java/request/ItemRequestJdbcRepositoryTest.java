@@ -0,0 +1,62 @@
+package request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.item.dto.RespondItemRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestJdbcRepository;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ItemRequestJdbcRepository.class)
+@ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
+class ItemRequestJdbcRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemRequestJdbcRepository itemRequestJdbcRepository;
+
+    @Test
+    void streamAllWithItems_ShouldGroupAnswersUnderNewestRequestsFirst() {
+        User user = entityManager.persist(new User(null, "John", "john@example.com"));
+        LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        ItemRequest older = entityManager.persist(new ItemRequest(null, "Нужна дрель", user.getId(), today.minusDays(1), null));
+        ItemRequest newer = entityManager.persist(new ItemRequest(null, "Нужна пила", user.getId(), today, null));
+        Item drill = entityManager.persist(Item.builder().name("Дрель").description("Ударная").available(true)
+                .owner(user).request(older).build());
+        Item secondDrill = entityManager.persist(Item.builder().name("Шуруповёрт").description("Тоже сверлит").available(true)
+                .owner(user).request(older).build());
+        entityManager.flush();
+
+        Map<Long, List<RespondItemRequest>> streamed = new LinkedHashMap<>();
+        List<String> descriptions = new ArrayList<>();
+        itemRequestJdbcRepository.streamAllWithItems((request, items) -> {
+            streamed.put(request.getId(), items);
+            descriptions.add(request.getDescription());
+        });
+
+        assertThat(streamed.keySet()).containsExactly(newer.getId(), older.getId());
+        assertThat(descriptions).containsExactly("Нужна пила", "Нужна дрель");
+        assertThat(streamed.get(newer.getId())).isEmpty();
+        assertThat(streamed.get(older.getId())).extracting(RespondItemRequest::getId)
+                .containsExactly(drill.getId(), secondDrill.getId());
+        assertThat(streamed.get(older.getId())).extracting(RespondItemRequest::getOwnerId)
+                .containsOnly(user.getId());
+    }
+}
@@ -4,14 +4,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ContextConfiguration;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -83,4 +88,28 @@ public class ItemRequestRepositoryTest {
         List<ItemRequest> requests = itemRequestRepository.findAllByRequestorId(999L);
         assertTrue(requests.isEmpty());
     }
+
+    @Test
+    void findAllByWhenPagedThenReturnNewestFirst() {
+        User user = new User();
+        user.setName("Test User");
+        user.setEmail("test@example.com");
+        entityManager.persist(user);
+
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        for (int day = 0; day < 4; day++) {
+            ItemRequest request = new ItemRequest();
+            request.setRequestorId(user.getId());
+            request.setDescription("Description " + day);
+            request.setCreatedTime(start.plusDays(day));
+            entityManager.persist(request);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ItemRequest> page = itemRequestRepository.findAllBy(ScrollPosition.offset(), Limit.of(2),
+                Sort.by(Sort.Direction.DESC, "createdTime", "id")).getContent();
+
+        assertThat(page).extracting(ItemRequest::getDescription).containsExactly("Description 3", "Description 2");
+    }
 }
@@ -120,7 +120,7 @@ public class ItemRequestServiceImplIntegrationTest {
         anotherItem.setOwner(owner);
         itemRepository.save(anotherItem);
 
-        List<Item> result = itemRepository.findByNameContainingIgnoreCaseAndAvailableTrueOrDescriptionContainingIgnoreCaseAndAvailableTrue("drill", "drill");
+        List<Item> result = itemRepository.search("drill");
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Drill");
@@ -1,25 +1,37 @@
 package request;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ContextConfiguration;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.RespondItemRequest;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.mappers.ItemRequestMapper;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
+import ru.practicum.shareit.request.repository.ItemRequestJdbcRepository;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -44,6 +56,12 @@ class ItemRequestServiceImplTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private ItemRequestJdbcRepository itemRequestJdbcRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     private User user;
     private ItemRequest itemRequest;
     private NewItemRequestDto newItemRequestDto;
@@ -82,29 +100,61 @@ class ItemRequestServiceImplTest {
     // --- getAllRequests ---
     @Test
     void shouldReturnAllRequests_whenNotEmpty() {
-        when(itemRequestRepository.findAll()).thenReturn(List.of(itemRequest));
-        when(itemRequestMapper.mapToDto(itemRequest)).thenReturn(itemRequestDto);
+        when(itemRequestRepository.findAllBy(eq(ScrollPosition.offset(4)), eq(Limit.of(5)), any(Sort.class)))
+                .thenReturn(Window.from(List.of(itemRequest), ScrollPosition::offset));
+        when(itemRequestMapper.mapToShortDto(itemRequest)).thenReturn(itemRequestDto);
+        when(itemService.getByRequestIds(List.of(1L))).thenReturn(Map.of());
 
-        List<ItemRequestDto> result = itemRequestService.getAllRequests();
+        List<ItemRequestDto> result = itemRequestService.getAllRequests(5, 5);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0)).isEqualTo(itemRequestDto);
+        verify(itemRequestRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldThrowValidationException_whenPageSizeIsNotPositive() {
+        assertThatThrownBy(() -> itemRequestService.getAllRequests(0, 0))
+                .isInstanceOf(ValidationException.class);
     }
 
     @Test
     void shouldReturnEmptyList_whenNoRequestsExist() {
-        when(itemRequestRepository.findAll()).thenReturn(List.of());
+        when(itemRequestRepository.findAllBy(any(), any(), any())).thenReturn(Window.from(List.of(), ScrollPosition::offset));
 
-        List<ItemRequestDto> result = itemRequestService.getAllRequests();
+        List<ItemRequestDto> result = itemRequestService.getAllRequests(0, 10);
 
         assertThat(result).isEmpty();
     }
 
+    // --- streamAllRequests ---
+    @Test
+    void shouldWriteStreamedRequestsAsJsonArray() throws Exception {
+        RespondItemRequest answer = new RespondItemRequest();
+        answer.setId(7L);
+        answer.setName("Дрель");
+        answer.setOwnerId(2L);
+        doAnswer(invocation -> {
+            BiConsumer<ItemRequest, List<RespondItemRequest>> action = invocation.getArgument(0);
+            action.accept(itemRequest, List.of(answer));
+            return null;
+        }).when(itemRequestJdbcRepository).streamAllWithItems(any());
+        when(itemRequestMapper.mapToShortDto(itemRequest))
+                .thenReturn(new ItemRequestDto(1L, "Хочу дрель", 1L, null, "2030-01-01T00:00:00"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        itemRequestService.streamAllRequests(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[{\"id\":1,\"description\":\"Хочу дрель\","
+                + "\"requestorId\":1,\"items\":[{\"id\":7,\"name\":\"Дрель\",\"ownerId\":2}],"
+                + "\"created\":\"2030-01-01T00:00:00\"}]");
+    }
+
     // --- getById ---
     @Test
     void shouldGetRequestById_withItems() {
         when(itemRequestRepository.findById(1L)).thenReturn(Optional.of(itemRequest));
-        when(itemRequestMapper.mapToDto(itemRequest)).thenReturn(itemRequestDto);
+        when(itemRequestMapper.mapToShortDto(itemRequest)).thenReturn(itemRequestDto);
         when(itemService.getByRequestId(1L)).thenReturn(itemRequestDto.getItems());
 
         ItemRequestDto result = itemRequestService.getById(1L);
@@ -126,13 +176,27 @@ class ItemRequestServiceImplTest {
     @Test
     void shouldGetRequestsByRequestorId_withItems() {
         when(itemRequestRepository.findAllByRequestorId(1L)).thenReturn(List.of(itemRequest));
-        when(itemRequestMapper.mapToDto(itemRequest)).thenReturn(itemRequestDto);
-        when(itemService.getByRequestId(1L)).thenReturn(itemRequestDto.getItems());
+        when(itemRequestMapper.mapToShortDto(itemRequest)).thenReturn(itemRequestDto);
+        RespondItemRequest answer = new RespondItemRequest();
+        answer.setId(5L);
+        when(itemService.getByRequestIds(List.of(1L))).thenReturn(Map.of(1L, List.of(answer)));
 
         List<ItemRequestDto> result = itemRequestService.getByRequestorId(1L);
 
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getItems()).isNotNull();
+        assertThat(result.get(0).getItems()).containsExactly(answer);
+        verify(itemService, never()).getByRequestId(anyLong());
+    }
+
+    @Test
+    void shouldSetEmptyItems_whenRequestHasNoAnswers() {
+        when(itemRequestRepository.findAllByRequestorId(1L)).thenReturn(List.of(itemRequest));
+        when(itemRequestMapper.mapToShortDto(itemRequest)).thenReturn(itemRequestDto);
+        when(itemService.getByRequestIds(List.of(1L))).thenReturn(Map.of());
+
+        List<ItemRequestDto> result = itemRequestService.getByRequestorId(1L);
+
+        assertThat(result.get(0).getItems()).isEmpty();
     }
 
     @Test
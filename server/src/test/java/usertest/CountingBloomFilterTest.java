@@ -0,0 +1,71 @@
+package usertest;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.email.CountingBloomFilter;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountingBloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissAddedValues() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("user" + i + "@example.com"));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user" + i + "@example.com"))).isTrue();
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositivesNearConfiguredRate() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("user" + i + "@example.com"));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain("other" + i + "@example.com"))
+                .count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void remove_ShouldForgetValueButKeepOthers() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        filter.add("a@example.com");
+        filter.add("b@example.com");
+
+        filter.remove("a@example.com");
+
+        assertThat(filter.mightContain("a@example.com")).isFalse();
+        assertThat(filter.mightContain("b@example.com")).isTrue();
+    }
+
+    @Test
+    void remove_WhenAddedTwice_ShouldStillContainAfterOneRemoval() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        filter.add("a@example.com");
+        filter.add("a@example.com");
+
+        filter.remove("a@example.com");
+
+        assertThat(filter.mightContain("a@example.com")).isTrue();
+    }
+
+    @Test
+    void clear_ShouldEmptyFilter() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        filter.add("a@example.com");
+
+        filter.clear();
+
+        assertThat(filter.mightContain("a@example.com")).isFalse();
+    }
+
+    @Test
+    void constructor_WithInvalidParameters_ShouldThrow() {
+        assertThatThrownBy(() -> new CountingBloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountingBloomFilter(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
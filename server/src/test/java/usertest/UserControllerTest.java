@@ -9,10 +9,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.service.UserImportService;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdatedUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResult;
 import ru.practicum.shareit.user.UserController;
 
 import java.util.List;
@@ -32,6 +34,9 @@ public class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserImportService userImportService;
+
     private UserDto userDto;
     private NewUserRequest newUserRequest;
     private UpdatedUserRequest updatedUserRequest;
@@ -132,4 +137,30 @@ public class UserControllerTest {
         mockMvc.perform(get("/users/999"))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldPassNdjsonStreamToImport_whenImportUsers() throws Exception {
+        String body = "{\"name\": \"John\", \"email\": \"john@example.com\"}\n";
+        when(userImportService.importUsers(any())).thenReturn(new UserImportResult(1, 1, List.of()));
+
+        mockMvc.perform(post("/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(1)))
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors.size()", is(0)));
+
+        verify(userImportService).importUsers(any());
+    }
+
+    @Test
+    void shouldNotCallImport_whenUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/users/import")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("John,john@example.com"))
+                .andExpect(status().isInternalServerError());
+
+        verifyNoInteractions(userImportService);
+    }
+}
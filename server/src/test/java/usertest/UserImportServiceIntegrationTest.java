@@ -0,0 +1,121 @@
+package usertest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.UserImportResult;
+import ru.practicum.shareit.user.email.EmailFilter;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserImportService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Пачка из двух строк: импорт из нескольких строк проходит через несколько транзакций
+@SpringBootTest(properties = "shareit.users.import.batch-size=2")
+@ContextConfiguration(classes = ru.practicum.shareit.ShareItApp.class)
+class UserImportServiceIntegrationTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailFilter emailFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String domain;
+
+    @BeforeEach
+    void setUp() {
+        domain = "@" + UUID.randomUUID() + ".ru";
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", "%" + domain);
+    }
+
+    @Test
+    void importUsers_JsonArray_ShouldInsertValidRowsAndReportTheRest() {
+        userRepository.save(User.builder().name("Old").email("old" + domain).build());
+        String body = "[" +
+                "{\"name\": \"Anna\", \"email\": \"anna" + domain + "\"}," +
+                "{\"name\": \"Boris\", \"email\": \"boris" + domain + "\"}," +
+                "{\"name\": \"\", \"email\": \"empty" + domain + "\"}," +
+                "{\"name\": \"Vera\", \"email\": \"not-an-email\"}," +
+                "{\"name\": \"Anna again\", \"email\": \"anna" + domain + "\"}," +
+                "{\"name\": \"Old again\", \"email\": \"old" + domain + "\"}," +
+                "{\"name\": \"Gleb\", \"email\": \"gleb" + domain + "\"}" +
+                "]";
+
+        UserImportResult result = importBody(body);
+
+        assertThat(result.getReceived()).isEqualTo(7);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(UserImportResult.RowError::getRow).containsExactly(3, 4, 5, 6);
+        assertThat(result.getErrors().get(2).getReason()).contains("строке 1");
+        assertThat(result.getErrors().get(3).getReason()).contains("уже зарегистрирован");
+        assertThat(userRepository.findByEmail("gleb" + domain)).isPresent();
+        assertThat(userRepository.findByEmail("anna" + domain)).get().extracting(User::getName).isEqualTo("Anna");
+        assertThat(emailFilter.mightBeTaken("boris" + domain)).isTrue();
+    }
+
+    @Test
+    void importUsers_Ndjson_ShouldSkipMalformedRowAndContinue() {
+        String body = "{\"name\": \"Anna\", \"email\": \"anna" + domain + "\"}\n" +
+                "{\"name\": {\"first\": \"Boris\"}, \"email\": \"boris" + domain + "\"}\n" +
+                "{\"name\": \"Vera\", \"email\": \"vera" + domain + "\"}\n";
+
+        UserImportResult result = importBody(body);
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(UserImportResult.RowError::getRow).containsExactly(2);
+        assertThat(userRepository.findByEmail("vera" + domain)).isPresent();
+    }
+
+    @Test
+    void importUsers_BrokenJson_ShouldKeepRowsReadBeforeIt() {
+        String body = "{\"name\": \"Anna\", \"email\": \"anna" + domain + "\"}\n" +
+                "{\"name\": \"Boris\", \"email\": \n";
+
+        UserImportResult result = importBody(body);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getRow()).isEqualTo(2);
+        assertThat(result.getErrors().get(0).getReason()).contains("импорт остановлен");
+    }
+
+    @Test
+    void importUsers_WhenEmailInsertedBehindFilter_ShouldFallBackToRowByRow() {
+        // Запись в обход сервиса: фильтр о ней не знает, пачку отклоняет уникальное ограничение
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", "Race", "race" + domain);
+        String body = "{\"name\": \"Anna\", \"email\": \"anna" + domain + "\"}\n" +
+                "{\"name\": \"Race again\", \"email\": \"race" + domain + "\"}\n";
+
+        UserImportResult result = importBody(body);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(UserImportResult.RowError::getRow).containsExactly(2);
+        assertThat(userRepository.findByEmail("anna" + domain)).isPresent();
+        assertThat(userRepository.findByEmail("race" + domain)).get().extracting(User::getName).isEqualTo("Race");
+    }
+
+    private UserImportResult importBody(String body) {
+        return userImportService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
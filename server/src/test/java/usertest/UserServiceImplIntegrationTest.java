@@ -12,6 +12,7 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdatedUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.email.EmailFilter;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.mappers.UserMapper;
@@ -33,12 +34,15 @@ public class UserServiceImplIntegrationTest {
 
     private UserService userService;
 
+    private EmailFilter emailFilter;
+
     private final UserMapper userMapper = new UserMapperImpl(); // можно использовать MapStruct
 
     @BeforeEach
     void setUp() {
         // Используем настоящий маппер
-        this.userService = new UserServiceImpl(userRepository, userMapper);
+        this.emailFilter = new EmailFilter(userRepository, 1000, 0.01);
+        this.userService = new UserServiceImpl(userRepository, userMapper, emailFilter);
 
         // Очищаем перед каждым тестом
         userRepository.deleteAll();
@@ -106,6 +110,28 @@ public class UserServiceImplIntegrationTest {
                 .hasMessageContaining("уже зарегистрирован");
     }
 
+    @Test
+    void createUser_WhenFilterMissesExistingEmail_ShouldMapUniqueViolationToDuplicated() {
+        // Пользователь добавлен в обход сервиса, фильтр о нём не знает
+        userRepository.save(new User(null, "John", "john@example.com"));
+        assertThat(emailFilter.mightBeTaken("john@example.com")).isFalse();
+
+        assertThatThrownBy(() -> userService.createUser(new NewUserRequest("Alice", "john@example.com")))
+                .isInstanceOf(DuplicatedException.class)
+                .hasMessageContaining("уже зарегистрирован");
+    }
+
+    @Test
+    void rebuild_ShouldLoadExistingEmails() {
+        userRepository.save(new User(null, "John", "john@example.com"));
+
+        emailFilter.rebuild();
+
+        assertThat(emailFilter.mightBeTaken("john@example.com")).isTrue();
+        assertThatThrownBy(() -> userService.createUser(new NewUserRequest("Alice", "john@example.com")))
+                .isInstanceOf(DuplicatedException.class);
+    }
+
     // --- updateUser ---
     @Test
     void shouldUpdateNameAndEmail_whenValidInput() {
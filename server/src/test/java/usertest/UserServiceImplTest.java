@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ContextConfiguration;
 import ru.practicum.shareit.exception.DuplicatedException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -15,6 +17,7 @@ import ru.practicum.shareit.user.dto.UpdatedUserRequest;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.email.EmailFilter;
 
 import java.util.Collection;
 import java.util.List;
@@ -38,6 +41,9 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private EmailFilter emailFilter;
+
     private final Long userId = 1L;
     private final String email = "john@example.com";
     private final String updatedEmail = "john_new@example.com";
@@ -61,6 +67,8 @@ class UserServiceImplTest {
         newUserRequest = new NewUserRequest("Alice", "alice@example.com");
         updatedUserRequest = new UpdatedUserRequest("Alice Updated", "alice_new@example.com");
         userDto = new UserDto(userId, "John", "john@example.com");
+        // По умолчанию фильтр не исключает email, и проверка уходит в репозиторий
+        lenient().when(emailFilter.mightBeTaken(any())).thenReturn(true);
     }
 
     // --- getAllUsers ---
@@ -101,11 +109,11 @@ class UserServiceImplTest {
         when(userMapper.mapToUser(any())).thenReturn(newUser);
         when(userMapper.mapToDto(any())).thenReturn(userDto);
         when(userRepository.existsByEmail(newUserRequest.getEmail())).thenReturn(false);
-        when(userRepository.save(newUser)).thenReturn(user);
+        when(userRepository.saveAndFlush(newUser)).thenReturn(user);
 
         UserDto result = userService.createUser(newUserRequest);
 
-        verify(userRepository, times(1)).save(newUser);
+        verify(userRepository, times(1)).saveAndFlush(newUser);
         assertThat(result.getName()).isEqualTo(userDto.getName());
         assertThat(result.getEmail()).isEqualTo(userDto.getEmail());
     }
@@ -119,13 +127,40 @@ class UserServiceImplTest {
                 .isInstanceOf(DuplicatedException.class);
     }
 
+    @Test
+    void shouldSkipExistsQuery_whenFilterRulesEmailOut_createUser() {
+        User newUser = new User(null, newUserRequest.getName(), newUserRequest.getEmail());
+        when(emailFilter.mightBeTaken(newUserRequest.getEmail())).thenReturn(false);
+        when(userMapper.mapToUser(any())).thenReturn(newUser);
+        when(userMapper.mapToDto(any())).thenReturn(userDto);
+        when(userRepository.saveAndFlush(newUser)).thenReturn(user);
+
+        userService.createUser(newUserRequest);
+
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(emailFilter).onEmailTaken(newUserRequest.getEmail());
+    }
+
+    @Test
+    void shouldMapUniqueViolationToDuplicated_whenRaceOnInsert_createUser() {
+        User newUser = new User(null, newUserRequest.getName(), newUserRequest.getEmail());
+        when(emailFilter.mightBeTaken(newUserRequest.getEmail())).thenReturn(false);
+        when(userMapper.mapToUser(any())).thenReturn(newUser);
+        when(userRepository.saveAndFlush(newUser)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", null, ConstraintViolationException.ConstraintKind.UNIQUE, "uq_user_email")));
+
+        assertThatThrownBy(() -> userService.createUser(newUserRequest))
+                .isInstanceOf(DuplicatedException.class);
+        verify(emailFilter, never()).onEmailTaken(anyString());
+    }
+
     // --- updateUser ---
 
     @Test
     void shouldNotChangeEmail_whenEmailSameAsOld() {
         UpdatedUserRequest sameEmailRequest = new UpdatedUserRequest("New Name", email);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
         when(userMapper.mapToDto(user)).thenReturn(userDto);
 
         UserDto result = userService.updateUser(userId, sameEmailRequest);
@@ -173,7 +208,7 @@ class UserServiceImplTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
         when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(i -> i.getArgument(0));
 
         when(userMapper.mapToDto(any(User.class))).thenAnswer(i -> {
             User u = i.getArgument(0);
@@ -192,7 +227,7 @@ class UserServiceImplTest {
         assertEquals("Bob", result.getName());
         assertEquals("bob@example.com", result.getEmail());
 
-        verify(userRepository).save(argThat(u -> u.getName().equals("Bob") && u.getEmail().equals("bob@example.com")));
+        verify(userRepository).saveAndFlush(argThat(u -> u.getName().equals("Bob") && u.getEmail().equals("bob@example.com")));
     }
 
     @Test
@@ -202,7 +237,7 @@ class UserServiceImplTest {
         request.setName("New Name");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(i -> i.getArgument(0));
         when(userMapper.mapToDto(any(User.class))).thenAnswer(i -> {
             User u = i.getArgument(0);
             return UserDto.builder()
@@ -219,7 +254,7 @@ class UserServiceImplTest {
         assertNotNull(result);
         assertEquals("New Name", result.getName());
         assertEquals(existingUser.getEmail(), result.getEmail());
-        verify(userRepository).save(argThat(u -> u.getName().equals("New Name")));
+        verify(userRepository).saveAndFlush(argThat(u -> u.getName().equals("New Name")));
     }
 
     @Test
@@ -230,7 +265,7 @@ class UserServiceImplTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
         when(userRepository.existsByEmail("new@email.com")).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(i -> i.getArgument(0));
         when(userMapper.mapToDto(any(User.class))).thenAnswer(i -> {
             User u = i.getArgument(0);
             return UserDto.builder()
@@ -246,7 +281,7 @@ class UserServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals("new@email.com", result.getEmail());
-        verify(userRepository).save(argThat(u -> u.getEmail().equals("new@email.com")));
+        verify(userRepository).saveAndFlush(argThat(u -> u.getEmail().equals("new@email.com")));
     }
 
     @Test
@@ -310,7 +345,7 @@ class UserServiceImplTest {
         request.setEmail("alice@example.com"); // тот же email
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenReturn(existingUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(existingUser);
         when(userMapper.mapToDto(existingUser)).thenReturn(UserDto.builder()
                 .id(existingUser.getId())
                 .name(existingUser.getName())
@@ -363,7 +398,7 @@ class UserServiceImplTest {
         request.setName("   "); // пробелы
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(i -> i.getArgument(0));
         when(userMapper.mapToDto(any(User.class))).thenAnswer(i -> {
             User u = i.getArgument(0);
             return UserDto.builder()
@@ -391,7 +426,7 @@ class UserServiceImplTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
         when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(i -> i.getArgument(0));
         when(userMapper.mapToDto(any(User.class))).thenAnswer(i -> {
             User u = i.getArgument(0);
             return UserDto.builder()
@@ -417,7 +452,7 @@ class UserServiceImplTest {
         request.setName("New Name");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(i -> i.getArgument(0));
         when(userMapper.mapToDto(any(User.class))).thenAnswer(i -> {
             User u = i.getArgument(0);
             return UserDto.builder()